@@ -17,6 +17,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000")
                 .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Next-Cursor", "ETag")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -38,6 +39,10 @@ public class CorsConfig implements WebMvcConfigurer {
         // Allow all headers
         config.addAllowedHeader("*");
         
+        // Let the frontend read the pagination cursor and cache validators
+        config.addExposedHeader("X-Next-Cursor");
+        config.addExposedHeader("ETag");
+        
         // Allow credentials like cookies
         config.setAllowCredentials(true);
         
@@ -1,15 +1,35 @@
 package com.lkm.it_academy_22.config;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.lkm.it_academy_22.model.TournamentDTO;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
 
 
 @Configuration
 public class JacksonConfig {
 
+    public static final String FIELDS_FILTER = "fields";
+
+    private static final String MODEL_PACKAGE = TournamentDTO.class.getPackageName();
+
     @Bean
     public Jackson2ObjectMapperBuilderCustomizer jacksonCustomizer() {
         return jacksonObjectMapperBuilder -> jacksonObjectMapperBuilder
@@ -17,7 +37,83 @@ public class JacksonConfig {
                         DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
                         DeserializationFeature.ACCEPT_FLOAT_AS_INT,
                         SerializationFeature.WRITE_DATES_AS_TIMESTAMPS
-                );
+                )
+                .annotationIntrospector(new FieldsFilterIntrospector())
+                .filters(fieldsFilter(null));
+    }
+
+    /**
+     * Filters for writing only the given top-level properties of each DTO, or all of them for {@code null}.
+     * Nested DTOs are always written in full.
+     */
+    public static FilterProvider fieldsFilter(final Set<String> fields) {
+        return new SimpleFilterProvider().addFilter(FIELDS_FILTER, fields == null
+                ? SimpleBeanPropertyFilter.serializeAll() : new TopLevelFieldsFilter(fields));
+    }
+
+    /**
+     * The DTO class whose properties the fields filter selects in a handler's responses, or {@code null} when the
+     * handler does not return a DTO or list of DTOs for Jackson to write, such as an event stream or raw bytes.
+     */
+    public static Class<?> filteredType(final MethodParameter returnType) {
+        ResolvableType type = ResolvableType.forMethodParameter(returnType);
+        if (HttpEntity.class.isAssignableFrom(type.toClass())) {
+            type = type.as(HttpEntity.class).getGeneric();
+        }
+        if (Collection.class.isAssignableFrom(type.toClass())) {
+            type = type.as(Collection.class).getGeneric();
+        }
+        final Class<?> dtoClass = type.toClass();
+        return isModel(dtoClass) ? dtoClass : null;
+    }
+
+    private static boolean isModel(final Class<?> type) {
+        return MODEL_PACKAGE.equals(type.getPackageName());
+    }
+
+    /**
+     * Puts every DTO of the model package under the fields filter, without annotating each of them.
+     */
+    private static class FieldsFilterIntrospector extends JacksonAnnotationIntrospector {
+
+        @Override
+        public Object findFilterId(final Annotated annotated) {
+            final Object filterId = super.findFilterId(annotated);
+            if (filterId == null && annotated instanceof AnnotatedClass annotatedClass
+                    && isModel(annotatedClass.getRawType())) {
+                return FIELDS_FILTER;
+            }
+            return filterId;
+        }
+
+    }
+
+    private static class TopLevelFieldsFilter extends SimpleBeanPropertyFilter {
+
+        private final Set<String> fields;
+
+        private TopLevelFieldsFilter(final Set<String> fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public void serializeAsField(final Object pojo, final JsonGenerator generator,
+                final SerializerProvider provider, final PropertyWriter writer) throws Exception {
+            if (fields.contains(writer.getName()) || !isTopLevel(generator.getOutputContext())) {
+                writer.serializeAsField(pojo, generator, provider);
+            } else if (!generator.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, generator, provider);
+            }
+        }
+
+        /**
+         * The response body itself or an element of a response list.
+         */
+        private static boolean isTopLevel(final JsonStreamContext context) {
+            final JsonStreamContext parent = context.getParent();
+            return parent.inRoot() || parent.inArray() && parent.getParent().inRoot();
+        }
+
     }
 
 }
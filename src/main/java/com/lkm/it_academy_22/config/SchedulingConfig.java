@@ -0,0 +1,10 @@
+package com.lkm.it_academy_22.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
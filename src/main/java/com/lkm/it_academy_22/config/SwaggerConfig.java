@@ -1,7 +1,9 @@
 package com.lkm.it_academy_22.config;
 
+import com.lkm.it_academy_22.util.SparseFields;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.Content;
 import io.swagger.v3.oas.models.media.IntegerSchema;
@@ -9,10 +11,14 @@ import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.ObjectSchema;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
+import java.util.Optional;
+import org.springdoc.core.customizers.OpenApiCustomizer;
 import org.springdoc.core.customizers.OperationCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.annotation.GetMapping;
 
 
 @Configuration
@@ -43,8 +49,32 @@ public class SwaggerConfig {
                     .description("Error")
                     .content(new Content().addMediaType("*/*", new MediaType().schema(
                             new Schema<MediaType>().$ref("ApiErrorResponse")))));
+            // honoured on every DTO response by SparseFieldsAdvice; operations that also narrow their query declare it
+            final boolean declaresFields = operation.getParameters() != null && operation.getParameters().stream()
+                    .anyMatch(parameter -> SparseFields.PARAMETER.equals(parameter.getName()));
+            if (handlerMethod.hasMethodAnnotation(GetMapping.class) && !declaresFields
+                    && JacksonConfig.filteredType(handlerMethod.getReturnType()) != null) {
+                operation.addParametersItem(new QueryParameter()
+                        .name(SparseFields.PARAMETER)
+                        .description("Comma-separated properties to return, e.g. id,name")
+                        .schema(new StringSchema()));
+            }
             return operation;
         };
     }
 
+    @Bean
+    public OpenApiCustomizer tournamentFullCustomizer() {
+        return openApi -> Optional.ofNullable(openApi.getPaths())
+                .map(paths -> paths.get("/api/tournaments/{id}/full"))
+                .map(PathItem::getGet)
+                .ifPresent(operation -> operation
+                        .summary("Get a tournament page in one request")
+                        .description("Returns the tournament, its participants with their startup names, the "
+                                + "bracket in round order and, per battle and participant, the number and score "
+                                + "of events of each type. Replaces separate calls to the tournament, its battles, "
+                                + "its startups, every startup and every battle's events. Assembled from four "
+                                + "set-based queries regardless of the tournament's size."));
+    }
+
 }
@@ -15,10 +15,12 @@ import java.time.OffsetDateTime;
 import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 
 @Entity
 @Table(name = "Battles")
+@DynamicUpdate
 @Getter
 @Setter
 public class Battle {
@@ -28,7 +30,7 @@ public class Battle {
     @SequenceGenerator(
             name = "primary_sequence",
             sequenceName = "primary_sequence",
-            allocationSize = 1,
+            allocationSize = 50,
             initialValue = 10
     )
     @GeneratedValue(
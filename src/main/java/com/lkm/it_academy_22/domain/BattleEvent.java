@@ -26,7 +26,7 @@ public class BattleEvent {
     @SequenceGenerator(
             name = "primary_sequence",
             sequenceName = "primary_sequence",
-            allocationSize = 1,
+            allocationSize = 50,
             initialValue = 10
     )
     @GeneratedValue(
@@ -24,7 +24,7 @@ public class EventType {
     @SequenceGenerator(
             name = "primary_sequence",
             sequenceName = "primary_sequence",
-            allocationSize = 1,
+            allocationSize = 50,
             initialValue = 10
     )
     @GeneratedValue(
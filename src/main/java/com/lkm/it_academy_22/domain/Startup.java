@@ -12,10 +12,13 @@ import java.time.OffsetDateTime;
 import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity
 @Table(name = "Startups")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "startups")
 @Getter
 @Setter
 public class Startup {
@@ -25,7 +28,7 @@ public class Startup {
     @SequenceGenerator(
             name = "primary_sequence",
             sequenceName = "primary_sequence",
-            allocationSize = 1,
+            allocationSize = 50,
             initialValue = 10
     )
     @GeneratedValue(
@@ -0,0 +1,40 @@
+package com.lkm.it_academy_22.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+
+@Entity
+@Table(name = "StartupStandings")
+@Getter
+@Setter
+public class StartupStanding {
+
+    @Id
+    @Column(name = "startup_id", nullable = false, updatable = false)
+    private Integer startupId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "startup_id", nullable = false, insertable = false, updatable = false)
+    private Startup startup;
+
+    @Column(nullable = false)
+    private Integer titlesWon;
+
+    @Column(nullable = false)
+    private Integer tournamentsEntered;
+
+    @Column(nullable = false)
+    private Long cumulativeScore;
+
+    @Column(nullable = false)
+    private Integer eliminations;
+
+}
@@ -15,10 +15,13 @@ import java.time.OffsetDateTime;
 import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity
 @Table(name = "Tournaments")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tournaments")
 @Getter
 @Setter
 public class Tournament {
@@ -28,7 +31,7 @@ public class Tournament {
     @SequenceGenerator(
             name = "primary_sequence",
             sequenceName = "primary_sequence",
-            allocationSize = 1,
+            allocationSize = 50,
             initialValue = 10
     )
     @GeneratedValue(
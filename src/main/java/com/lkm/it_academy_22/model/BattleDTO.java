@@ -2,12 +2,16 @@ package com.lkm.it_academy_22.model;
 
 import jakarta.validation.constraints.NotNull;
 import java.time.OffsetDateTime;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class BattleDTO {
 
     private Integer id;
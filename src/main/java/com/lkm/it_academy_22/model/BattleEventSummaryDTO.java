@@ -0,0 +1,34 @@
+package com.lkm.it_academy_22.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+/**
+ * The events of one type that a startup received in a battle.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BattleEventSummaryDTO {
+
+    private Integer battle;
+
+    private Integer startup;
+
+    private Integer eventType;
+
+    private String eventTypeName;
+
+    private Long count;
+
+    /**
+     * Count times the event type's current score modifier, not the sum of what was applied when the events were
+     * recorded.
+     */
+    private Long score;
+
+}
@@ -0,0 +1,19 @@
+package com.lkm.it_academy_22.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BattleResultDTO {
+
+    private Integer winner;
+
+    private Boolean sharkFight;
+
+}
@@ -0,0 +1,23 @@
+package com.lkm.it_academy_22.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BattleWinnerDTO {
+
+    private Integer tournament;
+
+    private Integer battle;
+
+    private Integer winner;
+
+    private Boolean sharkFight;
+
+}
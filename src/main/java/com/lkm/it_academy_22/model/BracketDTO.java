@@ -0,0 +1,22 @@
+package com.lkm.it_academy_22.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BracketDTO {
+
+    private Boolean shuffle;
+
+    private Long randomSeed;
+
+    private List<Integer> seeds;
+
+}
@@ -0,0 +1,55 @@
+package com.lkm.it_academy_22.model;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.Getter;
+
+
+@Getter
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+    public static final int UNBOUNDED_CAP = 10_000;
+
+    private final List<T> items;
+
+    private final Integer nextCursor;
+
+    private CursorPage(final List<T> items, final Integer nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Explicit limits are clamped to {@link #MAX_LIMIT}; {@code all} opts into the legacy full listing,
+     * still bounded by {@link #UNBOUNDED_CAP}.
+     */
+    public static int resolveLimit(final Integer limit, final boolean all) {
+        if (all) {
+            return UNBOUNDED_CAP;
+        }
+        if (limit == null || limit < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public static int startAfter(final Integer after) {
+        return after == null ? Integer.MIN_VALUE : after;
+    }
+
+    /**
+     * Builds a page from a query that fetched {@code limit + 1} rows ordered by id; the extra row only
+     * signals that another page exists.
+     */
+    public static <T> CursorPage<T> of(final List<T> fetched, final int limit,
+            final Function<T, Integer> idExtractor) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null);
+        }
+        final List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(items, idExtractor.apply(items.get(limit - 1)));
+    }
+
+}
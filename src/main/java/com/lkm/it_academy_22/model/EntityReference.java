@@ -0,0 +1,14 @@
+package com.lkm.it_academy_22.model;
+
+
+/**
+ * First row referencing an entity, as returned by the repositories' {@code findReference} queries. The key is
+ * null when the entity exists but nothing references it.
+ */
+public interface EntityReference {
+
+    String getReferenceKey();
+
+    Integer getReferenceId();
+
+}
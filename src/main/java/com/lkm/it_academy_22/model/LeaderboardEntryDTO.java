@@ -0,0 +1,25 @@
+package com.lkm.it_academy_22.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDTO {
+
+    private Integer rank;
+
+    private Integer tournamentStartup;
+
+    private Integer startup;
+
+    private Integer currentScore;
+
+    private Boolean eliminated;
+
+}
@@ -0,0 +1,39 @@
+package com.lkm.it_academy_22.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScorePipelineStatisticsDTO {
+
+    private boolean enabled;
+
+    private int queueDepth;
+
+    private int capacity;
+
+    private int pendingScoreUpdates;
+
+    private long acceptedCount;
+
+    private long rejectedCount;
+
+    private long eventBatchCount;
+
+    private long scoreFlushCount;
+
+    private long scoreFlushFailureCount;
+
+    private long lastFlushMillis;
+
+    private long maxFlushMillis;
+
+    private double averageFlushMillis;
+
+}
@@ -3,12 +3,16 @@ package com.lkm.it_academy_22.model;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.OffsetDateTime;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class StartupDTO {
 
     private Integer id;
@@ -25,4 +29,11 @@ public class StartupDTO {
 
     private OffsetDateTime createdAt;
 
+    /**
+     * Without the free-text slogan and description, for lists that do not show them.
+     */
+    public StartupDTO(final Integer id, final String name, final Integer foundedYear, final OffsetDateTime createdAt) {
+        this(id, name, null, foundedYear, null, createdAt);
+    }
+
 }
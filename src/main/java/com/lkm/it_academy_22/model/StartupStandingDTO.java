@@ -0,0 +1,27 @@
+package com.lkm.it_academy_22.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StartupStandingDTO {
+
+    private Integer startup;
+
+    private String name;
+
+    private Integer titlesWon;
+
+    private Integer tournamentsEntered;
+
+    private Long cumulativeScore;
+
+    private Integer eliminations;
+
+}
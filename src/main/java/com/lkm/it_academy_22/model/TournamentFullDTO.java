@@ -0,0 +1,24 @@
+package com.lkm.it_academy_22.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentFullDTO {
+
+    private TournamentDTO tournament;
+
+    private List<TournamentParticipantDTO> participants;
+
+    private List<BattleDTO> bracket;
+
+    private List<BattleEventSummaryDTO> eventSummaries;
+
+}
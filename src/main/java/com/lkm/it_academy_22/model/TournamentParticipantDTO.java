@@ -0,0 +1,25 @@
+package com.lkm.it_academy_22.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentParticipantDTO {
+
+    private Integer tournamentStartup;
+
+    private Integer startup;
+
+    private String name;
+
+    private Integer currentScore;
+
+    private Boolean eliminated;
+
+}
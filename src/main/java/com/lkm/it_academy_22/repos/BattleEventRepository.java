@@ -1,26 +1,71 @@
 package com.lkm.it_academy_22.repos;
 
 import com.lkm.it_academy_22.domain.*;
+import com.lkm.it_academy_22.model.BattleEventDTO;
+import com.lkm.it_academy_22.model.BattleEventSummaryDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface BattleEventRepository extends JpaRepository<BattleEvent, Integer> {
 
-    BattleEvent findFirstByBattle(Battle battle);
+    String DTO_SELECT = "SELECT new com.lkm.it_academy_22.model.BattleEventDTO(" +
+            "be.id, be.createdAt, be.battle.id, be.startup.id, be.eventType.id) FROM BattleEvent be ";
 
-    BattleEvent findFirstByStartup(TournamentStartup tournamentStartup);
+    @Query(DTO_SELECT + "WHERE be.id > :after ORDER BY be.id")
+    List<BattleEventDTO> findDTOPage(@Param("after") Integer after, Limit limit);
 
-    BattleEvent findFirstByEventType(EventType eventType);
+    @Query(DTO_SELECT + "WHERE be.id = :id")
+    Optional<BattleEventDTO> findDTOById(@Param("id") Integer id);
 
-    @Query("SELECT be FROM BattleEvent be WHERE be.battle = :battle AND be.startup = :startup")
-    List<BattleEvent> findByBattleAndTournamentStartup(
-            @Param("battle") Battle battle,
-            @Param("startup") TournamentStartup startup
+    @Query(DTO_SELECT + "WHERE fk(be.battle) = :battleId AND fk(be.startup) = :startupId ORDER BY be.id")
+    List<BattleEventDTO> findDTOsByBattleIdAndStartupId(
+            @Param("battleId") Integer battleId,
+            @Param("startupId") Integer startupId
     );
 
-    List<BattleEvent> findByStartup(TournamentStartup tournamentStartup);
+    @Query(DTO_SELECT + "WHERE fk(be.startup) = :startupId ORDER BY be.id")
+    List<BattleEventDTO> findDTOsByStartupId(@Param("startupId") Integer startupId);
+
+    @Query(DTO_SELECT + "WHERE be.startup.tournament.id = :tournamentId ORDER BY be.id")
+    List<BattleEventDTO> findDTOsByTournamentId(@Param("tournamentId") Integer tournamentId);
+
+    /**
+     * Events per battle, startup and type. The score is the count times the type's current modifier, so after a
+     * modifier is changed it no longer matches what the events added to the startups' scores when they were recorded.
+     */
+    @Query("SELECT new com.lkm.it_academy_22.model.BattleEventSummaryDTO(" +
+            "b.id, ts.id, et.id, et.name, COUNT(be.id), SUM(et.scoreModifier)) " +
+            "FROM BattleEvent be JOIN be.battle b JOIN be.startup ts LEFT JOIN be.eventType et " +
+            "WHERE fk(ts.tournament) = :tournamentId " +
+            "GROUP BY b.id, ts.id, et.id, et.name ORDER BY b.id, ts.id, et.id")
+    List<BattleEventSummaryDTO> findSummariesByTournamentId(@Param("tournamentId") Integer tournamentId);
+
+    @Query("SELECT ts.tournament.id FROM BattleEvent be JOIN be.startup ts WHERE be.id = :id")
+    Optional<Integer> findTournamentIdById(@Param("id") Integer id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT be FROM BattleEvent be " +
+            "WHERE (:tournamentId IS NULL OR be.battle.tournament.id = :tournamentId) " +
+            "AND (:from IS NULL OR be.createdAt >= :from) " +
+            "AND (:to IS NULL OR be.createdAt < :to) " +
+            "ORDER BY be.id")
+    Stream<BattleEvent> streamForExport(
+            @Param("tournamentId") Integer tournamentId,
+            @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to
+    );
 }
@@ -1,22 +1,68 @@
 package com.lkm.it_academy_22.repos;
 
 import com.lkm.it_academy_22.domain.Battle;
-import com.lkm.it_academy_22.domain.Tournament;
 import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.EntityReference;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 
 public interface BattleRepository extends JpaRepository<Battle, Integer> {
 
-    Battle findFirstByTournament(Tournament tournament);
+    String DTO_SELECT = "SELECT new com.lkm.it_academy_22.model.BattleDTO(" +
+            "b.id, b.battleNumber, b.roundNumber, b.sharkFight, b.completed, b.createdAt, " +
+            "b.tournament.id, b.startup1.id, b.startup2.id, b.winner.id) FROM Battle b ";
 
-    Battle findFirstByStartup1(TournamentStartup tournamentStartup);
+    String REFERENCE_SELECT = "SELECT r.reference_key AS referenceKey, r.reference_id AS referenceId FROM (" +
+            "(SELECT 1 AS priority, 'battle.battleEvent.battle.referenced' AS reference_key, be.id AS reference_id " +
+            "FROM battle_events be WHERE be.battle_id = :id FETCH FIRST 1 ROWS ONLY) " +
+            "UNION ALL " +
+            "(SELECT 2 AS priority, CAST(NULL AS VARCHAR(100)) AS reference_key, o.id AS reference_id " +
+            "FROM battles o WHERE o.id = :id)" +
+            ") r ORDER BY r.priority FETCH FIRST 1 ROWS ONLY";
 
-    Battle findFirstByStartup2(TournamentStartup tournamentStartup);
+    @Query(DTO_SELECT + "WHERE b.id > :after ORDER BY b.id")
+    List<BattleDTO> findDTOPage(@Param("after") Integer after, Limit limit);
 
-    Battle findFirstByWinner(TournamentStartup tournamentStartup);
+    @Query(DTO_SELECT + "WHERE b.id = :id")
+    Optional<BattleDTO> findDTOById(@Param("id") Integer id);
+
+    @Query(DTO_SELECT + "WHERE fk(b.tournament) = :tournamentId ORDER BY b.roundNumber, b.battleNumber")
+    List<BattleDTO> findDTOsByTournamentId(@Param("tournamentId") Integer tournamentId);
+
+    @Query(DTO_SELECT + "WHERE fk(b.tournament) = :tournamentId AND b.battleNumber = :battleNumber")
+    Optional<BattleDTO> findDTOByTournamentIdAndBattleNumber(@Param("tournamentId") Integer tournamentId,
+            @Param("battleNumber") int battleNumber);
+
+    boolean existsByTournamentId(Integer tournamentId);
+
+    @Query("SELECT b.tournament.id FROM Battle b WHERE b.id = :id")
+    Optional<Integer> findTournamentIdById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("UPDATE Battle b SET b.winner = :winner, b.sharkFight = :sharkFight, b.completed = true " +
+            "WHERE b.id = :id AND (b.completed IS NULL OR b.completed = false)")
+    int complete(@Param("id") Integer id, @Param("winner") TournamentStartup winner,
+            @Param("sharkFight") boolean sharkFight);
+
+    @Modifying
+    @Query("UPDATE Battle b SET b.startup1 = :startup WHERE fk(b.tournament) = :tournamentId AND b.battleNumber = :battleNumber")
+    int setStartup1(@Param("tournamentId") Integer tournamentId, @Param("battleNumber") int battleNumber,
+            @Param("startup") TournamentStartup startup);
+
+    @Modifying
+    @Query("UPDATE Battle b SET b.startup2 = :startup WHERE fk(b.tournament) = :tournamentId AND b.battleNumber = :battleNumber")
+    int setStartup2(@Param("tournamentId") Integer tournamentId, @Param("battleNumber") int battleNumber,
+            @Param("startup") TournamentStartup startup);
+
+    @Query(value = REFERENCE_SELECT, nativeQuery = true)
+    Optional<EntityReference> findReference(@Param("id") Integer id);
 
-    Battle findByBattleNumberAndTournamentId(int parentNumber, Integer tournamentId);
 }
@@ -1,8 +1,28 @@
 package com.lkm.it_academy_22.repos;
 
 import com.lkm.it_academy_22.domain.EventType;
+import com.lkm.it_academy_22.model.EntityReference;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
 public interface EventTypeRepository extends JpaRepository<EventType, Integer> {
+
+    String REFERENCE_SELECT = "SELECT r.reference_key AS referenceKey, r.reference_id AS referenceId FROM (" +
+            "(SELECT 1 AS priority, 'eventType.battleEvent.eventType.referenced' AS reference_key, be.id AS reference_id " +
+            "FROM battle_events be WHERE be.event_type_id = :id FETCH FIRST 1 ROWS ONLY) " +
+            "UNION ALL " +
+            "(SELECT 2 AS priority, CAST(NULL AS VARCHAR(100)) AS reference_key, o.id AS reference_id " +
+            "FROM event_types o WHERE o.id = :id)" +
+            ") r ORDER BY r.priority FETCH FIRST 1 ROWS ONLY";
+
+    List<EventType> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    @Query(value = REFERENCE_SELECT, nativeQuery = true)
+    Optional<EntityReference> findReference(@Param("id") Integer id);
+
 }
@@ -1,8 +1,46 @@
 package com.lkm.it_academy_22.repos;
 
 import com.lkm.it_academy_22.domain.Startup;
+import com.lkm.it_academy_22.model.EntityReference;
+import com.lkm.it_academy_22.model.StartupDTO;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
 public interface StartupRepository extends JpaRepository<Startup, Integer> {
+
+    String DTO_SELECT = "SELECT new com.lkm.it_academy_22.model.StartupDTO(" +
+            "s.id, s.name, s.slogan, s.foundedYear, s.description, s.createdAt) FROM Startup s ";
+
+    String REFERENCE_SELECT = "SELECT r.reference_key AS referenceKey, r.reference_id AS referenceId FROM (" +
+            "(SELECT 1 AS priority, 'startup.tournament.champion.referenced' AS reference_key, t.id AS reference_id " +
+            "FROM tournaments t WHERE t.champion_id = :id FETCH FIRST 1 ROWS ONLY) " +
+            "UNION ALL " +
+            "(SELECT 2 AS priority, 'startup.tournamentStartup.startup.referenced' AS reference_key, ts.id AS reference_id " +
+            "FROM tournament_startups ts WHERE ts.startup_id = :id FETCH FIRST 1 ROWS ONLY) " +
+            "UNION ALL " +
+            "(SELECT 3 AS priority, CAST(NULL AS VARCHAR(100)) AS reference_key, o.id AS reference_id " +
+            "FROM startups o WHERE o.id = :id)" +
+            ") r ORDER BY r.priority FETCH FIRST 1 ROWS ONLY";
+
+    @Query("SELECT s.id FROM Startup s WHERE s.id > :after ORDER BY s.id")
+    List<Integer> findIdsAfter(@Param("after") Integer after, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE s.id > :after ORDER BY s.id")
+    List<StartupDTO> findDTOPage(@Param("after") Integer after, Limit limit);
+
+    @Query("SELECT new com.lkm.it_academy_22.model.StartupDTO(s.id, s.name, s.foundedYear, s.createdAt) " +
+            "FROM Startup s WHERE s.id > :after ORDER BY s.id")
+    List<StartupDTO> findSummaryDTOPage(@Param("after") Integer after, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE s.id = :id")
+    Optional<StartupDTO> findDTOById(@Param("id") Integer id);
+
+    @Query(value = REFERENCE_SELECT, nativeQuery = true)
+    Optional<EntityReference> findReference(@Param("id") Integer id);
+
 }
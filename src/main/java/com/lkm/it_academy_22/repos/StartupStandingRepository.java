@@ -0,0 +1,54 @@
+package com.lkm.it_academy_22.repos;
+
+import com.lkm.it_academy_22.domain.StartupStanding;
+import com.lkm.it_academy_22.model.StartupStandingDTO;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+
+public interface StartupStandingRepository extends JpaRepository<StartupStanding, Integer> {
+
+    String DTO_SELECT = "SELECT new com.lkm.it_academy_22.model.StartupStandingDTO(" +
+            "s.startupId, st.name, s.titlesWon, s.tournamentsEntered, s.cumulativeScore, s.eliminations) " +
+            "FROM StartupStanding s JOIN s.startup st ";
+
+    String RANKING_ORDER = "ORDER BY s.titlesWon DESC, s.cumulativeScore DESC, s.startupId";
+
+    @Query(DTO_SELECT + "WHERE s.startupId = :startupId")
+    Optional<StartupStandingDTO> findDTOByStartupId(@Param("startupId") Integer startupId);
+
+    @Query(DTO_SELECT + RANKING_ORDER)
+    List<StartupStandingDTO> findFirstDTOPage(Limit limit);
+
+    /**
+     * Keyset page: the standings ranked after the given sort key. The redundant leading bound on titles won is
+     * what lets the planner start a range scan of the ranking index at the cursor.
+     */
+    @Query(DTO_SELECT + "WHERE s.titlesWon <= :titlesWon AND (s.titlesWon < :titlesWon OR (s.titlesWon = :titlesWon AND " +
+            "(s.cumulativeScore < :cumulativeScore OR (s.cumulativeScore = :cumulativeScore AND s.startupId > :startupId)))) " +
+            RANKING_ORDER)
+    List<StartupStandingDTO> findDTOPageAfter(@Param("titlesWon") int titlesWon,
+            @Param("cumulativeScore") long cumulativeScore, @Param("startupId") Integer startupId, Limit limit);
+
+    @Modifying
+    @Query("UPDATE StartupStanding s SET s.titlesWon = s.titlesWon + :titlesWon, " +
+            "s.tournamentsEntered = s.tournamentsEntered + :tournamentsEntered, " +
+            "s.cumulativeScore = s.cumulativeScore + :score, s.eliminations = s.eliminations + :eliminations " +
+            "WHERE s.startupId = :startupId")
+    int adjust(@Param("startupId") Integer startupId, @Param("titlesWon") int titlesWon,
+            @Param("tournamentsEntered") int tournamentsEntered, @Param("score") long score,
+            @Param("eliminations") int eliminations);
+
+    @Modifying
+    @Query("UPDATE StartupStanding s SET s.cumulativeScore = s.cumulativeScore + :score, " +
+            "s.eliminations = s.eliminations + :eliminations " +
+            "WHERE s.startupId = (SELECT ts.startup.id FROM TournamentStartup ts WHERE ts.id = :tournamentStartupId)")
+    int adjustByTournamentStartup(@Param("tournamentStartupId") Integer tournamentStartupId,
+            @Param("score") long score, @Param("eliminations") int eliminations);
+
+}
@@ -2,11 +2,48 @@ package com.lkm.it_academy_22.repos;
 
 import com.lkm.it_academy_22.domain.Startup;
 import com.lkm.it_academy_22.domain.Tournament;
+import com.lkm.it_academy_22.model.EntityReference;
+import com.lkm.it_academy_22.model.TournamentDTO;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
 public interface TournamentRepository extends JpaRepository<Tournament, Integer> {
 
-    Tournament findFirstByChampion(Startup startup);
+    String DTO_SELECT = "SELECT new com.lkm.it_academy_22.model.TournamentDTO(" +
+            "t.id, t.name, t.createdAt, t.status, t.champion.id) FROM Tournament t ";
+
+    String REFERENCE_SELECT = "SELECT r.reference_key AS referenceKey, r.reference_id AS referenceId FROM (" +
+            "(SELECT 1 AS priority, 'tournament.tournamentStartup.tournament.referenced' AS reference_key, ts.id AS reference_id " +
+            "FROM tournament_startups ts WHERE ts.tournament_id = :id FETCH FIRST 1 ROWS ONLY) " +
+            "UNION ALL " +
+            "(SELECT 2 AS priority, 'tournament.battle.tournament.referenced' AS reference_key, b.id AS reference_id " +
+            "FROM battles b WHERE b.tournament_id = :id FETCH FIRST 1 ROWS ONLY) " +
+            "UNION ALL " +
+            "(SELECT 3 AS priority, CAST(NULL AS VARCHAR(100)) AS reference_key, o.id AS reference_id " +
+            "FROM tournaments o WHERE o.id = :id)" +
+            ") r ORDER BY r.priority FETCH FIRST 1 ROWS ONLY";
+
+    @Query(DTO_SELECT + "WHERE t.id > :after ORDER BY t.id")
+    List<TournamentDTO> findDTOPage(@Param("after") Integer after, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE t.id = :id")
+    Optional<TournamentDTO> findDTOById(@Param("id") Integer id);
+
+    /**
+     * Crowns the champion unless the tournament is already completed; returns 0 when it is, or does not exist.
+     */
+    @Modifying
+    @Query("UPDATE Tournament t SET t.champion = :champion, t.status = 'COMPLETED' " +
+            "WHERE t.id = :id AND (t.status IS NULL OR t.status <> 'COMPLETED')")
+    int complete(@Param("id") Integer id, @Param("champion") Startup champion);
+
+    @Query(value = REFERENCE_SELECT, nativeQuery = true)
+    Optional<EntityReference> findReference(@Param("id") Integer id);
 
 }
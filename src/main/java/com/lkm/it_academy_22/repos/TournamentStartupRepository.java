@@ -1,16 +1,69 @@
 package com.lkm.it_academy_22.repos;
 
-import com.lkm.it_academy_22.domain.Startup;
-import com.lkm.it_academy_22.domain.Tournament;
 import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.EntityReference;
+import com.lkm.it_academy_22.model.TournamentParticipantDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
 public interface TournamentStartupRepository extends JpaRepository<TournamentStartup, Integer> {
 
-    TournamentStartup findFirstByTournament(Tournament tournament);
+    String DTO_SELECT = "SELECT new com.lkm.it_academy_22.model.TournamentStartupDTO(" +
+            "ts.id, ts.currentScore, ts.eliminated, ts.tournament.id, ts.startup.id, ts.createdAt) " +
+            "FROM TournamentStartup ts ";
 
-    TournamentStartup findFirstByStartup(Startup startup);
+    String REFERENCE_SELECT = "SELECT r.reference_key AS referenceKey, r.reference_id AS referenceId FROM (" +
+            "(SELECT 1 AS priority, 'tournamentStartup.battle.startup1.referenced' AS reference_key, b.id AS reference_id " +
+            "FROM battles b WHERE b.startup1id = :id FETCH FIRST 1 ROWS ONLY) " +
+            "UNION ALL " +
+            "(SELECT 2 AS priority, 'tournamentStartup.battle.startup2.referenced' AS reference_key, b.id AS reference_id " +
+            "FROM battles b WHERE b.startup2id = :id FETCH FIRST 1 ROWS ONLY) " +
+            "UNION ALL " +
+            "(SELECT 3 AS priority, 'tournamentStartup.battle.winner.referenced' AS reference_key, b.id AS reference_id " +
+            "FROM battles b WHERE b.winner_id = :id FETCH FIRST 1 ROWS ONLY) " +
+            "UNION ALL " +
+            "(SELECT 4 AS priority, 'tournamentStartup.battleEvent.startup.referenced' AS reference_key, be.id AS reference_id " +
+            "FROM battle_events be WHERE be.startup_id = :id FETCH FIRST 1 ROWS ONLY) " +
+            "UNION ALL " +
+            "(SELECT 5 AS priority, CAST(NULL AS VARCHAR(100)) AS reference_key, o.id AS reference_id " +
+            "FROM tournament_startups o WHERE o.id = :id)" +
+            ") r ORDER BY r.priority FETCH FIRST 1 ROWS ONLY";
+
+    @Query(DTO_SELECT + "WHERE ts.id > :after ORDER BY ts.id")
+    List<TournamentStartupDTO> findDTOPage(@Param("after") Integer after, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE ts.id = :id")
+    Optional<TournamentStartupDTO> findDTOById(@Param("id") Integer id);
+
+    @Query(DTO_SELECT + "WHERE fk(ts.tournament) = :tournamentId ORDER BY ts.id")
+    List<TournamentStartupDTO> findDTOsByTournamentId(@Param("tournamentId") Integer tournamentId);
+
+    @Query("SELECT new com.lkm.it_academy_22.model.TournamentParticipantDTO(" +
+            "ts.id, s.id, s.name, ts.currentScore, ts.eliminated) " +
+            "FROM TournamentStartup ts JOIN ts.startup s WHERE fk(ts.tournament) = :tournamentId ORDER BY ts.id")
+    List<TournamentParticipantDTO> findParticipantsByTournamentId(@Param("tournamentId") Integer tournamentId);
 
     long countByTournamentId(Integer tournamentId);
+
+    @Modifying
+    @Query("UPDATE TournamentStartup ts SET ts.currentScore = COALESCE(ts.currentScore, 0) + :delta WHERE ts.id = :id")
+    int incrementCurrentScore(@Param("id") Integer id, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE TournamentStartup ts SET ts.eliminated = true WHERE ts.id = :id")
+    int markEliminated(@Param("id") Integer id);
+
+    @Query("SELECT ts.currentScore FROM TournamentStartup ts WHERE ts.id = :id")
+    Integer findCurrentScoreById(@Param("id") Integer id);
+
+    @Query(value = REFERENCE_SELECT, nativeQuery = true)
+    Optional<EntityReference> findReference(@Param("id") Integer id);
+
 }
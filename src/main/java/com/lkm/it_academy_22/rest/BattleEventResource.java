@@ -1,14 +1,28 @@
 package com.lkm.it_academy_22.rest;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lkm.it_academy_22.model.BattleEventDTO;
+import com.lkm.it_academy_22.model.CursorPage;
 import com.lkm.it_academy_22.service.BattleEventService;
+import com.lkm.it_academy_22.service.ScorePipeline;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 @RestController
@@ -16,14 +30,40 @@ import org.springframework.web.bind.annotation.*;
 public class BattleEventResource {
 
     private final BattleEventService battleEventService;
+    private final ScorePipeline scorePipeline;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
-    public BattleEventResource(final BattleEventService battleEventService) {
+    public BattleEventResource(final BattleEventService battleEventService,
+            final ScorePipeline scorePipeline,
+            final ObjectMapper objectMapper,
+            final Validator validator) {
         this.battleEventService = battleEventService;
+        this.scorePipeline = scorePipeline;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     @GetMapping
-    public ResponseEntity<List<BattleEventDTO>> getAllBattleEvents() {
-        return ResponseEntity.ok(battleEventService.findAll());
+    public ResponseEntity<List<BattleEventDTO>> getAllBattleEvents(
+            @RequestParam(name = "after", required = false) final Integer after,
+            @RequestParam(name = "limit", required = false) final Integer limit,
+            @RequestParam(name = "all", defaultValue = "false") final boolean all) {
+        return CursorPageResponses.ok(battleEventService.findAll(after, CursorPage.resolveLimit(limit, all)));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBattleEvents(
+            @RequestParam(name = "tournamentId", required = false) final Integer tournamentId,
+            @RequestParam(name = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final OffsetDateTime from,
+            @RequestParam(name = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final OffsetDateTime to) {
+        final StreamingResponseBody body = outputStream ->
+                battleEventService.exportNdjson(outputStream, tournamentId, from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -49,12 +89,53 @@ public class BattleEventResource {
 
     @PostMapping
     @ApiResponse(responseCode = "201")
+    @ApiResponse(responseCode = "503", description = "Score pipeline full, see Retry-After")
     public ResponseEntity<Integer> createBattleEvent(
             @RequestBody @Valid final BattleEventDTO battleEventDTO) {
-        final Integer createdId = battleEventService.create(battleEventDTO);
+        final Integer createdId = scorePipeline.isEnabled()
+                ? scorePipeline.submit(battleEventDTO)
+                : battleEventService.create(battleEventDTO);
         return new ResponseEntity<>(createdId, HttpStatus.CREATED);
     }
 
+    /**
+     * Stores the whole batch in one transaction, all or nothing, even when the score pipeline is enabled: the
+     * pipeline exists to group single events into batches, falls back to storing them one by one when one fails,
+     * and applies scores only after its flush window. Scores written here are applied right away; both paths add
+     * to the scores, so they never overwrite each other.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "201")
+    public ResponseEntity<List<Integer>> createBattleEvents(
+            @RequestBody @Valid final List<@Valid BattleEventDTO> battleEventDTOs) {
+        final List<Integer> createdIds = battleEventService.createAll(battleEventDTOs);
+        return new ResponseEntity<>(createdIds, HttpStatus.CREATED);
+    }
+
+    /**
+     * Streamed variant of the JSON batch, stored the same way.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiResponse(responseCode = "201")
+    public ResponseEntity<List<Integer>> createBattleEventsFromStream(final InputStream body)
+            throws IOException {
+        final List<BattleEventDTO> battleEventDTOs;
+        try (MappingIterator<BattleEventDTO> iterator = objectMapper.readerFor(BattleEventDTO.class)
+                .readValues(body)) {
+            battleEventDTOs = iterator.readAll();
+        }
+        // the stream bypasses @Valid, so check each line the way the JSON batch endpoint does
+        final Set<ConstraintViolation<BattleEventDTO>> violations = new HashSet<>();
+        for (final BattleEventDTO battleEventDTO : battleEventDTOs) {
+            violations.addAll(validator.validate(battleEventDTO));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        final List<Integer> createdIds = battleEventService.createAll(battleEventDTOs);
+        return new ResponseEntity<>(createdIds, HttpStatus.CREATED);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Integer> updateBattleEvent(@PathVariable(name = "id") final Integer id,
             @RequestBody @Valid final BattleEventDTO battleEventDTO) {
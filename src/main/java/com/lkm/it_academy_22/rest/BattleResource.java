@@ -1,7 +1,11 @@
 package com.lkm.it_academy_22.rest;
 
 import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BattleResultDTO;
+import com.lkm.it_academy_22.model.CursorPage;
 import com.lkm.it_academy_22.service.BattleService;
+import com.lkm.it_academy_22.service.LiveEventService;
+import com.lkm.it_academy_22.service.TournamentActorService;
 import com.lkm.it_academy_22.util.exceptions.ReferencedException;
 import com.lkm.it_academy_22.util.ReferencedWarning;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,7 +21,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 
 @RestController
@@ -25,14 +31,23 @@ import org.springframework.web.bind.annotation.RestController;
 public class BattleResource {
 
     private final BattleService battleService;
+    private final TournamentActorService tournamentActorService;
+    private final LiveEventService liveEventService;
 
-    public BattleResource(final BattleService battleService) {
+    public BattleResource(final BattleService battleService,
+            final TournamentActorService tournamentActorService,
+            final LiveEventService liveEventService) {
         this.battleService = battleService;
+        this.tournamentActorService = tournamentActorService;
+        this.liveEventService = liveEventService;
     }
 
     @GetMapping
-    public ResponseEntity<List<BattleDTO>> getAllBattles() {
-        return ResponseEntity.ok(battleService.findAll());
+    public ResponseEntity<List<BattleDTO>> getAllBattles(
+            @RequestParam(name = "after", required = false) final Integer after,
+            @RequestParam(name = "limit", required = false) final Integer limit,
+            @RequestParam(name = "all", defaultValue = "false") final boolean all) {
+        return CursorPageResponses.ok(battleService.findAll(after, CursorPage.resolveLimit(limit, all)));
     }
 
     @GetMapping("/{id}")
@@ -40,6 +55,14 @@ public class BattleResource {
         return ResponseEntity.ok(battleService.get(id));
     }
 
+    /**
+     * Live stream of the battle's score changes, battle events and winner.
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBattle(@PathVariable(name = "id") final Integer id) {
+        return liveEventService.subscribeToBattle(id);
+    }
+
     @PostMapping
     @ApiResponse(responseCode = "201")
     public ResponseEntity<Integer> createBattle(@RequestBody @Valid final BattleDTO battleDTO) {
@@ -47,6 +70,15 @@ public class BattleResource {
         return new ResponseEntity<>(createdId, HttpStatus.CREATED);
     }
 
+    @PostMapping("/{id}/result")
+    public ResponseEntity<BattleDTO> recordBattleResult(@PathVariable(name = "id") final Integer id,
+            @RequestBody final BattleResultDTO battleResultDTO) {
+        if (tournamentActorService.isEnabled()) {
+            return ResponseEntity.ok(tournamentActorService.recordResult(id, battleResultDTO));
+        }
+        return ResponseEntity.ok(battleService.recordResult(id, battleResultDTO));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Integer> updateBattle(@PathVariable(name = "id") final Integer id,
             @RequestBody @Valid final BattleDTO battleDTO) {
@@ -0,0 +1,28 @@
+package com.lkm.it_academy_22.rest;
+
+import com.lkm.it_academy_22.model.CacheRegionStatisticsDTO;
+import com.lkm.it_academy_22.service.CacheStatisticsService;
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+
+@RestController
+@RequestMapping(value = "/api/cache-statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CacheStatisticsResource {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public CacheStatisticsResource(final CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CacheRegionStatisticsDTO>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.findAll());
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.lkm.it_academy_22.rest;
+
+import com.lkm.it_academy_22.model.CursorPage;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+
+
+final class CursorPageResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorPageResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(final CursorPage<T> page) {
+        return ok(page, null);
+    }
+
+    static <T> ResponseEntity<List<T>> ok(final CursorPage<T> page, final String eTag) {
+        final ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return builder.body(page.getItems());
+    }
+
+}
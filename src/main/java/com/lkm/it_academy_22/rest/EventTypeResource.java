@@ -1,5 +1,6 @@
 package com.lkm.it_academy_22.rest;
 
+import com.lkm.it_academy_22.model.CursorPage;
 import com.lkm.it_academy_22.model.EventTypeDTO;
 import com.lkm.it_academy_22.service.EventTypeService;
 import com.lkm.it_academy_22.util.exceptions.ReferencedException;
@@ -17,7 +18,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 
 @RestController
@@ -31,13 +34,27 @@ public class EventTypeResource {
     }
 
     @GetMapping
-    public ResponseEntity<List<EventTypeDTO>> getAllEventTypes() {
-        return ResponseEntity.ok(eventTypeService.findAll());
+    public ResponseEntity<List<EventTypeDTO>> getAllEventTypes(
+            @RequestParam(name = "after", required = false) final Integer after,
+            @RequestParam(name = "limit", required = false) final Integer limit,
+            @RequestParam(name = "all", defaultValue = "false") final boolean all,
+            final WebRequest request) {
+        final String eTag = versionTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return CursorPageResponses.ok(eventTypeService.findAll(after, CursorPage.resolveLimit(limit, all)), eTag);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EventTypeDTO> getEventType(@PathVariable(name = "id") final Integer id) {
-        return ResponseEntity.ok(eventTypeService.get(id));
+    public ResponseEntity<EventTypeDTO> getEventType(@PathVariable(name = "id") final Integer id,
+            final WebRequest request) {
+        final String eTag = versionTag();
+        // the version covers every id, so only an event type that exists can be unchanged
+        if (eventTypeService.existsById(id) && request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(eventTypeService.get(id));
     }
 
     @PostMapping
@@ -55,4 +72,11 @@ public class EventTypeResource {
         return ResponseEntity.ok(id);
     }
 
+    /**
+     * Event types only change through this API, so the registry version identifies every representation.
+     */
+    private String versionTag() {
+        return "\"" + eventTypeService.getVersion() + "\"";
+    }
+
 }
@@ -0,0 +1,27 @@
+package com.lkm.it_academy_22.rest;
+
+import com.lkm.it_academy_22.model.ScorePipelineStatisticsDTO;
+import com.lkm.it_academy_22.service.ScorePipeline;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+
+@RestController
+@RequestMapping(value = "/api/score-pipeline-statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+public class ScorePipelineStatisticsResource {
+
+    private final ScorePipeline scorePipeline;
+
+    public ScorePipelineStatisticsResource(final ScorePipeline scorePipeline) {
+        this.scorePipeline = scorePipeline;
+    }
+
+    @GetMapping
+    public ResponseEntity<ScorePipelineStatisticsDTO> getScorePipelineStatistics() {
+        return ResponseEntity.ok(scorePipeline.getStatistics());
+    }
+
+}
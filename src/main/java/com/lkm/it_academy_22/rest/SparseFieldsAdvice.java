@@ -0,0 +1,65 @@
+package com.lkm.it_academy_22.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.lkm.it_academy_22.config.JacksonConfig;
+import com.lkm.it_academy_22.util.SparseFields;
+import com.lkm.it_academy_22.util.exceptions.BadRequestException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+
+/**
+ * Applies a {@code fields} request parameter to every JSON response of DTOs, so that only the listed properties
+ * are written. Names that are not properties of the DTO are rejected.
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private final ObjectMapper objectMapper;
+    // one entry per DTO class
+    private final Map<Class<?>, Set<String>> properties = new ConcurrentHashMap<>();
+
+    public SparseFieldsAdvice(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(final MappingJacksonValue bodyContainer, final MediaType contentType,
+            final MethodParameter returnType, final ServerHttpRequest request, final ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            final Set<String> fields = SparseFields.parse(
+                    servletRequest.getServletRequest().getParameter(SparseFields.PARAMETER));
+            final Class<?> dtoClass = JacksonConfig.filteredType(returnType);
+            if (fields != null && dtoClass != null) {
+                final Set<String> valid = properties.computeIfAbsent(dtoClass, this::findProperties);
+                if (!valid.containsAll(fields)) {
+                    final Set<String> unknown = new TreeSet<>(fields);
+                    unknown.removeAll(valid);
+                    throw new BadRequestException("Unknown fields " + unknown + ", valid fields are " + valid + ".");
+                }
+                bodyContainer.setFilters(JacksonConfig.fieldsFilter(fields));
+            }
+        }
+    }
+
+    private Set<String> findProperties(final Class<?> dtoClass) {
+        return objectMapper.getSerializationConfig().introspect(objectMapper.constructType(dtoClass))
+                .findProperties().stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+}
@@ -1,7 +1,11 @@
 package com.lkm.it_academy_22.rest;
 
+import com.lkm.it_academy_22.model.CursorPage;
 import com.lkm.it_academy_22.model.StartupDTO;
+import com.lkm.it_academy_22.model.StartupStandingDTO;
 import com.lkm.it_academy_22.service.StartupService;
+import com.lkm.it_academy_22.service.StartupStandingsService;
+import com.lkm.it_academy_22.util.SparseFields;
 import com.lkm.it_academy_22.util.exceptions.ReferencedException;
 import com.lkm.it_academy_22.util.ReferencedWarning;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,6 +21,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 
@@ -25,14 +30,40 @@ import org.springframework.web.bind.annotation.RestController;
 public class StartupResource {
 
     private final StartupService startupService;
+    private final StartupStandingsService startupStandingsService;
 
-    public StartupResource(final StartupService startupService) {
+    public StartupResource(final StartupService startupService,
+            final StartupStandingsService startupStandingsService) {
         this.startupService = startupService;
+        this.startupStandingsService = startupStandingsService;
     }
 
     @GetMapping
-    public ResponseEntity<List<StartupDTO>> getAllStartups() {
-        return ResponseEntity.ok(startupService.findAll());
+    public ResponseEntity<List<StartupDTO>> getAllStartups(
+            @RequestParam(name = "after", required = false) final Integer after,
+            @RequestParam(name = "limit", required = false) final Integer limit,
+            @RequestParam(name = "all", defaultValue = "false") final boolean all,
+            @RequestParam(name = SparseFields.PARAMETER, required = false) final String fields) {
+        return CursorPageResponses.ok(startupService.findAll(after, CursorPage.resolveLimit(limit, all),
+                SparseFields.parse(fields)));
+    }
+
+    /**
+     * Startups ranked by titles won, then cumulative score across all tournaments. {@code after} is the id of the
+     * last startup on the previous page.
+     */
+    @GetMapping("/standings")
+    public ResponseEntity<List<StartupStandingDTO>> getStandings(
+            @RequestParam(name = "after", required = false) final Integer after,
+            @RequestParam(name = "limit", required = false) final Integer limit) {
+        return CursorPageResponses.ok(startupStandingsService.findAll(after, CursorPage.resolveLimit(limit, false)));
+    }
+
+    @PostMapping("/standings/rebuild")
+    @ApiResponse(responseCode = "204")
+    public ResponseEntity<Void> rebuildStandings() {
+        startupStandingsService.rebuild();
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{id}")
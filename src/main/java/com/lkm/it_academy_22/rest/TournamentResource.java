@@ -1,13 +1,29 @@
 package com.lkm.it_academy_22.rest;
 
 import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BracketDTO;
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.BattleEventDTO;
+import com.lkm.it_academy_22.model.LeaderboardEntryDTO;
 import com.lkm.it_academy_22.model.TournamentDTO;
+import com.lkm.it_academy_22.model.TournamentFullDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import com.lkm.it_academy_22.service.LeaderboardService;
+import com.lkm.it_academy_22.service.LiveEventService;
+import com.lkm.it_academy_22.service.TournamentArchiveService;
+import com.lkm.it_academy_22.service.TournamentArchiveService.ArchivedView;
+import com.lkm.it_academy_22.service.TournamentArchiveService.View;
 import com.lkm.it_academy_22.service.TournamentService;
+import com.lkm.it_academy_22.service.TournamentVersions;
 import com.lkm.it_academy_22.util.exceptions.ReferencedException;
 import com.lkm.it_academy_22.util.ReferencedWarning;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import java.util.List;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,8 +33,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 
 @RestController
@@ -26,30 +46,114 @@ import org.springframework.web.bind.annotation.RestController;
 public class TournamentResource {
 
     private final TournamentService tournamentService;
+    private final LeaderboardService leaderboardService;
+    private final LiveEventService liveEventService;
+    private final TournamentVersions tournamentVersions;
+    private final TournamentArchiveService tournamentArchiveService;
 
-    public TournamentResource(final TournamentService tournamentService) {
+    public TournamentResource(final TournamentService tournamentService,
+            final LeaderboardService leaderboardService,
+            final LiveEventService liveEventService,
+            final TournamentVersions tournamentVersions,
+            final TournamentArchiveService tournamentArchiveService) {
         this.tournamentService = tournamentService;
+        this.leaderboardService = leaderboardService;
+        this.liveEventService = liveEventService;
+        this.tournamentVersions = tournamentVersions;
+        this.tournamentArchiveService = tournamentArchiveService;
     }
 
     @GetMapping
-    public ResponseEntity<List<TournamentDTO>> getAllTournaments() {
-        return ResponseEntity.ok(tournamentService.findAll());
+    public ResponseEntity<List<TournamentDTO>> getAllTournaments(
+            @RequestParam(name = "after", required = false) final Integer after,
+            @RequestParam(name = "limit", required = false) final Integer limit,
+            @RequestParam(name = "all", defaultValue = "false") final boolean all) {
+        return CursorPageResponses.ok(tournamentService.findAll(after, CursorPage.resolveLimit(limit, all)));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<TournamentDTO> getTournament(
-            @PathVariable(name = "id") final Integer id) {
-        return ResponseEntity.ok(tournamentService.get(id));
+            @PathVariable(name = "id") final Integer id, final WebRequest request) {
+        final long version = tournamentVersions.getVersion(id);
+        if (isNotModified(id, version, request)) {
+            return null;
+        }
+        final TournamentDTO tournament = tournamentService.get(id);
+        tournamentVersions.track(id, version);
+        return ResponseEntity.ok().eTag(versionTag(version)).body(tournament);
+    }
+
+    @GetMapping("/{id}/full")
+    public ResponseEntity<TournamentFullDTO> getTournamentFull(@PathVariable(name = "id") final Integer id) {
+        return ResponseEntity.ok(tournamentService.getFull(id));
     }
 
     @GetMapping("/{id}/battles")
-    public ResponseEntity<List<BattleDTO>> getTournamentBattles(@PathVariable Integer id) {
-        if (!tournamentService.existsById(id)) {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<List<BattleDTO>> getTournamentBattles(@PathVariable Integer id,
+            final WebRequest request) {
+        final long version = tournamentVersions.getVersion(id);
+        if (isNotModified(id, version, request)) {
+            return null;
         }
+        final List<BattleDTO> battles = tournamentService.getBattlesByTournamentId(id);
+        tournamentVersions.track(id, version);
+        return ResponseEntity.ok().eTag(versionTag(version)).body(battles);
+    }
+
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(@PathVariable(name = "id") final Integer id,
+            @RequestParam(name = "limit", required = false) final Integer limit) {
+        return ResponseEntity.ok(leaderboardService.getTop(id, CursorPage.resolveLimit(limit, false)));
+    }
+
+    @GetMapping("/{id}/leaderboard/{tournamentStartupId}")
+    public ResponseEntity<LeaderboardEntryDTO> getLeaderboardEntry(@PathVariable(name = "id") final Integer id,
+            @PathVariable(name = "tournamentStartupId") final Integer tournamentStartupId) {
+        return ResponseEntity.ok(leaderboardService.getEntry(id, tournamentStartupId));
+    }
+
+    @GetMapping("/{id}/archive")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = TournamentDTO.class)))
+    public ResponseEntity<byte[]> getArchivedTournament(@PathVariable(name = "id") final Integer id,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding,
+            final WebRequest request) {
+        return archived(id, View.TOURNAMENT, acceptEncoding, request);
+    }
+
+    @GetMapping("/{id}/archive/bracket")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = BattleDTO.class))))
+    public ResponseEntity<byte[]> getArchivedBracket(@PathVariable(name = "id") final Integer id,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding,
+            final WebRequest request) {
+        return archived(id, View.BRACKET, acceptEncoding, request);
+    }
+
+    @GetMapping("/{id}/archive/participants")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = TournamentStartupDTO.class))))
+    public ResponseEntity<byte[]> getArchivedParticipants(@PathVariable(name = "id") final Integer id,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding,
+            final WebRequest request) {
+        return archived(id, View.PARTICIPANTS, acceptEncoding, request);
+    }
+
+    @GetMapping("/{id}/archive/events")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = BattleEventDTO.class))))
+    public ResponseEntity<byte[]> getArchivedEvents(@PathVariable(name = "id") final Integer id,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding,
+            final WebRequest request) {
+        return archived(id, View.EVENTS, acceptEncoding, request);
+    }
 
-        List<BattleDTO> battles = tournamentService.getBattlesByTournamentId(id);
-        return ResponseEntity.ok(battles);
+    /**
+     * Live stream of the tournament's score changes, battle events, battle winners and champion.
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTournament(@PathVariable(name = "id") final Integer id) {
+        return liveEventService.subscribeToTournament(id);
     }
 
     @PostMapping
@@ -60,6 +164,13 @@ public class TournamentResource {
         return new ResponseEntity<>(createdId, HttpStatus.CREATED);
     }
 
+    @PostMapping("/{id}/bracket")
+    @ApiResponse(responseCode = "201")
+    public ResponseEntity<List<BattleDTO>> generateBracket(@PathVariable(name = "id") final Integer id,
+            @RequestBody(required = false) final BracketDTO bracketDTO) {
+        return new ResponseEntity<>(tournamentService.generateBracket(id, bracketDTO), HttpStatus.CREATED);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Integer> updateTournament(@PathVariable(name = "id") final Integer id,
             @RequestBody @Valid final TournamentDTO tournamentDTO) {
@@ -78,4 +189,55 @@ public class TournamentResource {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Writes the cached gzip bytes as they are, or the plain JSON when the client does not accept gzip. The view
+     * is looked up first, so only completed tournaments that exist can be answered with 304.
+     */
+    private ResponseEntity<byte[]> archived(final Integer id, final View view, final String acceptEncoding,
+            final WebRequest request) {
+        final ArchivedView archivedView = tournamentArchiveService.get(id, view);
+        final String eTag = "\"" + archivedView.version() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(archivedView.gzipped());
+        }
+        return response.body(archivedView.json());
+    }
+
+    private static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] parameters = coding.split(";");
+            final String name = parameters[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parameters.length < 2 || !parameters[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the client's copy is still current, in which case the request has been answered with 304. Versions
+     * exist for any id, so only a tournament the versions track is known to exist without asking the database;
+     * any other goes down the normal path, which reports it as not found or starts tracking it.
+     */
+    private boolean isNotModified(final Integer id, final long version, final WebRequest request) {
+        return tournamentVersions.isTracked(id) && request.checkNotModified(versionTag(version));
+    }
+
+    /**
+     * Every change to the tournament bumps its version, so the version identifies the representation.
+     */
+    static String versionTag(final long version) {
+        return "\"" + version + "\"";
+    }
+
 }
@@ -1,8 +1,9 @@
 package com.lkm.it_academy_22.rest;
 
+import com.lkm.it_academy_22.model.CursorPage;
 import com.lkm.it_academy_22.model.TournamentStartupDTO;
-import com.lkm.it_academy_22.service.TournamentService;
 import com.lkm.it_academy_22.service.TournamentStartupService;
+import com.lkm.it_academy_22.service.TournamentVersions;
 import com.lkm.it_academy_22.util.exceptions.ReferencedException;
 import com.lkm.it_academy_22.util.ReferencedWarning;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,7 +12,6 @@ import java.util.List;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -19,7 +19,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 
 @RestController
@@ -27,16 +29,20 @@ import org.springframework.web.bind.annotation.RestController;
 public class TournamentStartupResource {
 
     private final TournamentStartupService tournamentStartupService;
-    private final TournamentService tournamentService;
+    private final TournamentVersions tournamentVersions;
 
-    public TournamentStartupResource(final TournamentStartupService tournamentStartupService, TournamentService tournamentService) {
+    public TournamentStartupResource(final TournamentStartupService tournamentStartupService,
+            final TournamentVersions tournamentVersions) {
         this.tournamentStartupService = tournamentStartupService;
-        this.tournamentService = tournamentService;
+        this.tournamentVersions = tournamentVersions;
     }
 
     @GetMapping
-    public ResponseEntity<List<TournamentStartupDTO>> getAllTournamentStartups() {
-        return ResponseEntity.ok(tournamentStartupService.findAll());
+    public ResponseEntity<List<TournamentStartupDTO>> getAllTournamentStartups(
+            @RequestParam(name = "after", required = false) final Integer after,
+            @RequestParam(name = "limit", required = false) final Integer limit,
+            @RequestParam(name = "all", defaultValue = "false") final boolean all) {
+        return CursorPageResponses.ok(tournamentStartupService.findAll(after, CursorPage.resolveLimit(limit, all)));
     }
 
     @GetMapping("/{id}")
@@ -46,14 +52,18 @@ public class TournamentStartupResource {
     }
 
     @GetMapping("/{id}/startups")
-    @Transactional(readOnly = true)
-    public ResponseEntity<List<TournamentStartupDTO>> getTournamentStartupsByTournamentId(@PathVariable Integer id) {
-        if (!tournamentService.existsById(id)) {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<List<TournamentStartupDTO>> getTournamentStartupsByTournamentId(@PathVariable Integer id,
+            final WebRequest request) {
+        final long version = tournamentVersions.getVersion(id);
+        // entrants belong to a tournament, so its version also tags the entrant list; versions exist for any id,
+        // so only a tournament the versions track is known to exist
+        if (tournamentVersions.isTracked(id) && request.checkNotModified(TournamentResource.versionTag(version))) {
+            return null;
         }
-
-        List<TournamentStartupDTO> startups = tournamentStartupService.getTournamentStartupsByTournamentId(id);
-        return ResponseEntity.ok(startups);
+        final List<TournamentStartupDTO> tournamentStartups =
+                tournamentStartupService.getTournamentStartupsByTournamentId(id);
+        tournamentVersions.track(id, version);
+        return ResponseEntity.ok().eTag(TournamentResource.versionTag(version)).body(tournamentStartups);
     }
 
     @PostMapping
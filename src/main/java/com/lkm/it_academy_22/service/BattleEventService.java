@@ -1,15 +1,29 @@
 package com.lkm.it_academy_22.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.lkm.it_academy_22.domain.*;
 import com.lkm.it_academy_22.model.BattleEventDTO;
+import com.lkm.it_academy_22.model.CursorPage;
 import com.lkm.it_academy_22.repos.*;
 import com.lkm.it_academy_22.util.exceptions.NotFoundException;
 
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import org.springframework.data.domain.Sort;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,74 +31,98 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class BattleEventService {
 
+    private static final int EXPORT_CLEAR_INTERVAL = 1000;
+
     private final BattleEventRepository battleEventRepository;
     private final BattleRepository battleRepository;
     private final TournamentStartupRepository tournamentStartupRepository;
     private final EventTypeRepository eventTypeRepository;
+    private final EventTypeRegistry eventTypeRegistry;
+    private final StartupStandingsService startupStandingsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     public BattleEventService(final BattleEventRepository battleEventRepository,
             final BattleRepository battleRepository,
             final TournamentStartupRepository tournamentStartupRepository,
             final TournamentRepository tournament,
-            final EventTypeRepository eventTypeRepository
+            final EventTypeRepository eventTypeRepository,
+            final EventTypeRegistry eventTypeRegistry,
+            final StartupStandingsService startupStandingsService,
+            final ApplicationEventPublisher eventPublisher,
+            final EntityManager entityManager,
+            final ObjectMapper objectMapper
             ) {
         this.battleEventRepository = battleEventRepository;
         this.battleRepository = battleRepository;
         this.tournamentStartupRepository = tournamentStartupRepository;
         this.eventTypeRepository = eventTypeRepository;
+        this.eventTypeRegistry = eventTypeRegistry;
+        this.startupStandingsService = startupStandingsService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
     }
 
-    public List<BattleEventDTO> findAll() {
-        final List<BattleEvent> battleEvents = battleEventRepository.findAll(Sort.by("id"));
-        return battleEvents.stream()
-                .map(battleEvent -> mapToDTO(battleEvent, new BattleEventDTO()))
-                .toList();
+    public CursorPage<BattleEventDTO> findAll(final Integer after, final int limit) {
+        final List<BattleEventDTO> battleEvents = battleEventRepository.findDTOPage(
+                CursorPage.startAfter(after), Limit.of(limit + 1));
+        return CursorPage.of(battleEvents, limit, BattleEventDTO::getId);
     }
 
     public List<BattleEventDTO> findByBattleAndTournamentStartup(final Integer battleId, final Integer startupId) {
-        Battle battle = battleRepository.findById(battleId)
-                .orElseThrow(() -> new NotFoundException("Battle not found with ID: " + battleId));
-
-        TournamentStartup startup = tournamentStartupRepository.findById(startupId)
-                .orElseThrow(() -> new NotFoundException("Tournament startup not found with ID: " + startupId));
+        if (!battleRepository.existsById(battleId)) {
+            throw new NotFoundException("Battle not found with ID: " + battleId);
+        }
 
-        List<BattleEvent> battleEvents = battleEventRepository.findByBattleAndTournamentStartup(battle, startup);
+        if (!tournamentStartupRepository.existsById(startupId)) {
+            throw new NotFoundException("Tournament startup not found with ID: " + startupId);
+        }
 
-        return battleEvents.stream()
-                .map(battleEvent -> mapToDTO(battleEvent, new BattleEventDTO()))
-                .toList();
+        return battleEventRepository.findDTOsByBattleIdAndStartupId(battleId, startupId);
     }
 
     public List<BattleEventDTO> findByTournamentStartup(final Integer tournamentStartupId) {
-        TournamentStartup tournamentStartup = tournamentStartupRepository.findById(tournamentStartupId)
-                .orElseThrow(() -> new NotFoundException("Tournament startup not found with ID: " + tournamentStartupId));
+        if (!tournamentStartupRepository.existsById(tournamentStartupId)) {
+            throw new NotFoundException("Tournament startup not found with ID: " + tournamentStartupId);
+        }
 
-        List<BattleEvent> battleEvents = battleEventRepository.findByStartup(tournamentStartup);
+        return battleEventRepository.findDTOsByStartupId(tournamentStartupId);
+    }
 
-        return battleEvents.stream()
-                .map(battleEvent -> mapToDTO(battleEvent, new BattleEventDTO()))
-                .toList();
+    /**
+     * Writes matching events as NDJSON while scrolling the result set, clearing the persistence context
+     * every {@value #EXPORT_CLEAR_INTERVAL} rows so memory stays flat regardless of the export size.
+     */
+    @Transactional(readOnly = true)
+    public void exportNdjson(final OutputStream outputStream, final Integer tournamentId,
+            final OffsetDateTime from, final OffsetDateTime to) throws IOException {
+        final ObjectWriter writer = objectMapper.writerFor(BattleEventDTO.class);
+        final BattleEventDTO battleEventDTO = new BattleEventDTO();
+        try (Stream<BattleEvent> battleEvents = battleEventRepository.streamForExport(tournamentId, from, to)) {
+            final Iterator<BattleEvent> iterator = battleEvents.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(mapToDTO(iterator.next(), battleEventDTO)));
+                outputStream.write('\n');
+                if (++written % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    outputStream.flush();
+                }
+            }
+        }
+        outputStream.flush();
     }
 
     public BattleEventDTO get(final Integer id) {
-        return battleEventRepository.findById(id)
-                .map(battleEvent -> mapToDTO(battleEvent, new BattleEventDTO()))
+        return battleEventRepository.findDTOById(id)
                 .orElseThrow(NotFoundException::new);
     }
 
     @Transactional
     public Integer create(final BattleEventDTO battleEventDTO) {
-        if (battleEventDTO.getStartup() == null) {
-            throw new IllegalArgumentException("Startup cannot be null");
-        }
-
-        if (battleEventDTO.getBattle() == null) {
-            throw new IllegalArgumentException("Battle cannot be null");
-        }
-
-        if (battleEventDTO.getEventType() == null) {
-            throw new IllegalArgumentException("EventType cannot be null");
-        }
+        validateReferences(battleEventDTO);
 
         final BattleEvent battleEvent = new BattleEvent();
         mapToEntity(battleEventDTO, battleEvent);
@@ -92,39 +130,144 @@ public class BattleEventService {
 
         BattleEvent savedEvent = battleEventRepository.save(battleEvent);
         Integer eventId = savedEvent.getId();
+        final Integer tournamentId = battleEvent.getStartup().getTournament().getId();
+        eventPublisher.publishEvent(new DomainEvents.BattleEventRecorded(tournamentId,
+                mapToDTO(savedEvent, new BattleEventDTO())));
+        eventPublisher.publishEvent(new DomainEvents.TournamentChanged(tournamentId));
 
-        if (battleEvent.getStartup() != null && battleEvent.getEventType() != null) {
-            Integer startupId = battleEvent.getStartup().getId();
+        final int scoreModifier = eventTypeRegistry.getScoreModifier(battleEventDTO.getEventType());
+        if (scoreModifier != 0) {
+            final Integer startupId = battleEvent.getStartup().getId();
+            if (tournamentStartupRepository.incrementCurrentScore(startupId, scoreModifier) == 0) {
+                throw new NotFoundException("TournamentStartup not found with ID: " + startupId);
+            }
+            startupStandingsService.addScore(startupId, scoreModifier);
+            eventPublisher.publishEvent(DomainEvents.ScoresChanged.of(tournamentId, battleEvent.getBattle().getId(),
+                    startupId, scoreModifier, true));
+        }
 
-            TournamentStartup startup = tournamentStartupRepository.findById(startupId)
-                    .orElseThrow(() -> new RuntimeException("TournamentStartup not found with ID: " + startupId));
+        return eventId;
+    }
 
-            Integer scoreModifier = battleEvent.getEventType().getScoreModifier();
+    @Transactional
+    public List<Integer> createAll(final List<BattleEventDTO> battleEventDTOs) {
+        final ScoreDeltas scoreDeltas = new ScoreDeltas();
+        final List<Integer> createdIds = saveAll(battleEventDTOs, scoreDeltas);
+        for (final ScoreDeltas.ScoreDelta delta : scoreDeltas.values()) {
+            if (tournamentStartupRepository.incrementCurrentScore(delta.tournamentStartupId(), delta.delta()) == 0) {
+                throw new NotFoundException("TournamentStartup not found with ID: " + delta.tournamentStartupId());
+            }
+        }
+        startupStandingsService.addScores(scoreDeltas);
+        eventPublisher.publishEvent(new DomainEvents.ScoresChanged(null, scoreDeltas, true));
+        return createdIds;
+    }
 
-            if (scoreModifier != null) {
-                Integer currentScore = startup.getCurrentScore();
-                if (currentScore == null) {
-                    currentScore = 0;
-                }
+    /**
+     * Persists the events like {@link #createAll} but leaves the scores alone, adding each tournament startup's
+     * score change to {@code scoreDeltas} so the caller can apply it later.
+     */
+    @Transactional
+    public List<Integer> createAllDeferringScores(final List<BattleEventDTO> battleEventDTOs,
+            final ScoreDeltas scoreDeltas) {
+        return saveAll(battleEventDTOs, scoreDeltas);
+    }
+
+    private List<Integer> saveAll(final List<BattleEventDTO> battleEventDTOs,
+            final ScoreDeltas scoreDeltas) {
+        for (final BattleEventDTO battleEventDTO : battleEventDTOs) {
+            validateReferences(battleEventDTO);
+        }
+
+        final Map<Integer, Battle> battles = battleRepository.findAllById(
+                        collectIds(battleEventDTOs, BattleEventDTO::getBattle)).stream()
+                .collect(Collectors.toMap(Battle::getId, Function.identity()));
+        final Map<Integer, TournamentStartup> startups = tournamentStartupRepository.findAllById(
+                        collectIds(battleEventDTOs, BattleEventDTO::getStartup)).stream()
+                .collect(Collectors.toMap(TournamentStartup::getId, Function.identity()));
 
-                Integer newScore = currentScore + scoreModifier;
-                startup.setCurrentScore(newScore);
-                tournamentStartupRepository.saveAndFlush(startup);
+        final OffsetDateTime createdAt = OffsetDateTime.of(LocalDateTime.now(), ZoneOffset.UTC);
+        final List<BattleEvent> battleEvents = new ArrayList<>(battleEventDTOs.size());
+
+        for (final BattleEventDTO battleEventDTO : battleEventDTOs) {
+            final Battle battle = battles.get(battleEventDTO.getBattle());
+            if (battle == null) {
+                throw new NotFoundException("Battle not found with ID: " + battleEventDTO.getBattle());
+            }
+            final TournamentStartup startup = startups.get(battleEventDTO.getStartup());
+            if (startup == null) {
+                throw new NotFoundException("Tournament startup not found with ID: " + battleEventDTO.getStartup());
+            }
+            final int scoreModifier = eventTypeRegistry.getScoreModifier(battleEventDTO.getEventType());
+
+            final BattleEvent battleEvent = new BattleEvent();
+            battleEvent.setBattle(battle);
+            battleEvent.setStartup(startup);
+            battleEvent.setEventType(eventTypeRepository.getReferenceById(battleEventDTO.getEventType()));
+            battleEvent.setCreatedAt(createdAt);
+            battleEvents.add(battleEvent);
+
+            if (scoreModifier != 0) {
+                scoreDeltas.add(startup.getTournament().getId(), startup.getId(), scoreModifier);
             }
         }
 
-        return eventId;
+        battleEventRepository.saveAll(battleEvents);
+        for (final BattleEvent battleEvent : battleEvents) {
+            eventPublisher.publishEvent(new DomainEvents.BattleEventRecorded(
+                    battleEvent.getStartup().getTournament().getId(), mapToDTO(battleEvent, new BattleEventDTO())));
+        }
+        startups.values().stream()
+                .map(startup -> startup.getTournament().getId())
+                .distinct()
+                .forEach(tournamentId -> eventPublisher.publishEvent(new DomainEvents.TournamentChanged(tournamentId)));
+
+        return battleEvents.stream()
+                .map(BattleEvent::getId)
+                .toList();
+    }
+
+    private void validateReferences(final BattleEventDTO battleEventDTO) {
+        if (battleEventDTO.getStartup() == null) {
+            throw new IllegalArgumentException("Startup cannot be null");
+        }
+
+        if (battleEventDTO.getBattle() == null) {
+            throw new IllegalArgumentException("Battle cannot be null");
+        }
+
+        if (battleEventDTO.getEventType() == null) {
+            throw new IllegalArgumentException("EventType cannot be null");
+        }
+    }
+
+    private List<Integer> collectIds(final List<BattleEventDTO> battleEventDTOs,
+            final Function<BattleEventDTO, Integer> idExtractor) {
+        return battleEventDTOs.stream()
+                .map(idExtractor)
+                .distinct()
+                .toList();
     }
 
     public void update(final Integer id, final BattleEventDTO battleEventDTO) {
         final BattleEvent battleEvent = battleEventRepository.findById(id)
                 .orElseThrow(NotFoundException::new);
+        // the event may move to another tournament's startup, so both tournaments change
+        eventPublisher.publishEvent(new DomainEvents.TournamentChanged(tournamentIdOf(battleEvent)));
         mapToEntity(battleEventDTO, battleEvent);
         battleEventRepository.save(battleEvent);
+        eventPublisher.publishEvent(new DomainEvents.TournamentChanged(tournamentIdOf(battleEvent)));
     }
 
     public void delete(final Integer id) {
+        final Optional<Integer> tournamentId = battleEventRepository.findTournamentIdById(id);
         battleEventRepository.deleteById(id);
+        tournamentId.ifPresent(changedId -> eventPublisher.publishEvent(new DomainEvents.TournamentChanged(changedId)));
+    }
+
+    private static Integer tournamentIdOf(final BattleEvent battleEvent) {
+        final TournamentStartup startup = battleEvent.getStartup();
+        return startup == null || startup.getTournament() == null ? null : startup.getTournament().getId();
     }
 
     private BattleEventDTO mapToDTO(final BattleEvent battleEvent,
@@ -145,8 +288,10 @@ public class BattleEventService {
         final TournamentStartup startup = battleEventDTO.getStartup() == null ? null : tournamentStartupRepository.findById(battleEventDTO.getStartup())
                 .orElseThrow(() -> new NotFoundException("startup not found"));
         battleEvent.setStartup(startup);
-        final EventType eventType = battleEventDTO.getEventType() == null ? null : eventTypeRepository.findById(battleEventDTO.getEventType())
-                .orElseThrow(() -> new NotFoundException("eventType not found"));
+        if (battleEventDTO.getEventType() != null && !eventTypeRegistry.contains(battleEventDTO.getEventType())) {
+            throw new NotFoundException("eventType not found");
+        }
+        final EventType eventType = battleEventDTO.getEventType() == null ? null : eventTypeRepository.getReferenceById(battleEventDTO.getEventType());
         battleEvent.setEventType(eventType);
         return battleEvent;
     }
@@ -1,11 +1,13 @@
 package com.lkm.it_academy_22.service;
 
 import com.lkm.it_academy_22.domain.Battle;
-import com.lkm.it_academy_22.domain.BattleEvent;
+import com.lkm.it_academy_22.domain.Startup;
 import com.lkm.it_academy_22.domain.Tournament;
 import com.lkm.it_academy_22.domain.TournamentStartup;
 import com.lkm.it_academy_22.model.BattleDTO;
-import com.lkm.it_academy_22.repos.BattleEventRepository;
+import com.lkm.it_academy_22.model.BattleResultDTO;
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.EntityReference;
 import com.lkm.it_academy_22.repos.BattleRepository;
 import com.lkm.it_academy_22.repos.TournamentRepository;
 import com.lkm.it_academy_22.repos.TournamentStartupRepository;
@@ -17,9 +19,11 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,45 +33,72 @@ public class BattleService {
     private final BattleRepository battleRepository;
     private final TournamentRepository tournamentRepository;
     private final TournamentStartupRepository tournamentStartupRepository;
-    private final BattleEventRepository battleEventRepository;
+    private final BracketIndex bracketIndex;
+    private final TournamentActorService tournamentActorService;
+    private final StartupStandingsService startupStandingsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BattleService(final BattleRepository battleRepository,
             final TournamentRepository tournamentRepository,
             final TournamentStartupRepository tournamentStartupRepository,
-            final BattleEventRepository battleEventRepository) {
+            final BracketIndex bracketIndex,
+            final TournamentActorService tournamentActorService,
+            final StartupStandingsService startupStandingsService,
+            final ApplicationEventPublisher eventPublisher) {
         this.battleRepository = battleRepository;
         this.tournamentRepository = tournamentRepository;
         this.tournamentStartupRepository = tournamentStartupRepository;
-        this.battleEventRepository = battleEventRepository;
+        this.bracketIndex = bracketIndex;
+        this.tournamentActorService = tournamentActorService;
+        this.startupStandingsService = startupStandingsService;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<BattleDTO> findAll() {
-        final List<Battle> battles = battleRepository.findAll(Sort.by("id"));
-        return battles.stream()
-                .map(battle -> mapToDTO(battle, new BattleDTO()))
-                .toList();
+    public CursorPage<BattleDTO> findAll(final Integer after, final int limit) {
+        final List<BattleDTO> battles = battleRepository.findDTOPage(
+                CursorPage.startAfter(after), Limit.of(limit + 1));
+        return CursorPage.of(battles, limit, BattleDTO::getId);
     }
 
     public BattleDTO get(final Integer id) {
-        return battleRepository.findById(id)
-                .map(battle -> mapToDTO(battle, new BattleDTO()))
+        return battleRepository.findDTOById(id)
                 .orElseThrow(NotFoundException::new);
     }
 
+    @Transactional
     public Integer create(final BattleDTO battleDTO) {
+        if (battleDTO.getTournament() == null) {
+            throw new IllegalArgumentException("Tournament cannot be null");
+        }
+        final Integer tournamentId = battleDTO.getTournament();
+        tournamentActorService.lockUnowned(tournamentId);
         final Battle battle = new Battle();
         mapToEntity(battleDTO, battle);
         battle.setCreatedAt(OffsetDateTime.of(LocalDateTime.now(), ZoneOffset.UTC));
-        return battleRepository.save(battle).getId();
+        final Integer createdId = battleRepository.save(battle).getId();
+        eventPublisher.publishEvent(new DomainEvents.TournamentChanged(tournamentId));
+        return createdId;
     }
 
     @Transactional
     public void update(final Integer id, final BattleDTO battleDTO) {
+        // locked on the tournament the battle is stored in, never on one named by the request
+        final Integer tournamentId = battleRepository.findTournamentIdById(id)
+                .orElseThrow(() -> new NotFoundException("battle not found"));
+        if (!tournamentId.equals(battleDTO.getTournament())) {
+            throw new IllegalArgumentException("Battle cannot be moved to another tournament.");
+        }
+        tournamentActorService.lockUnowned(tournamentId);
         final Battle battle = battleRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("battle not found"));
+        final TournamentStartup previousWinner = battle.getWinner();
 
         mapToEntity(battleDTO, battle);
         battleRepository.save(battle);
+        eventPublisher.publishEvent(new DomainEvents.TournamentChanged(tournamentId));
+        if (previousWinner != null && battleDTO.getWinner() == null && !Boolean.TRUE.equals(battleDTO.getSharkFight())) {
+            uncrown(battle, previousWinner);
+        }
 
         Integer winnerId = battleDTO.getWinner();
         Integer startup1Id = battleDTO.getStartup1();
@@ -113,7 +144,10 @@ public class BattleService {
             TournamentStartup winnerStartup = giveToStartup1 ? startup1 : startup2;
             TournamentStartup loserStartup = giveToStartup1 ? startup2 : startup1;
 
-            winnerStartup.setCurrentScore(winnerStartup.getCurrentScore() + 2);
+            tournamentStartupRepository.incrementCurrentScore(winnerStartup.getId(), 2);
+            startupStandingsService.addScore(winnerStartup.getId(), 2);
+            eventPublisher.publishEvent(DomainEvents.ScoresChanged.of(tournamentId, currentBattle.getId(),
+                    winnerStartup.getId(), 2, false));
 
             winnerId = winnerStartup.getId();
             loserId = loserStartup.getId();
@@ -126,77 +160,149 @@ public class BattleService {
             return;
         }
 
-        TournamentStartup winnerStartup = tournamentStartupRepository.findById(winnerId)
-                .orElseThrow(() -> new NotFoundException("Winner startup not found"));
-        TournamentStartup loserStartup = tournamentStartupRepository.findById(loserId)
-                .orElseThrow(() -> new NotFoundException("Loser startup not found"));
-
-        int totalBattles = getTotalBattles(tournamentId);
-        int currentBattleNumber = currentBattle.getBattleNumber();
-
-        boolean isFinalBattle = (currentBattleNumber == totalBattles);
+        eventPublisher.publishEvent(new DomainEvents.BattleWon(tournamentId, currentBattle.getId(), winnerId,
+                currentBattle.getSharkFight()));
+        advanceWinner(tournamentId, currentBattle.getId(), currentBattle.getBattleNumber(), winnerId, loserId, true);
+    }
 
-        if (!isFinalBattle) {
-            int parentNumber = getParentBattleNumber(currentBattleNumber, totalBattles);
+    /**
+     * Takes the title back when the winner of a decided final is cleared, reopening the tournament.
+     */
+    private void uncrown(final Battle battle, final TournamentStartup previousWinner) {
+        final Tournament tournament = battle.getTournament();
+        final Startup champion = tournament.getChampion();
+        if (battle.getBattleNumber() == null || champion == null || previousWinner.getStartup() == null
+                || !champion.getId().equals(previousWinner.getStartup().getId())
+                || !BracketIndex.isFinalBattle(bracketIndex.getBracketSize(tournament.getId()), battle.getBattleNumber())) {
+            return;
+        }
+        tournament.setChampion(null);
+        tournament.setStatus(null);
+        startupStandingsService.addTitle(champion.getId(), -1);
+    }
 
-            Battle parentBattle = battleRepository.findByBattleNumberAndTournamentId(parentNumber, tournamentId);
+    /**
+     * Records the outcome of a battle and moves the winner on using targeted UPDATEs only: the battle itself, the
+     * winner's slot in the parent battle (or the tournament for a final) and both startups' standings. Returns the
+     * battle the winner advanced to, or the decided final.
+     */
+    @Transactional
+    public BattleDTO recordResult(final Integer id, final BattleResultDTO battleResultDTO) {
+        // locked before the battle is read, so its slots and completion reflect every earlier result
+        final Integer tournamentId = battleRepository.findTournamentIdById(id)
+                .orElseThrow(() -> new NotFoundException("battle not found"));
+        tournamentActorService.lockUnowned(tournamentId);
+        final BattleDTO battle = battleRepository.findDTOById(id)
+                .orElseThrow(() -> new NotFoundException("battle not found"));
+        eventPublisher.publishEvent(new DomainEvents.TournamentChanged(tournamentId));
+        final Integer startup1Id = battle.getStartup1();
+        final Integer startup2Id = battle.getStartup2();
+        if (startup1Id == null || startup2Id == null) {
+            throw new IllegalStateException("Battle must have both startups defined.");
+        }
 
-            if (parentBattle == null) {
-                throw new NotFoundException("Parent battle not found for battle number: " + currentBattleNumber);
+        final boolean sharkFight = battleResultDTO.getWinner() == null && Boolean.TRUE.equals(battleResultDTO.getSharkFight());
+        final Integer winnerId;
+        if (battleResultDTO.getWinner() != null) {
+            winnerId = battleResultDTO.getWinner();
+            if (!winnerId.equals(startup1Id) && !winnerId.equals(startup2Id)) {
+                throw new IllegalArgumentException("Winner ID does not match either of the startups in the battle.");
             }
-
-            if (currentBattleNumber % 2 == 1) {
-                parentBattle.setStartup1(winnerStartup);
-            } else {
-                parentBattle.setStartup2(winnerStartup);
+        } else if (sharkFight) {
+            if (!Objects.equals(tournamentStartupRepository.findCurrentScoreById(startup1Id),
+                    tournamentStartupRepository.findCurrentScoreById(startup2Id))) {
+                throw new IllegalStateException("Shark Fight was expected, but scores are not equal.");
             }
-
-            battleRepository.save(parentBattle);
+            winnerId = ThreadLocalRandom.current().nextBoolean() ? startup1Id : startup2Id;
+        } else {
+            throw new IllegalArgumentException("Either a winner or a shark fight is required.");
         }
+        final Integer loserId = winnerId.equals(startup1Id) ? startup2Id : startup1Id;
 
-        final Tournament tournament = tournamentRepository.findById(tournamentId)
-                .orElseThrow(() -> new NotFoundException("tournament not found"));
+        if (battleRepository.complete(id, tournamentStartupRepository.getReferenceById(winnerId), sharkFight) == 0) {
+            throw new IllegalStateException("Battle already completed: " + id);
+        }
+        if (sharkFight) {
+            tournamentStartupRepository.incrementCurrentScore(winnerId, 2);
+            startupStandingsService.addScore(winnerId, 2);
+            eventPublisher.publishEvent(DomainEvents.ScoresChanged.of(tournamentId, id, winnerId, 2, false));
+        }
 
-        tournament.setChampion(winnerStartup.getStartup());
-        tournament.setStatus("COMPLETED");
-        tournamentRepository.save(tournament);
+        eventPublisher.publishEvent(new DomainEvents.BattleWon(tournamentId, id, winnerId, sharkFight));
 
-        loserStartup.setEliminated(true);
-        winnerStartup.setCurrentScore(winnerStartup.getCurrentScore() + 30);
-        tournamentStartupRepository.saveAll(List.of(winnerStartup, loserStartup));
+        final int nextBattleNumber = advanceWinner(battle.getTournament(), id, battle.getBattleNumber(), winnerId, loserId, false);
+        return battleRepository.findDTOByTournamentIdAndBattleNumber(battle.getTournament(), nextBattleNumber)
+                .orElseThrow(() -> new NotFoundException("battle not found"));
     }
 
+    /**
+     * Puts the winner into its slot of the parent battle, or crowns it when the battle is the final, and updates
+     * both startups' standings. A final of a tournament that is already completed only changes its champion, and
+     * moves the title, when {@code redecide} is set. Returns the number of the battle the winner advanced to.
+     */
+    private int advanceWinner(final Integer tournamentId, final Integer battleId, final int battleNumber,
+            final Integer winnerId, final Integer loserId, final boolean redecide) {
+        final TournamentStartup winnerStartup = tournamentStartupRepository.getReferenceById(winnerId);
+        final int bracketSize = bracketIndex.getBracketSize(tournamentId);
+
+        final boolean isFinal = BracketIndex.isFinalBattle(bracketSize, battleNumber);
+        boolean crowned = false;
+        final int nextBattleNumber;
+        if (isFinal) {
+            if (tournamentRepository.complete(tournamentId, winnerStartup.getStartup()) > 0) {
+                crowned = true;
+                eventPublisher.publishEvent(new DomainEvents.ChampionCrowned(tournamentId,
+                        winnerStartup.getStartup().getId()));
+            } else if (redecide) {
+                crowned = replaceChampion(tournamentId, winnerStartup.getStartup());
+            } else if (!tournamentRepository.existsById(tournamentId)) {
+                throw new NotFoundException("tournament not found");
+            }
+            // otherwise the tournament was already completed and keeps its champion and title
+            nextBattleNumber = battleNumber;
+        } else {
+            nextBattleNumber = BracketIndex.parentBattleNumber(bracketSize, battleNumber);
 
-    private int getParentBattleNumber(int battleNumber, int totalBattles) {
-        int numberOfStartups = totalBattles + 1;
-
-        int battleCountInRound = numberOfStartups / 2;
-        int firstBattleInRound = 1;
+            int updated = BracketIndex.advancesToStartup1(bracketSize, battleNumber)
+                    ? battleRepository.setStartup1(tournamentId, nextBattleNumber, winnerStartup)
+                    : battleRepository.setStartup2(tournamentId, nextBattleNumber, winnerStartup);
 
-        while (battleNumber > firstBattleInRound + battleCountInRound - 1) {
-            firstBattleInRound += battleCountInRound;
-            battleCountInRound /= 2;
-        }
-
-        if (battleNumber == totalBattles) {
-            return battleNumber;
+            if (updated == 0) {
+                throw new NotFoundException("Parent battle not found for battle number: " + battleNumber);
+            }
         }
 
-        int offsetInCurrentRound = battleNumber - firstBattleInRound;
-
-        int firstBattleInNextRound = firstBattleInRound + battleCountInRound;
-
-        return firstBattleInNextRound + offsetInCurrentRound / 2;
+        tournamentStartupRepository.markEliminated(loserId);
+        tournamentStartupRepository.incrementCurrentScore(winnerId, 30);
+        startupStandingsService.recordBattle(winnerId, loserId, 30, crowned);
+        eventPublisher.publishEvent(new DomainEvents.StartupEliminated(tournamentId, loserId));
+        eventPublisher.publishEvent(DomainEvents.ScoresChanged.of(tournamentId, battleId, winnerId, 30, false));
+        return nextBattleNumber;
     }
 
-    private int getTotalBattles(Integer tournamentId) {
-        long startupCount = tournamentStartupRepository.countByTournamentId(tournamentId);
-
-        return (int) startupCount - 1;
+    /**
+     * Hands the completed tournament to a new champion, taking the title from the previous one. Returns whether
+     * the champion changed, i.e. whether the new one is owed a title.
+     */
+    private boolean replaceChampion(final Integer tournamentId, final Startup champion) {
+        final Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new NotFoundException("tournament not found"));
+        final Startup previousChampion = tournament.getChampion();
+        if (previousChampion != null && previousChampion.getId().equals(champion.getId())) {
+            return false;
+        }
+        tournament.setChampion(champion);
+        startupStandingsService.addTitle(previousChampion == null ? null : previousChampion.getId(), -1);
+        eventPublisher.publishEvent(new DomainEvents.ChampionCrowned(tournamentId, champion.getId()));
+        return true;
     }
 
+    @Transactional
     public void delete(final Integer id) {
+        final Optional<Integer> tournamentId = battleRepository.findTournamentIdById(id);
+        tournamentId.ifPresent(tournamentActorService::lockUnowned);
         battleRepository.deleteById(id);
+        tournamentId.ifPresent(lockedId -> eventPublisher.publishEvent(new DomainEvents.TournamentChanged(lockedId)));
     }
 
     public BattleDTO mapToDTO(final Battle battle, final BattleDTO battleDTO) {
@@ -234,16 +340,9 @@ public class BattleService {
     }
 
     public ReferencedWarning getReferencedWarning(final Integer id) {
-        final ReferencedWarning referencedWarning = new ReferencedWarning();
-        final Battle battle = battleRepository.findById(id)
+        final EntityReference reference = battleRepository.findReference(id)
                 .orElseThrow(NotFoundException::new);
-        final BattleEvent battleBattleEvent = battleEventRepository.findFirstByBattle(battle);
-        if (battleBattleEvent != null) {
-            referencedWarning.setKey("battle.battleEvent.battle.referenced");
-            referencedWarning.addParam(battleBattleEvent.getId());
-            return referencedWarning;
-        }
-        return null;
+        return ReferencedWarning.of(reference);
     }
 
 }
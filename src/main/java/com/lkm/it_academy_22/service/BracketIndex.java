@@ -0,0 +1,178 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+
+/**
+ * Closed-form navigation of a single-elimination bracket. Battles are numbered round by round, so for a bracket of
+ * {@code n} entrants round one holds battles {@code 1..n/2} and battle {@code n-1} is the final. Each battle number
+ * maps to a node of an implicit heap (final at 1, children of {@code h} at {@code 2h} and {@code 2h+1}), which turns
+ * parent, sibling and round lookups into a few bit operations. Entrant counts that are not a power of two are
+ * padded with byes up to the next one, so the layout never changes shape.
+ * <p>
+ * Bracket sizes of recently used tournaments are kept, counted outside the cache lock; a count that may have raced
+ * a change of the entrants is used once but not kept.
+ */
+@Component
+public class BracketIndex {
+
+    private final TournamentStartupRepository tournamentStartupRepository;
+
+    private final Map<Integer, Entry> bracketSizes;
+
+    public BracketIndex(final TournamentStartupRepository tournamentStartupRepository,
+            @Value("${app.bracket-index.max-tournaments:4096}") final int maxTournaments) {
+        if (maxTournaments < 1) {
+            throw new IllegalArgumentException("Bracket sizes must be kept for at least one tournament, got "
+                    + maxTournaments + ".");
+        }
+        this.tournamentStartupRepository = tournamentStartupRepository;
+        this.bracketSizes = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, Entry> eldest) {
+                return size() > maxTournaments;
+            }
+
+        };
+    }
+
+    /**
+     * Size of the tournament's bracket including byes, counted once and kept until its membership changes.
+     */
+    public int getBracketSize(final Integer tournamentId) {
+        final Entry cached = find(tournamentId);
+        if (cached != null && cached.isCounted()) {
+            return cached.bracketSize();
+        }
+        final long readFrom = System.nanoTime();
+        final int bracketSize = bracketSize((int) tournamentStartupRepository.countByTournamentId(tournamentId));
+        install(tournamentId, readFrom, bracketSize);
+        return bracketSize;
+    }
+
+    public synchronized int getSize() {
+        return bracketSizes.size();
+    }
+
+    /**
+     * Drops the cached size once the transaction that changed the tournament's entrants commits, leaving a marker
+     * so a count that started before then is not kept.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onEntrantsChanged(final DomainEvents.EntrantsChanged event) {
+        if (event.tournamentId() != null) {
+            bracketSizes.put(event.tournamentId(), Entry.changed());
+        }
+    }
+
+    private synchronized Entry find(final Integer tournamentId) {
+        return bracketSizes.get(tournamentId);
+    }
+
+    /**
+     * Keeps a fresh count unless the entrants changed since it started.
+     */
+    private synchronized void install(final Integer tournamentId, final long readFrom, final int bracketSize) {
+        final Entry current = bracketSizes.get(tournamentId);
+        if (current == null || !current.isCounted() && readFrom - current.at() > 0) {
+            bracketSizes.put(tournamentId, Entry.counted(bracketSize));
+        }
+    }
+
+    /**
+     * Smallest power of two that fits the entrants; the difference is the number of first-round byes.
+     */
+    public static int bracketSize(final int entrants) {
+        if (entrants < 2 || entrants > 1 << 30) {
+            throw new IllegalArgumentException("A bracket needs between 2 and 2^30 startups, got " + entrants + ".");
+        }
+        return Integer.highestOneBit(entrants - 1) << 1;
+    }
+
+    public static int finalBattleNumber(final int bracketSize) {
+        requireBracketSize(bracketSize);
+        return bracketSize - 1;
+    }
+
+    public static boolean isFinalBattle(final int bracketSize, final int battleNumber) {
+        return heapIndex(bracketSize, battleNumber) == 1;
+    }
+
+    public static int roundNumber(final int bracketSize, final int battleNumber) {
+        final int battlesInRound = Integer.highestOneBit(heapIndex(bracketSize, battleNumber));
+        return Integer.numberOfTrailingZeros(bracketSize) - Integer.numberOfTrailingZeros(battlesInRound);
+    }
+
+    public static int parentBattleNumber(final int bracketSize, final int battleNumber) {
+        final int heapIndex = heapIndex(bracketSize, battleNumber);
+        if (heapIndex == 1) {
+            throw new IllegalArgumentException("The final battle has no parent.");
+        }
+        return battleNumber(bracketSize, heapIndex >>> 1);
+    }
+
+    public static int siblingBattleNumber(final int bracketSize, final int battleNumber) {
+        final int heapIndex = heapIndex(bracketSize, battleNumber);
+        if (heapIndex == 1) {
+            throw new IllegalArgumentException("The final battle has no sibling.");
+        }
+        return battleNumber(bracketSize, heapIndex ^ 1);
+    }
+
+    /**
+     * Whether the winner of the battle takes the startup1 slot of its parent (otherwise startup2).
+     */
+    public static boolean advancesToStartup1(final int bracketSize, final int battleNumber) {
+        return (heapIndex(bracketSize, battleNumber) & 1) == 0;
+    }
+
+    private static int heapIndex(final int bracketSize, final int battleNumber) {
+        requireBracketSize(bracketSize);
+        if (battleNumber < 1 || battleNumber >= bracketSize) {
+            throw new IllegalArgumentException("Battle number " + battleNumber
+                    + " is outside a bracket of " + bracketSize + " startups.");
+        }
+        // battles left after this one identify the round: a round of c battles covers c..2c-1 of them
+        final int remaining = bracketSize - battleNumber;
+        final int battlesInRound = Integer.highestOneBit(remaining);
+        return 3 * battlesInRound - 1 - remaining;
+    }
+
+    private static int battleNumber(final int bracketSize, final int heapIndex) {
+        return bracketSize + 1 + heapIndex - 3 * Integer.highestOneBit(heapIndex);
+    }
+
+    private static void requireBracketSize(final int bracketSize) {
+        if (bracketSize < 2 || Integer.bitCount(bracketSize) != 1) {
+            throw new IllegalArgumentException("Bracket size must be a power of two, got " + bracketSize + ".");
+        }
+    }
+
+    /**
+     * A counted bracket size, or a marker without one recording the {@link System#nanoTime()} the entrants last
+     * changed.
+     */
+    private record Entry(int bracketSize, long at) {
+
+        static Entry counted(final int bracketSize) {
+            return new Entry(bracketSize, System.nanoTime());
+        }
+
+        static Entry changed() {
+            return new Entry(0, System.nanoTime());
+        }
+
+        boolean isCounted() {
+            return bracketSize != 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.CacheRegionStatisticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+
+@Service
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheStatisticsService(final EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Returns one entry per second-level cache region; empty while the cache is disabled. Counters stay at zero
+     * unless Hibernate statistics are on, which JPA_L2_CACHE=true implies.
+     */
+    public List<CacheRegionStatisticsDTO> findAll() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> mapToDTO(region, statistics.getDomainDataRegionStatistics(region)))
+                .toList();
+    }
+
+    private CacheRegionStatisticsDTO mapToDTO(final String region,
+            final CacheRegionStatistics regionStatistics) {
+        return new CacheRegionStatisticsDTO(region, regionStatistics.getHitCount(),
+                regionStatistics.getMissCount(), regionStatistics.getPutCount(),
+                regionStatistics.getElementCountInMemory());
+    }
+
+}
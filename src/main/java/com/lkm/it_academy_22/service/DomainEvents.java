@@ -0,0 +1,81 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.BattleEventDTO;
+import java.util.List;
+
+
+/**
+ * Changes the services publish while they write. Components that keep state outside the database (caches,
+ * versions, live streams, actors) handle them in {@code @TransactionalEventListener(phase = AFTER_COMMIT,
+ * fallbackExecution = true)} methods, so they only ever see committed changes, and see them right away when the
+ * change was written without a transaction.
+ */
+public final class DomainEvents {
+
+    private DomainEvents() {
+    }
+
+    /**
+     * The tournament, its battles or its battle events changed. Ids may be {@code null} for detached data.
+     */
+    public record TournamentChanged(Integer tournamentId) {
+    }
+
+    /**
+     * The tournament was deleted.
+     */
+    public record TournamentDeleted(Integer tournamentId) {
+    }
+
+    /**
+     * Startups joined or left the tournament, or one of its entrants was edited directly.
+     */
+    public record EntrantsChanged(Integer tournamentId) {
+    }
+
+    /**
+     * Scores added to tournament startups, all in one battle when {@code battleId} is set. {@code byBattleEvents}
+     * marks changes made by battle events rather than by results, which an actor playing the tournament has to
+     * reread. {@code occurredAt} is a {@link System#nanoTime()} taken before the change commits, so a cache can tell
+     * whether it was read before the change.
+     */
+    public record ScoresChanged(Integer battleId, List<ScoreDeltas.ScoreDelta> deltas, boolean byBattleEvents,
+            long occurredAt) {
+
+        public ScoresChanged(final Integer battleId, final ScoreDeltas scoreDeltas, final boolean byBattleEvents) {
+            // the writer may reuse its deltas once the transaction is over
+            this(battleId, List.copyOf(scoreDeltas.values()), byBattleEvents, System.nanoTime());
+        }
+
+        public static ScoresChanged of(final Integer tournamentId, final Integer battleId,
+                final Integer tournamentStartupId, final int delta, final boolean byBattleEvents) {
+            return new ScoresChanged(battleId, List.of(new ScoreDeltas.ScoreDelta(tournamentId, tournamentStartupId,
+                    delta)), byBattleEvents, System.nanoTime());
+        }
+
+    }
+
+    /**
+     * A tournament startup lost a battle. {@code occurredAt} is as for {@link ScoresChanged}.
+     */
+    public record StartupEliminated(Integer tournamentId, Integer tournamentStartupId, long occurredAt) {
+
+        public StartupEliminated(final Integer tournamentId, final Integer tournamentStartupId) {
+            this(tournamentId, tournamentStartupId, System.nanoTime());
+        }
+
+    }
+
+    public record BattleWon(Integer tournamentId, Integer battleId, Integer winnerId, Boolean sharkFight) {
+    }
+
+    public record ChampionCrowned(Integer tournamentId, Integer startupId) {
+    }
+
+    public record BattleEventRecorded(Integer tournamentId, BattleEventDTO battleEvent) {
+    }
+
+    public record EventTypesChanged() {
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.domain.EventType;
+import com.lkm.it_academy_22.repos.EventTypeRepository;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import jakarta.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+
+/**
+ * Read-mostly view of the event types so scoring never has to query them. Each refresh builds a new immutable
+ * snapshot and publishes it with a single volatile write; readers never lock.
+ */
+@Component
+public class EventTypeRegistry {
+
+    private final EventTypeRepository eventTypeRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(0, new int[0], new int[0], new String[0]);
+
+    public EventTypeRegistry(final EventTypeRepository eventTypeRepository) {
+        this.eventTypeRepository = eventTypeRepository;
+    }
+
+    @PostConstruct
+    public synchronized void refresh() {
+        final List<EventType> eventTypes = eventTypeRepository.findAll(Sort.by("id"));
+        final int[] ids = new int[eventTypes.size()];
+        final int[] scoreModifiers = new int[eventTypes.size()];
+        final String[] names = new String[eventTypes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            final EventType eventType = eventTypes.get(i);
+            ids[i] = eventType.getId();
+            scoreModifiers[i] = eventType.getScoreModifier();
+            names[i] = eventType.getName();
+        }
+        // seeded from the clock so a restart never hands out a version a client may already hold
+        final long version = Math.max(snapshot.version + 1, System.currentTimeMillis());
+        snapshot = new Snapshot(version, ids, scoreModifiers, names);
+    }
+
+    /**
+     * Rebuilds the snapshot once the transaction that changed the event types commits.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventTypesChanged(final DomainEvents.EventTypesChanged event) {
+        refresh();
+    }
+
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    public boolean contains(final int id) {
+        return snapshot.indexOf(id) >= 0;
+    }
+
+    public int getScoreModifier(final int id) {
+        final Snapshot current = snapshot;
+        return current.scoreModifiers[current.require(id)];
+    }
+
+    public String getName(final int id) {
+        final Snapshot current = snapshot;
+        return current.names[current.require(id)];
+    }
+
+    private record Snapshot(long version, int[] ids, int[] scoreModifiers, String[] names) {
+
+        int indexOf(final int id) {
+            return Arrays.binarySearch(ids, id);
+        }
+
+        int require(final int id) {
+            final int index = indexOf(id);
+            if (index < 0) {
+                throw new NotFoundException("EventType not found with ID: " + id);
+            }
+            return index;
+        }
+
+    }
+
+}
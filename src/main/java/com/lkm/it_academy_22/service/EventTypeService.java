@@ -1,34 +1,48 @@
 package com.lkm.it_academy_22.service;
 
-import com.lkm.it_academy_22.domain.BattleEvent;
 import com.lkm.it_academy_22.domain.EventType;
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.EntityReference;
 import com.lkm.it_academy_22.model.EventTypeDTO;
-import com.lkm.it_academy_22.repos.BattleEventRepository;
 import com.lkm.it_academy_22.repos.EventTypeRepository;
 import com.lkm.it_academy_22.util.exceptions.NotFoundException;
 import com.lkm.it_academy_22.util.ReferencedWarning;
 import java.util.List;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
 public class EventTypeService {
 
     private final EventTypeRepository eventTypeRepository;
-    private final BattleEventRepository battleEventRepository;
+    private final EventTypeRegistry eventTypeRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EventTypeService(final EventTypeRepository eventTypeRepository,
-            final BattleEventRepository battleEventRepository) {
+            final EventTypeRegistry eventTypeRegistry,
+            final ApplicationEventPublisher eventPublisher) {
         this.eventTypeRepository = eventTypeRepository;
-        this.battleEventRepository = battleEventRepository;
+        this.eventTypeRegistry = eventTypeRegistry;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<EventTypeDTO> findAll() {
-        final List<EventType> eventTypes = eventTypeRepository.findAll(Sort.by("id"));
-        return eventTypes.stream()
+    public long getVersion() {
+        return eventTypeRegistry.getVersion();
+    }
+
+    public CursorPage<EventTypeDTO> findAll(final Integer after, final int limit) {
+        final List<EventType> eventTypes = eventTypeRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.startAfter(after), Limit.of(limit + 1));
+        return CursorPage.of(eventTypes.stream()
                 .map(eventType -> mapToDTO(eventType, new EventTypeDTO()))
-                .toList();
+                .toList(), limit, EventTypeDTO::getId);
+    }
+
+    public boolean existsById(final Integer id) {
+        return eventTypeRegistry.contains(id);
     }
 
     public EventTypeDTO get(final Integer id) {
@@ -37,21 +51,28 @@ public class EventTypeService {
                 .orElseThrow(NotFoundException::new);
     }
 
+    @Transactional
     public Integer create(final EventTypeDTO eventTypeDTO) {
         final EventType eventType = new EventType();
         mapToEntity(eventTypeDTO, eventType);
-        return eventTypeRepository.save(eventType).getId();
+        final Integer id = eventTypeRepository.save(eventType).getId();
+        eventPublisher.publishEvent(new DomainEvents.EventTypesChanged());
+        return id;
     }
 
+    @Transactional
     public void update(final Integer id, final EventTypeDTO eventTypeDTO) {
         final EventType eventType = eventTypeRepository.findById(id)
                 .orElseThrow(NotFoundException::new);
         mapToEntity(eventTypeDTO, eventType);
         eventTypeRepository.save(eventType);
+        eventPublisher.publishEvent(new DomainEvents.EventTypesChanged());
     }
 
+    @Transactional
     public void delete(final Integer id) {
         eventTypeRepository.deleteById(id);
+        eventPublisher.publishEvent(new DomainEvents.EventTypesChanged());
     }
 
     private EventTypeDTO mapToDTO(final EventType eventType, final EventTypeDTO eventTypeDTO) {
@@ -68,16 +89,9 @@ public class EventTypeService {
     }
 
     public ReferencedWarning getReferencedWarning(final Integer id) {
-        final ReferencedWarning referencedWarning = new ReferencedWarning();
-        final EventType eventType = eventTypeRepository.findById(id)
+        final EntityReference reference = eventTypeRepository.findReference(id)
                 .orElseThrow(NotFoundException::new);
-        final BattleEvent eventTypeBattleEvent = battleEventRepository.findFirstByEventType(eventType);
-        if (eventTypeBattleEvent != null) {
-            referencedWarning.setKey("eventType.battleEvent.eventType.referenced");
-            referencedWarning.addParam(eventTypeBattleEvent.getId());
-            return referencedWarning;
-        }
-        return null;
+        return ReferencedWarning.of(reference);
     }
 
 }
@@ -0,0 +1,217 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.LeaderboardEntryDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * Ranking of one tournament's startups by score, kept in a treap ordered by score (highest first) and then by id,
+ * with subtree sizes so that a rank is the number of startups with a strictly higher score. Updates, rank lookups
+ * and the start of a top-N walk are all O(log n); startups with equal scores share a rank (1, 2, 2, 4).
+ */
+public class Leaderboard {
+
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private Node root;
+
+    public Leaderboard(final List<TournamentStartupDTO> tournamentStartups) {
+        for (final TournamentStartupDTO tournamentStartup : tournamentStartups) {
+            final Node node = new Node(tournamentStartup.getId(), tournamentStartup.getStartup(),
+                    tournamentStartup.getCurrentScore() == null ? 0 : tournamentStartup.getCurrentScore(),
+                    Boolean.TRUE.equals(tournamentStartup.getEliminated()));
+            nodes.put(node.id, node);
+            root = insert(root, node);
+        }
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    public synchronized boolean contains(final Integer tournamentStartupId) {
+        return nodes.containsKey(tournamentStartupId);
+    }
+
+    /**
+     * Moves the startup by {@code delta} points. Returns false when the startup is not on this leaderboard.
+     */
+    public synchronized boolean addScore(final Integer tournamentStartupId, final int delta) {
+        final Node node = nodes.get(tournamentStartupId);
+        if (node == null) {
+            return false;
+        }
+        if (delta != 0) {
+            root = remove(root, node);
+            node.score += delta;
+            node.left = null;
+            node.right = null;
+            node.size = 1;
+            root = insert(root, node);
+        }
+        return true;
+    }
+
+    public synchronized boolean eliminate(final Integer tournamentStartupId) {
+        final Node node = nodes.get(tournamentStartupId);
+        if (node == null) {
+            return false;
+        }
+        node.eliminated = true;
+        return true;
+    }
+
+    public synchronized LeaderboardEntryDTO getEntry(final Integer tournamentStartupId) {
+        final Node node = nodes.get(tournamentStartupId);
+        return node == null ? null : toEntry(node, countHigher(node.score) + 1);
+    }
+
+    /**
+     * The first {@code limit} startups in ranking order.
+     */
+    public synchronized List<LeaderboardEntryDTO> getTop(final int limit) {
+        final List<LeaderboardEntryDTO> entries = new ArrayList<>(Math.min(limit, nodes.size()));
+        final Deque<Node> path = new ArrayDeque<>();
+        Node current = root;
+        int position = 0;
+        int rank = 0;
+        Integer previousScore = null;
+        while (entries.size() < limit && (current != null || !path.isEmpty())) {
+            while (current != null) {
+                path.push(current);
+                current = current.left;
+            }
+            final Node node = path.pop();
+            position++;
+            if (previousScore == null || node.score != previousScore) {
+                rank = position;
+                previousScore = node.score;
+            }
+            entries.add(toEntry(node, rank));
+            current = node.right;
+        }
+        return entries;
+    }
+
+    private int countHigher(final int score) {
+        int count = 0;
+        Node current = root;
+        while (current != null) {
+            if (current.score > score) {
+                count += size(current.left) + 1;
+                current = current.right;
+            } else {
+                current = current.left;
+            }
+        }
+        return count;
+    }
+
+    private static LeaderboardEntryDTO toEntry(final Node node, final int rank) {
+        return new LeaderboardEntryDTO(rank, node.id, node.startup, node.score, node.eliminated);
+    }
+
+    private static boolean before(final Node a, final Node b) {
+        return a.score != b.score ? a.score > b.score : a.id < b.id;
+    }
+
+    private static Node insert(final Node tree, final Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            final Node[] parts = split(tree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            return update(node);
+        }
+        if (before(node, tree)) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        return update(tree);
+    }
+
+    private static Node remove(final Node tree, final Node node) {
+        if (tree == node) {
+            return merge(tree.left, tree.right);
+        }
+        if (before(node, tree)) {
+            tree.left = remove(tree.left, node);
+        } else {
+            tree.right = remove(tree.right, node);
+        }
+        return update(tree);
+    }
+
+    /**
+     * Splits into the nodes ranked before {@code pivot} and the rest.
+     */
+    private static Node[] split(final Node tree, final Node pivot) {
+        if (tree == null) {
+            return new Node[2];
+        }
+        if (before(tree, pivot)) {
+            final Node[] parts = split(tree.right, pivot);
+            tree.right = parts[0];
+            parts[0] = update(tree);
+            return parts;
+        }
+        final Node[] parts = split(tree.left, pivot);
+        tree.left = parts[1];
+        parts[1] = update(tree);
+        return parts;
+    }
+
+    private static Node merge(final Node left, final Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(final Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static int size(final Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+
+        private final int id;
+        private final Integer startup;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int score;
+        private boolean eliminated;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(final int id, final Integer startup, final int score, final boolean eliminated) {
+            this.id = id;
+            this.startup = startup;
+            this.score = score;
+            this.eliminated = eliminated;
+        }
+
+    }
+
+}
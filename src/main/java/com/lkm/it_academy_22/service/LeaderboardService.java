@@ -0,0 +1,163 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.LeaderboardEntryDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+
+/**
+ * Keeps a {@link Leaderboard} per recently used tournament, built from the database on first use and then moved
+ * along with every committed score change or elimination. Only a ranking read before the change was written can
+ * take it: one read later may or may not contain it, so it is dropped and reread instead of risking counting the
+ * change twice. Reads happen outside the cache lock, and a read that may have raced a change is served once but
+ * not kept.
+ */
+@Service
+public class LeaderboardService {
+
+    private final TournamentRepository tournamentRepository;
+    private final TournamentStartupRepository tournamentStartupRepository;
+    private final Map<Integer, Entry> leaderboards;
+
+    public LeaderboardService(final TournamentRepository tournamentRepository,
+            final TournamentStartupRepository tournamentStartupRepository,
+            @Value("${app.leaderboards.max-tournaments:256}") final int maxTournaments) {
+        if (maxTournaments < 1) {
+            throw new IllegalArgumentException("Leaderboards must be kept for at least one tournament, got "
+                    + maxTournaments + ".");
+        }
+        this.tournamentRepository = tournamentRepository;
+        this.tournamentStartupRepository = tournamentStartupRepository;
+        this.leaderboards = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, Entry> eldest) {
+                return size() > maxTournaments;
+            }
+
+        };
+    }
+
+    public List<LeaderboardEntryDTO> getTop(final Integer tournamentId, final int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive, got " + limit + ".");
+        }
+        return leaderboard(tournamentId).getTop(limit);
+    }
+
+    public LeaderboardEntryDTO getEntry(final Integer tournamentId, final Integer tournamentStartupId) {
+        final LeaderboardEntryDTO entry = leaderboard(tournamentId).getEntry(tournamentStartupId);
+        if (entry == null) {
+            throw new NotFoundException("TournamentStartup not found in tournament: " + tournamentStartupId);
+        }
+        return entry;
+    }
+
+    public synchronized int getSize() {
+        return leaderboards.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScoresChanged(final DomainEvents.ScoresChanged event) {
+        event.deltas().forEach(delta -> change(delta.tournamentId(), event.occurredAt(),
+                leaderboard -> leaderboard.addScore(delta.tournamentStartupId(), delta.delta())));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStartupEliminated(final DomainEvents.StartupEliminated event) {
+        change(event.tournamentId(), event.occurredAt(),
+                leaderboard -> leaderboard.eliminate(event.tournamentStartupId()));
+    }
+
+    /**
+     * Drops the leaderboard of a tournament whose entrants changed, which is not tracked here.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntrantsChanged(final DomainEvents.EntrantsChanged event) {
+        if (event.tournamentId() != null) {
+            drop(event.tournamentId());
+        }
+    }
+
+    private synchronized void change(final Integer tournamentId, final long occurredAt,
+            final Predicate<Leaderboard> change) {
+        if (tournamentId == null) {
+            return;
+        }
+        final Entry current = leaderboards.get(tournamentId);
+        // a ranking read once the change was written may or may not contain it
+        if (current == null || !current.isLoaded() || current.at() - occurredAt >= 0
+                || !change.test(current.leaderboard())) {
+            drop(tournamentId);
+        }
+    }
+
+    private synchronized void drop(final Integer tournamentId) {
+        leaderboards.put(tournamentId, Entry.changed());
+    }
+
+    private Leaderboard leaderboard(final Integer tournamentId) {
+        final Entry cached = find(tournamentId);
+        if (cached != null && cached.isLoaded()) {
+            return cached.leaderboard();
+        }
+        final long readFrom = System.nanoTime();
+        final List<TournamentStartupDTO> tournamentStartups =
+                tournamentStartupRepository.findDTOsByTournamentId(tournamentId);
+        if (tournamentStartups.isEmpty() && !tournamentRepository.existsById(tournamentId)) {
+            throw new NotFoundException();
+        }
+        return install(tournamentId, readFrom, new Leaderboard(tournamentStartups));
+    }
+
+    private synchronized Entry find(final Integer tournamentId) {
+        return leaderboards.get(tournamentId);
+    }
+
+    /**
+     * Keeps a freshly read leaderboard unless another one got there first or a change committed while it was being
+     * read, in which case this one is only good for the request that read it.
+     */
+    private synchronized Leaderboard install(final Integer tournamentId, final long readFrom,
+            final Leaderboard leaderboard) {
+        final Entry current = leaderboards.get(tournamentId);
+        if (current != null && current.isLoaded()) {
+            return current.leaderboard();
+        }
+        if (current == null || readFrom - current.at() > 0) {
+            leaderboards.put(tournamentId, Entry.loaded(leaderboard));
+        }
+        return leaderboard;
+    }
+
+    /**
+     * A leaderboard with the {@link System#nanoTime()} its read finished, or a marker without one recording when a
+     * change was last committed for the tournament.
+     */
+    private record Entry(Leaderboard leaderboard, long at) {
+
+        static Entry loaded(final Leaderboard leaderboard) {
+            return new Entry(leaderboard, System.nanoTime());
+        }
+
+        static Entry changed() {
+            return new Entry(null, System.nanoTime());
+        }
+
+        boolean isLoaded() {
+            return leaderboard != null;
+        }
+
+    }
+
+}
@@ -0,0 +1,269 @@
+package com.lkm.it_academy_22.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lkm.it_academy_22.model.BattleWinnerDTO;
+import com.lkm.it_academy_22.model.ChampionDTO;
+import com.lkm.it_academy_22.model.ScoreUpdateDTO;
+import com.lkm.it_academy_22.repos.BattleRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+/**
+ * Server-sent event streams per tournament and per battle. Every committed change is serialized once into an
+ * immutable frame that all subscribers of its topics share. Each subscriber has a bounded buffer drained by its
+ * own virtual thread, so a slow connection never holds up publishing; one that falls a full buffer behind is
+ * disconnected and can reconnect and re-read the current state.
+ */
+@Service
+public class LiveEventService {
+
+    public static final String SCORE = "score";
+    public static final String BATTLE_EVENT = "battle-event";
+    public static final String BATTLE_WINNER = "battle-winner";
+    public static final String CHAMPION = "champion";
+
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final TournamentRepository tournamentRepository;
+    private final BattleRepository battleRepository;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("live-event-sender-", 0).factory());
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final LongAdder droppedCount = new LongAdder();
+
+    public LiveEventService(final TournamentRepository tournamentRepository,
+            final BattleRepository battleRepository,
+            final ObjectMapper objectMapper,
+            @Value("${app.live-events.timeout-ms:1800000}") final long timeoutMillis,
+            @Value("${app.live-events.buffer-size:64}") final int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Live event buffer size must be positive, got " + bufferSize + ".");
+        }
+        this.tournamentRepository = tournamentRepository;
+        this.battleRepository = battleRepository;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+    }
+
+    public SseEmitter subscribeToTournament(final Integer tournamentId) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new NotFoundException();
+        }
+        return subscribe(tournamentTopic(tournamentId));
+    }
+
+    public SseEmitter subscribeToBattle(final Integer battleId) {
+        if (!battleRepository.existsById(battleId)) {
+            throw new NotFoundException("battle not found");
+        }
+        return subscribe(battleTopic(battleId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBattleEventRecorded(final DomainEvents.BattleEventRecorded event) {
+        publish(BATTLE_EVENT, event.battleEvent(), event.tournamentId(), event.battleEvent().getBattle());
+    }
+
+    /**
+     * Score changes without a known battle only reach the tournaments' streams.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScoresChanged(final DomainEvents.ScoresChanged event) {
+        event.deltas().forEach(delta -> publish(SCORE, new ScoreUpdateDTO(delta.tournamentId(), event.battleId(),
+                delta.tournamentStartupId(), delta.delta()), delta.tournamentId(), event.battleId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBattleWon(final DomainEvents.BattleWon event) {
+        publish(BATTLE_WINNER, new BattleWinnerDTO(event.tournamentId(), event.battleId(), event.winnerId(),
+                event.sharkFight()), event.tournamentId(), event.battleId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChampionCrowned(final DomainEvents.ChampionCrowned event) {
+        publish(CHAMPION, new ChampionDTO(event.tournamentId(), event.startupId()), event.tournamentId(), null);
+    }
+
+    public int getSubscriberCount() {
+        return topics.values().stream()
+                .mapToInt(Set::size)
+                .sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    @PreDestroy
+    public void stop() {
+        topics.values().forEach(subscribers -> subscribers.forEach(Subscriber::closeNow));
+        senders.shutdown();
+    }
+
+    static String tournamentTopic(final Integer tournamentId) {
+        return "tournament:" + tournamentId;
+    }
+
+    static String battleTopic(final Integer battleId) {
+        return "battle:" + battleId;
+    }
+
+    SseEmitter subscribe(final String topic) {
+        final SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(topic, emitter);
+        return emitter;
+    }
+
+    void register(final String topic, final SseEmitter emitter) {
+        final Subscriber subscriber = new Subscriber(topic, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::closeNow);
+        emitter.onError(error -> subscriber.close());
+        // added inside compute so a concurrent close cannot drop the topic's set in between
+        topics.compute(topic, (key, subscribers) -> {
+            final Set<Subscriber> topicSubscribers = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+            topicSubscribers.add(subscriber);
+            return topicSubscribers;
+        });
+    }
+
+    void publish(final String name, final Object payload, final Integer tournamentId, final Integer battleId) {
+        final Set<Subscriber> tournamentSubscribers = tournamentId == null ? null : topics.get(tournamentTopic(tournamentId));
+        final Set<Subscriber> battleSubscribers = battleId == null ? null : topics.get(battleTopic(battleId));
+        if (isEmpty(tournamentSubscribers) && isEmpty(battleSubscribers)) {
+            return;
+        }
+        final Set<DataWithMediaType> frame = frame(name, payload);
+        if (tournamentSubscribers != null) {
+            tournamentSubscribers.forEach(subscriber -> subscriber.offer(frame));
+        }
+        if (battleSubscribers != null) {
+            battleSubscribers.forEach(subscriber -> subscriber.offer(frame));
+        }
+    }
+
+    private Set<DataWithMediaType> frame(final String name, final Object payload) {
+        try {
+            // compact JSON never spans lines, so the payload fits in a single data field
+            return Set.of(new DataWithMediaType("event:" + name + "\ndata:" + objectMapper.writeValueAsString(payload) + "\n\n",
+                    TEXT_PLAIN_UTF8));
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Live event not serializable: " + name, e);
+        }
+    }
+
+    private static boolean isEmpty(final Set<Subscriber> subscribers) {
+        return subscribers == null || subscribers.isEmpty();
+    }
+
+    private final class Subscriber {
+
+        private final String topic;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(final String topic, final SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+        }
+
+        private void offer(final Set<DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(frame)) {
+                droppedCount.increment();
+                close();
+            }
+            schedule();
+        }
+
+        /**
+         * Unsubscribes right away; the emitter itself is completed by the sender, which may be blocked on a slow
+         * connection.
+         */
+        private void close() {
+            closed = true;
+            buffer.clear();
+            topics.computeIfPresent(topic, (key, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+
+        private void closeNow() {
+            close();
+            complete();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (final RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> frame;
+                while (!closed && (frame = buffer.poll()) != null) {
+                    emitter.send(frame);
+                }
+            } catch (final IOException | IllegalStateException e) {
+                // the client went away or the emitter already completed
+                close();
+            } finally {
+                scheduled.set(false);
+                if (closed) {
+                    complete();
+                } else if (!buffer.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                try {
+                    emitter.complete();
+                } catch (final RuntimeException ignored) {
+                    // already completed by the container
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.lkm.it_academy_22.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Durable journal of the score changes the {@link ScorePipeline} has not applied yet. Both methods join the
+ * caller's transaction.
+ */
+@Component
+public class PendingScoreStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PendingScoreStore(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void append(final ScoreDeltas scoreDeltas) {
+        jdbcTemplate.batchUpdate("INSERT INTO pending_scores (tournament_id, tournament_startup_id, delta) VALUES (?, ?, ?)",
+                scoreDeltas.values().stream()
+                        .map(delta -> new Object[] {delta.tournamentId(), delta.tournamentStartupId(), delta.delta()})
+                        .toList());
+    }
+
+    /**
+     * Removes every journaled change and returns them coalesced. The rows are locked first, so concurrent callers
+     * never take the same change twice.
+     */
+    public ScoreDeltas takeAll() {
+        final ScoreDeltas scoreDeltas = new ScoreDeltas();
+        final List<Object[]> taken = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, tournament_id, tournament_startup_id, delta FROM pending_scores FOR UPDATE",
+                resultSet -> {
+                    taken.add(new Object[] {resultSet.getLong("id")});
+                    scoreDeltas.add(resultSet.getInt("tournament_id"), resultSet.getInt("tournament_startup_id"),
+                            resultSet.getInt("delta"));
+                });
+        jdbcTemplate.batchUpdate("DELETE FROM pending_scores WHERE id = ?", taken);
+        return scoreDeltas;
+    }
+
+}
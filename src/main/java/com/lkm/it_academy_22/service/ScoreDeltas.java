@@ -0,0 +1,45 @@
+package com.lkm.it_academy_22.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Score changes coalesced per tournament startup, each remembering the startup's tournament. Changes that cancel
+ * out are dropped.
+ */
+public class ScoreDeltas {
+
+    private final Map<Integer, ScoreDelta> deltas = new LinkedHashMap<>();
+
+    public void add(final Integer tournamentId, final Integer tournamentStartupId, final int delta) {
+        deltas.merge(tournamentStartupId, new ScoreDelta(tournamentId, tournamentStartupId, delta),
+                (pending, added) -> pending.delta() + added.delta() == 0 ? null
+                        : new ScoreDelta(tournamentId, tournamentStartupId, pending.delta() + added.delta()));
+    }
+
+    public void addAll(final ScoreDeltas other) {
+        other.values().forEach(delta -> add(delta.tournamentId(), delta.tournamentStartupId(), delta.delta()));
+    }
+
+    public Collection<ScoreDelta> values() {
+        return deltas.values();
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    public int size() {
+        return deltas.size();
+    }
+
+    public void clear() {
+        deltas.clear();
+    }
+
+    public record ScoreDelta(Integer tournamentId, Integer tournamentStartupId, int delta) {
+    }
+
+}
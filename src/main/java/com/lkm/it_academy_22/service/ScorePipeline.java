@@ -0,0 +1,297 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.BattleEventDTO;
+import com.lkm.it_academy_22.model.ScorePipelineStatisticsDTO;
+import com.lkm.it_academy_22.util.exceptions.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+/**
+ * Optional write-behind ingestion for battle events. Requests put their event into a bounded ring buffer and wait
+ * until a single writer thread has committed it as part of a batch, so a response still means the event is stored.
+ * Score changes are journaled in the same transaction as their events and applied to the scores as one batched
+ * UPDATE per flush window; until then, scores read from the database lag behind the stored events by at most that
+ * window. Changes a crash leaves in the journal are applied when the application next starts.
+ */
+@Component
+public class ScorePipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ScorePipeline.class);
+    private static final String ADD_TO_SCORE =
+            "UPDATE tournament_startups SET current_score = COALESCE(current_score, 0) + ? WHERE id = ?";
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000;
+    private static final long SUBMIT_TIMEOUT_MILLIS = 30_000;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushWindowNanos;
+    private final long retryAfterSeconds;
+    private final BattleEventService battleEventService;
+    private final StartupStandingsService startupStandingsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PendingScoreStore pendingScoreStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Submission> buffer;
+
+    private final ScoreDeltas pendingScores = new ScoreDeltas();
+    private volatile int pendingScoreUpdates;
+    private volatile boolean accepting;
+    private volatile boolean closed;
+    private Thread writer;
+
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder eventBatchCount = new LongAdder();
+    private final AtomicLong scoreFlushCount = new AtomicLong();
+    private final LongAdder scoreFlushFailureCount = new LongAdder();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+
+    public ScorePipeline(@Value("${app.score-pipeline.enabled:false}") final boolean enabled,
+            @Value("${app.score-pipeline.capacity:4096}") final int capacity,
+            @Value("${app.score-pipeline.batch-size:256}") final int batchSize,
+            @Value("${app.score-pipeline.flush-window-ms:200}") final long flushWindowMillis,
+            @Value("${app.score-pipeline.retry-after-seconds:1}") final long retryAfterSeconds,
+            final BattleEventService battleEventService,
+            final StartupStandingsService startupStandingsService,
+            final ApplicationEventPublisher eventPublisher,
+            final PendingScoreStore pendingScoreStore,
+            final JdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager) {
+        if (capacity < 1 || batchSize < 1 || flushWindowMillis < 0) {
+            throw new IllegalArgumentException("Score pipeline needs a positive capacity and batch size and a non-negative flush window.");
+        }
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushWindowNanos = TimeUnit.MILLISECONDS.toNanos(flushWindowMillis);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.battleEventService = battleEventService;
+        this.startupStandingsService = startupStandingsService;
+        this.eventPublisher = eventPublisher;
+        this.pendingScoreStore = pendingScoreStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            accepting = true;
+            writer = Thread.ofPlatform().name("score-pipeline").start(this::run);
+        } else {
+            flushScores();
+        }
+    }
+
+    /**
+     * Stops taking events, then waits for the writer to store everything buffered and flush the pending scores.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        accepting = false;
+        if (writer != null) {
+            writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the event and returns its id once it is committed. Throws {@link ServiceUnavailableException} when the
+     * buffer is full, the pipeline is shutting down or the event was not picked up in time, and
+     * {@link IllegalStateException} when it was picked up but not acknowledged in time, so it may still be stored.
+     */
+    public Integer submit(final BattleEventDTO battleEventDTO) {
+        final Submission submission = new Submission(battleEventDTO, new CompletableFuture<>());
+        if (!accepting || !buffer.offer(submission)) {
+            rejectedCount.increment();
+            throw new ServiceUnavailableException("Too many battle events in flight, retry later.", retryAfterSeconds);
+        }
+        if (closed && buffer.remove(submission)) {
+            // offered after the writer's last look at the buffer
+            rejectedCount.increment();
+            throw new ServiceUnavailableException("Too many battle events in flight, retry later.", retryAfterSeconds);
+        }
+        acceptedCount.increment();
+        try {
+            return submission.result().orTimeout(SUBMIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                if (buffer.remove(submission)) {
+                    throw new ServiceUnavailableException("Battle event not stored in time, retry later.", retryAfterSeconds);
+                }
+                throw new IllegalStateException("Battle event not acknowledged in time, it may still be stored.");
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public ScorePipelineStatisticsDTO getStatistics() {
+        final long flushes = scoreFlushCount.get();
+        return new ScorePipelineStatisticsDTO(enabled, buffer.size(), buffer.size() + buffer.remainingCapacity(),
+                pendingScoreUpdates, acceptedCount.sum(), rejectedCount.sum(), eventBatchCount.sum(), flushes,
+                scoreFlushFailureCount.sum(),
+                TimeUnit.NANOSECONDS.toMillis(lastFlushNanos), TimeUnit.NANOSECONDS.toMillis(maxFlushNanos),
+                flushes == 0 ? 0 : totalFlushNanos.get() / 1_000_000.0 / flushes);
+    }
+
+    private void run() {
+        final List<Submission> batch = new ArrayList<>(batchSize);
+        try {
+            // a previous run may have stopped between storing events and applying their scores
+            flushScores();
+            long flushDue = 0;
+            while (accepting || !buffer.isEmpty()) {
+                // bounded, so a stop is noticed within the idle poll even during a long flush window
+                final long wait = pendingScores.isEmpty() ? IDLE_POLL_NANOS
+                        : Math.min(flushDue - System.nanoTime(), IDLE_POLL_NANOS);
+                Submission first = null;
+                try {
+                    first = buffer.poll(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+                } catch (final InterruptedException e) {
+                    accepting = false;
+                }
+                if (first != null) {
+                    final boolean hadPendingScores = !pendingScores.isEmpty();
+                    batch.add(first);
+                    buffer.drainTo(batch, batchSize - 1);
+                    try {
+                        persist(batch);
+                    } catch (final RuntimeException e) {
+                        batch.forEach(submission -> submission.result().completeExceptionally(e));
+                    }
+                    batch.clear();
+                    if (!hadPendingScores) {
+                        flushDue = System.nanoTime() + flushWindowNanos;
+                    }
+                }
+                if (!pendingScores.isEmpty() && System.nanoTime() - flushDue >= 0) {
+                    flushScores();
+                    flushDue = System.nanoTime() + flushWindowNanos;
+                }
+            }
+            flushScores();
+        } finally {
+            closed = true;
+            // nobody is left to store these: fail them instead of leaving their callers waiting
+            final ServiceUnavailableException stopped = new ServiceUnavailableException(
+                    "Battle event pipeline stopped, retry later.", retryAfterSeconds);
+            batch.forEach(submission -> submission.result().completeExceptionally(stopped));
+            Submission submission;
+            while ((submission = buffer.poll()) != null) {
+                submission.result().completeExceptionally(stopped);
+            }
+        }
+    }
+
+    private void persist(final List<Submission> batch) {
+        eventBatchCount.increment();
+        final ScoreDeltas batchScores = new ScoreDeltas();
+        try {
+            final List<Integer> createdIds = store(batch.stream().map(Submission::battleEvent).toList(), batchScores);
+            pendingScores.addAll(batchScores);
+            pendingScoreUpdates = pendingScores.size();
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(createdIds.get(i));
+            }
+        } catch (final RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // one invalid event must not fail the rest of its batch: store them one by one instead
+            for (final Submission submission : batch) {
+                final ScoreDeltas eventScores = new ScoreDeltas();
+                try {
+                    final Integer createdId = store(List.of(submission.battleEvent()), eventScores).get(0);
+                    pendingScores.addAll(eventScores);
+                    pendingScoreUpdates = pendingScores.size();
+                    submission.result().complete(createdId);
+                } catch (final RuntimeException eventFailure) {
+                    submission.result().completeExceptionally(eventFailure);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores the events and journals their score changes in one transaction.
+     */
+    private List<Integer> store(final List<BattleEventDTO> battleEvents, final ScoreDeltas scoreDeltas) {
+        return transactionTemplate.execute(status -> {
+            final List<Integer> createdIds = battleEventService.createAllDeferringScores(battleEvents, scoreDeltas);
+            pendingScoreStore.append(scoreDeltas);
+            return createdIds;
+        });
+    }
+
+    /**
+     * Applies everything journaled, which includes changes left behind by an earlier run. Failures leave the
+     * journal untouched for the next window.
+     */
+    private void flushScores() {
+        final long start = System.nanoTime();
+        final boolean flushed;
+        try {
+            flushed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                final ScoreDeltas journaled = pendingScoreStore.takeAll();
+                if (journaled.isEmpty()) {
+                    return false;
+                }
+                jdbcTemplate.batchUpdate(ADD_TO_SCORE, journaled.values().stream()
+                        .map(delta -> new Object[] {delta.delta(), delta.tournamentStartupId()})
+                        .toList());
+                startupStandingsService.addScores(journaled);
+                eventPublisher.publishEvent(new DomainEvents.ScoresChanged(null, journaled, true));
+                return true;
+            }));
+        } catch (final RuntimeException e) {
+            scoreFlushFailureCount.increment();
+            log.error("Applying journaled scores failed, retrying in the next window", e);
+            return;
+        }
+        pendingScores.clear();
+        pendingScoreUpdates = 0;
+        if (!flushed) {
+            return;
+        }
+
+        final long elapsed = System.nanoTime() - start;
+        scoreFlushCount.incrementAndGet();
+        totalFlushNanos.addAndGet(elapsed);
+        lastFlushNanos = elapsed;
+        maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+    }
+
+    private record Submission(BattleEventDTO battleEvent, CompletableFuture<Integer> result) {
+    }
+
+}
@@ -1,56 +1,64 @@
 package com.lkm.it_academy_22.service;
 
 import com.lkm.it_academy_22.domain.Startup;
-import com.lkm.it_academy_22.domain.Tournament;
-import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.EntityReference;
 import com.lkm.it_academy_22.model.StartupDTO;
 import com.lkm.it_academy_22.repos.StartupRepository;
-import com.lkm.it_academy_22.repos.TournamentRepository;
-import com.lkm.it_academy_22.repos.TournamentStartupRepository;
 import com.lkm.it_academy_22.util.exceptions.NotFoundException;
 import com.lkm.it_academy_22.util.ReferencedWarning;
+import com.lkm.it_academy_22.util.SparseFields;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
-import org.springframework.data.domain.Sort;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
 public class StartupService {
 
     private final StartupRepository startupRepository;
-    private final TournamentRepository tournamentRepository;
-    private final TournamentStartupRepository tournamentStartupRepository;
+    private final StartupStandingsService startupStandingsService;
 
     public StartupService(final StartupRepository startupRepository,
-            final TournamentRepository tournamentRepository,
-            final TournamentStartupRepository tournamentStartupRepository) {
+            final StartupStandingsService startupStandingsService) {
         this.startupRepository = startupRepository;
-        this.tournamentRepository = tournamentRepository;
-        this.tournamentStartupRepository = tournamentStartupRepository;
+        this.startupStandingsService = startupStandingsService;
     }
 
-    public List<StartupDTO> findAll() {
-        final List<Startup> startups = startupRepository.findAll(Sort.by("id"));
-        return startups.stream()
-                .map(startup -> mapToDTO(startup, new StartupDTO()))
-                .toList();
+    public CursorPage<StartupDTO> findAll(final Integer after, final int limit) {
+        return findAll(after, limit, null);
+    }
+
+    /**
+     * Reads the slogan and description columns only when one of them is among the requested fields, or when
+     * {@code fields} is {@code null}.
+     */
+    public CursorPage<StartupDTO> findAll(final Integer after, final int limit, final Set<String> fields) {
+        final List<StartupDTO> startups = SparseFields.includesAny(fields, "slogan", "description")
+                ? startupRepository.findDTOPage(CursorPage.startAfter(after), Limit.of(limit + 1))
+                : startupRepository.findSummaryDTOPage(CursorPage.startAfter(after), Limit.of(limit + 1));
+        return CursorPage.of(startups, limit, StartupDTO::getId);
     }
 
     public StartupDTO get(final Integer id) {
-        return startupRepository.findById(id)
-                .map(startup -> mapToDTO(startup, new StartupDTO()))
+        return startupRepository.findDTOById(id)
                 .orElseThrow(NotFoundException::new);
     }
 
+    @Transactional
     public Integer create(final StartupDTO startupDTO) {
         final Startup startup = new Startup();
         mapToEntity(startupDTO, startup);
         startup.setCreatedAt(OffsetDateTime.of(LocalDateTime.now(), ZoneOffset.UTC));
-        return startupRepository.save(startup).getId();
+        final Integer createdId = startupRepository.saveAndFlush(startup).getId();
+        startupStandingsService.create(createdId);
+        return createdId;
     }
 
     public void update(final Integer id, final StartupDTO startupDTO) {
@@ -64,16 +72,6 @@ public class StartupService {
         startupRepository.deleteById(id);
     }
 
-    private StartupDTO mapToDTO(final Startup startup, final StartupDTO startupDTO) {
-        startupDTO.setId(startup.getId());
-        startupDTO.setName(startup.getName());
-        startupDTO.setSlogan(startup.getSlogan());
-        startupDTO.setFoundedYear(startup.getFoundedYear());
-        startupDTO.setDescription(startup.getDescription());
-        startupDTO.setCreatedAt(startup.getCreatedAt());
-        return startupDTO;
-    }
-
     private Startup mapToEntity(final StartupDTO startupDTO, final Startup startup) {
         startup.setName(startupDTO.getName());
         startup.setSlogan(startupDTO.getSlogan());
@@ -83,22 +81,9 @@ public class StartupService {
     }
 
     public ReferencedWarning getReferencedWarning(final Integer id) {
-        final ReferencedWarning referencedWarning = new ReferencedWarning();
-        final Startup startup = startupRepository.findById(id)
+        final EntityReference reference = startupRepository.findReference(id)
                 .orElseThrow(NotFoundException::new);
-        final Tournament championTournament = tournamentRepository.findFirstByChampion(startup);
-        if (championTournament != null) {
-            referencedWarning.setKey("startup.tournament.champion.referenced");
-            referencedWarning.addParam(championTournament.getId());
-            return referencedWarning;
-        }
-        final TournamentStartup startupTournamentStartup = tournamentStartupRepository.findFirstByStartup(startup);
-        if (startupTournamentStartup != null) {
-            referencedWarning.setKey("startup.tournamentStartup.startup.referenced");
-            referencedWarning.addParam(startupTournamentStartup.getId());
-            return referencedWarning;
-        }
-        return null;
+        return ReferencedWarning.of(reference);
     }
 
 }
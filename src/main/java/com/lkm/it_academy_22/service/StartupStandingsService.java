@@ -0,0 +1,171 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.StartupStandingDTO;
+import com.lkm.it_academy_22.repos.StartupRepository;
+import com.lkm.it_academy_22.repos.StartupStandingRepository;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+/**
+ * Global ranking of startups across all tournaments by titles won, then cumulative score. The standings table is
+ * adjusted in the same transaction as every change it is derived from, so a page is a range scan over its ranking
+ * index rather than an aggregation over every tournament. {@link #rebuild()} recomputes it from scratch to repair
+ * drift from writes made around the services (imports, manual SQL), a chunk of startups per short transaction.
+ * <p>
+ * Statements Hibernate cannot map to the standings entity run through JDBC: as native queries they would not
+ * declare the tables they touch, and Hibernate would clear every second-level cache region after each of them.
+ */
+@Service
+public class StartupStandingsService {
+
+    private static final String ADD_SCORE_BY_TOURNAMENT_STARTUP = "UPDATE startup_standings " +
+            "SET cumulative_score = cumulative_score + ? " +
+            "WHERE startup_id = (SELECT startup_id FROM tournament_startups WHERE id = ?)";
+    private static final String ELIMINATE_BY_TOURNAMENT_STARTUP = "UPDATE startup_standings " +
+            "SET eliminations = eliminations + 1 " +
+            "WHERE startup_id = (SELECT startup_id FROM tournament_startups WHERE id = ?)";
+    private static final String INSERT = "INSERT INTO startup_standings (startup_id) VALUES (?)";
+    private static final String RECORD_BATTLE = "UPDATE startup_standings SET " +
+            "cumulative_score = cumulative_score + CASE WHEN startup_id = " +
+            "(SELECT startup_id FROM tournament_startups WHERE id = ?) THEN ? ELSE 0 END, " +
+            "titles_won = titles_won + CASE WHEN startup_id = " +
+            "(SELECT startup_id FROM tournament_startups WHERE id = ?) THEN ? ELSE 0 END, " +
+            "eliminations = eliminations + CASE WHEN startup_id = " +
+            "(SELECT startup_id FROM tournament_startups WHERE id = ?) THEN 1 ELSE 0 END " +
+            "WHERE startup_id IN (SELECT startup_id FROM tournament_startups WHERE id IN (?, ?))";
+    private static final String INSERT_MISSING = "INSERT INTO startup_standings (startup_id) SELECT s.id FROM startups s " +
+            "WHERE s.id > ? AND s.id <= ? " +
+            "AND NOT EXISTS (SELECT 1 FROM startup_standings ss WHERE ss.startup_id = s.id)";
+    private static final String RECOMPUTE = "UPDATE startup_standings SET " +
+            "titles_won = (SELECT COUNT(*) FROM tournaments t WHERE t.champion_id = startup_standings.startup_id), " +
+            "tournaments_entered = (SELECT COUNT(*) FROM tournament_startups ts " +
+            "WHERE ts.startup_id = startup_standings.startup_id), " +
+            "cumulative_score = (SELECT COALESCE(SUM(ts.current_score), 0) FROM tournament_startups ts " +
+            "WHERE ts.startup_id = startup_standings.startup_id), " +
+            "eliminations = (SELECT COUNT(*) FROM tournament_startups ts " +
+            "WHERE ts.startup_id = startup_standings.startup_id AND ts.eliminated = TRUE) " +
+            "WHERE startup_id > ? AND startup_id <= ?";
+
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    private final StartupStandingRepository startupStandingRepository;
+    private final StartupRepository startupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public StartupStandingsService(final StartupStandingRepository startupStandingRepository,
+            final StartupRepository startupRepository,
+            final JdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager) {
+        this.startupStandingRepository = startupStandingRepository;
+        this.startupRepository = startupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * One page of the ranking. The cursor is the id of the last startup on the previous page; its current
+     * standing is the key the next page starts after.
+     */
+    public CursorPage<StartupStandingDTO> findAll(final Integer after, final int limit) {
+        final List<StartupStandingDTO> standings;
+        if (after == null) {
+            standings = startupStandingRepository.findFirstDTOPage(Limit.of(limit + 1));
+        } else {
+            final StartupStandingDTO cursor = startupStandingRepository.findDTOByStartupId(after)
+                    .orElseThrow(() -> new NotFoundException("Standing not found for startup: " + after));
+            standings = startupStandingRepository.findDTOPageAfter(cursor.getTitlesWon(),
+                    cursor.getCumulativeScore(), cursor.getStartup(), Limit.of(limit + 1));
+        }
+        return CursorPage.of(standings, limit, StartupStandingDTO::getStartup);
+    }
+
+    /**
+     * Adds the empty standing of a startup, which must already be flushed.
+     */
+    public void create(final Integer startupId) {
+        jdbcTemplate.update(INSERT, startupId);
+    }
+
+    /**
+     * Counts a tournament entry with its score and elimination towards the startup, or takes them back again
+     * with {@code sign} -1 when the entry is removed or replaced.
+     */
+    public void adjustEntry(final Integer startupId, final Integer currentScore, final Boolean eliminated,
+            final int sign) {
+        if (startupId != null) {
+            startupStandingRepository.adjust(startupId, 0, sign,
+                    sign * (currentScore == null ? 0L : currentScore),
+                    Boolean.TRUE.equals(eliminated) ? sign : 0);
+        }
+    }
+
+    public void addScore(final Integer tournamentStartupId, final int delta) {
+        if (delta != 0) {
+            startupStandingRepository.adjustByTournamentStartup(tournamentStartupId, delta, 0);
+        }
+    }
+
+    public void addScores(final ScoreDeltas scoreDeltas) {
+        if (!scoreDeltas.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_SCORE_BY_TOURNAMENT_STARTUP, scoreDeltas.values().stream()
+                    .map(delta -> new Object[] {delta.delta(), delta.tournamentStartupId()})
+                    .toList());
+        }
+    }
+
+    /**
+     * Books a decided battle given the tournament startup ids of both sides: the winner's points, a title when
+     * the battle was the final, and the loser's elimination.
+     */
+    public void recordBattle(final Integer winnerId, final Integer loserId, final int score, final boolean title) {
+        jdbcTemplate.update(RECORD_BATTLE, winnerId, score, winnerId, title ? 1 : 0, loserId, winnerId, loserId);
+    }
+
+    public void eliminateAll(final Collection<Integer> tournamentStartupIds) {
+        if (!tournamentStartupIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(ELIMINATE_BY_TOURNAMENT_STARTUP, tournamentStartupIds.stream()
+                    .map(id -> new Object[] {id})
+                    .toList());
+        }
+    }
+
+    public void addTitle(final Integer startupId, final int delta) {
+        if (startupId != null && delta != 0) {
+            startupStandingRepository.adjust(startupId, delta, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Recomputes the standings {@value #REBUILD_CHUNK_SIZE} startups at a time, each chunk in its own transaction,
+     * so writers only ever wait for the chunk holding their startup.
+     */
+    @Scheduled(cron = "${app.standings.rebuild-cron:-}")
+    public void rebuild() {
+        Integer after = Integer.MIN_VALUE;
+        List<Integer> chunk;
+        do {
+            chunk = startupRepository.findIdsAfter(after, Limit.of(REBUILD_CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                return;
+            }
+            final Integer from = after;
+            final Integer upTo = chunk.get(chunk.size() - 1);
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(INSERT_MISSING, from, upTo);
+                jdbcTemplate.update(RECOMPUTE, from, upTo);
+            });
+            after = upTo;
+        } while (chunk.size() == REBUILD_CHUNK_SIZE);
+    }
+
+}
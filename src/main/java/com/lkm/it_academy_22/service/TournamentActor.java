@@ -0,0 +1,412 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BattleResultDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+
+/**
+ * Single writer for one tournament. Commands queue up in a mailbox drained by one virtual thread, which applies
+ * them to the in-memory state, writes everything the batch changed in one transaction and only then publishes a
+ * new snapshot, followed by the write's events and the callers' futures. Nothing but the mailbox thread touches the
+ * mutable state, which is loaded on the mailbox thread before the first command runs.
+ * <p>
+ * Battle results and bracket slots are only ever written here. Score changes from battle events are written by
+ * their own transactions and merely refreshed into the state. Should a batch still find one of its battles
+ * completed in the database, nothing of it is written: the actor reloads and replays the batch once, which
+ * rejects the results that were decided elsewhere.
+ */
+public class TournamentActor {
+
+    private static final int MAX_BATCH = 256;
+
+    private final Integer tournamentId;
+    private final TournamentStateStore stateStore;
+    private final Consumer<TournamentActor> onStop;
+    private final ExecutorService mailbox;
+    private final Queue<Command<?>> commands = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private volatile TournamentSnapshot snapshot;
+    private volatile boolean stopped;
+    private volatile RuntimeException stopCause;
+
+    private final Map<Integer, TournamentStartupDTO> startups = new LinkedHashMap<>();
+    private final Map<Integer, BattleDTO> battles = new LinkedHashMap<>();
+    private final Map<Integer, BattleDTO> battlesByNumber = new HashMap<>();
+    private final List<Command<?>> applied = new ArrayList<>();
+    private final List<TournamentStateStore.Changes> written = new ArrayList<>();
+    private TournamentStateStore.Changes changes = new TournamentStateStore.Changes();
+    private boolean loaded;
+    private boolean scoresStale;
+    private boolean decided;
+    private long version;
+
+    public TournamentActor(final Integer tournamentId, final TournamentStateStore stateStore,
+            final Consumer<TournamentActor> onStop) {
+        this.tournamentId = tournamentId;
+        this.stateStore = stateStore;
+        this.onStop = onStop;
+        this.mailbox = Executors.newSingleThreadExecutor(
+                Thread.ofVirtual().name("tournament-" + tournamentId + "-actor").factory());
+    }
+
+    public Integer getTournamentId() {
+        return tournamentId;
+    }
+
+    /**
+     * Latest published state, or null until the first load has finished.
+     */
+    public TournamentSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Replaces the in-memory state with the database's once everything queued before it has been written.
+     */
+    public CompletableFuture<Void> reload() {
+        return enqueue(new Command<>(null));
+    }
+
+    /**
+     * Rereads the scores once everything queued before it has been written, after score changes were committed
+     * outside the actor. Refreshes queued back to back are served by one read.
+     */
+    public CompletableFuture<Void> refreshScores() {
+        return enqueue(new Command<>(() -> {
+            scoresStale = true;
+            return null;
+        }));
+    }
+
+    public CompletableFuture<BattleDTO> recordResult(final Integer battleId, final BattleResultDTO battleResultDTO) {
+        return enqueue(new Command<>(() -> {
+            if (scoresStale && battleResultDTO.getWinner() == null) {
+                // a shark fight compares scores, so it must see every score committed before it
+                settle();
+            }
+            final BattleDTO battle = battles.get(battleId);
+            if (battle == null) {
+                throw new NotFoundException("battle not found");
+            }
+            if (Boolean.TRUE.equals(battle.getCompleted())) {
+                throw new IllegalStateException("Battle already completed: " + battleId);
+            }
+            final Integer startup1Id = battle.getStartup1();
+            final Integer startup2Id = battle.getStartup2();
+            if (startup1Id == null || startup2Id == null) {
+                throw new IllegalStateException("Battle must have both startups defined.");
+            }
+
+            final boolean sharkFight = battleResultDTO.getWinner() == null && Boolean.TRUE.equals(battleResultDTO.getSharkFight());
+            final Integer winnerId;
+            if (battleResultDTO.getWinner() != null) {
+                winnerId = battleResultDTO.getWinner();
+                if (!winnerId.equals(startup1Id) && !winnerId.equals(startup2Id)) {
+                    throw new IllegalArgumentException("Winner ID does not match either of the startups in the battle.");
+                }
+            } else if (sharkFight) {
+                if (!Objects.equals(requireStartup(startup1Id).getCurrentScore(), requireStartup(startup2Id).getCurrentScore())) {
+                    throw new IllegalStateException("Shark Fight was expected, but scores are not equal.");
+                }
+                winnerId = ThreadLocalRandom.current().nextBoolean() ? startup1Id : startup2Id;
+            } else {
+                throw new IllegalArgumentException("Either a winner or a shark fight is required.");
+            }
+            final TournamentStartupDTO winner = requireStartup(winnerId);
+            final TournamentStartupDTO loser = requireStartup(winnerId.equals(startup1Id) ? startup2Id : startup1Id);
+
+            final int bracketSize = BracketIndex.bracketSize(startups.size());
+            final boolean isFinal = BracketIndex.isFinalBattle(bracketSize, battle.getBattleNumber());
+            final BattleDTO nextBattle = isFinal ? battle
+                    : battlesByNumber.get(BracketIndex.parentBattleNumber(bracketSize, battle.getBattleNumber()));
+            if (nextBattle == null) {
+                throw new NotFoundException("Parent battle not found for battle number: " + battle.getBattleNumber());
+            }
+
+            // everything is validated above, so a rejected command leaves the state untouched
+            battle.setWinner(winnerId);
+            battle.setSharkFight(sharkFight);
+            battle.setCompleted(true);
+            changes.completedBattles.put(battleId, battle);
+            if (sharkFight) {
+                addToScore(winner, 2);
+            }
+            if (isFinal) {
+                changes.championStartupId = winner.getStartup();
+                decided = true;
+            } else if (BracketIndex.advancesToStartup1(bracketSize, battle.getBattleNumber())) {
+                nextBattle.setStartup1(winnerId);
+                changes.startup1Slots.put(nextBattle.getId(), winnerId);
+            } else {
+                nextBattle.setStartup2(winnerId);
+                changes.startup2Slots.put(nextBattle.getId(), winnerId);
+            }
+            loser.setEliminated(true);
+            changes.eliminated.add(loser.getId());
+            addToScore(winner, 30);
+            return copy(nextBattle);
+        }));
+    }
+
+    /**
+     * Stops accepting commands. Whatever is already queued is rejected rather than silently dropped.
+     */
+    public void stop() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        mailbox.shutdown();
+        onStop.accept(this);
+        if (!scheduled.get()) {
+            rejectQueued();
+        }
+    }
+
+    private <T> CompletableFuture<T> enqueue(final Command<T> command) {
+        if (stopped) {
+            command.reject();
+            return command.result;
+        }
+        commands.add(command);
+        schedule();
+        return command.result;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                mailbox.execute(this::drain);
+            } catch (final RejectedExecutionException e) {
+                scheduled.set(false);
+                rejectQueued();
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            if (!loaded && !load()) {
+                return;
+            }
+            Command<?> command;
+            int polled = 0;
+            while (polled++ < MAX_BATCH && !stopped && (command = commands.poll()) != null) {
+                if (command.action == null) {
+                    settle();
+                    if (load()) {
+                        command.result.complete(null);
+                    }
+                } else {
+                    command.apply();
+                }
+            }
+            settle();
+            if (decided) {
+                // the final is written, or was before this actor started: nothing left to serialize
+                stop();
+            }
+        } finally {
+            scheduled.set(false);
+            if (stopped) {
+                rejectQueued();
+            } else if (!commands.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Writes what the applied commands changed, refreshes stale scores and completes the commands.
+     */
+    private void settle() {
+        if (stopped) {
+            // the state could not be reloaded: nothing applied since may be written
+            applied.forEach(Command::reject);
+            applied.clear();
+            return;
+        }
+        if (!changes.isEmpty() && !write()) {
+            // replay once on the database's state: results decided elsewhere are rejected this time
+            final List<Command<?>> replayed = List.copyOf(applied);
+            applied.clear();
+            if (!load()) {
+                replayed.forEach(Command::reject);
+                return;
+            }
+            replayed.forEach(Command::apply);
+            if (!changes.isEmpty() && !write()) {
+                final RuntimeException conflict = new IllegalStateException(
+                        "Tournament changed concurrently: " + tournamentId);
+                applied.forEach(command -> command.result.completeExceptionally(conflict));
+                applied.clear();
+                load();
+                return;
+            }
+        }
+        if (scoresStale) {
+            try {
+                stateStore.loadScores(tournamentId).forEach((tournamentStartupId, score) -> {
+                    final TournamentStartupDTO startup = startups.get(tournamentStartupId);
+                    if (startup != null) {
+                        startup.setCurrentScore(score);
+                    }
+                });
+                scoresStale = false;
+            } catch (final RuntimeException e) {
+                // the scores stay marked stale and are reread with the next batch
+            }
+        }
+        if (!applied.isEmpty()) {
+            publish();
+        }
+        // only now, so the tournament version never moves ahead of the snapshot readers tag with it
+        written.forEach(stateStore::publishEvents);
+        written.clear();
+        applied.forEach(Command::complete);
+        applied.clear();
+    }
+
+    /**
+     * Writes the pending changes. Returns false when they conflicted with the database and nothing was written.
+     * A failed write fails the applied commands and reloads, so the database stays the fallback truth.
+     */
+    private boolean write() {
+        final TournamentStateStore.Changes pending = changes;
+        changes = new TournamentStateStore.Changes();
+        final Set<Integer> conflicts;
+        try {
+            conflicts = stateStore.write(tournamentId, pending);
+        } catch (final RuntimeException e) {
+            applied.forEach(command -> command.result.completeExceptionally(e));
+            applied.clear();
+            load();
+            return true;
+        }
+        if (!conflicts.isEmpty()) {
+            return false;
+        }
+        written.add(pending);
+        return true;
+    }
+
+    private boolean load() {
+        final TournamentStateStore.State state;
+        try {
+            state = stateStore.load(tournamentId);
+        } catch (final RuntimeException e) {
+            stopCause = e;
+            stop();
+            return false;
+        }
+        startups.clear();
+        battles.clear();
+        battlesByNumber.clear();
+        changes = new TournamentStateStore.Changes();
+        state.startups().forEach(startup -> startups.put(startup.getId(), startup));
+        for (final BattleDTO battle : state.battles()) {
+            battles.put(battle.getId(), battle);
+            if (battle.getBattleNumber() != null) {
+                battlesByNumber.put(battle.getBattleNumber(), battle);
+            }
+        }
+        loaded = true;
+        scoresStale = false;
+        decided = state.completed();
+        publish();
+        return true;
+    }
+
+    private void publish() {
+        snapshot = new TournamentSnapshot(++version,
+                startups.values().stream().map(TournamentActor::copy).toList(),
+                battles.values().stream().map(TournamentActor::copy).toList());
+    }
+
+    private void rejectQueued() {
+        Command<?> command;
+        while ((command = commands.poll()) != null) {
+            command.reject();
+        }
+    }
+
+    private void addToScore(final TournamentStartupDTO startup, final int delta) {
+        startup.setCurrentScore((startup.getCurrentScore() == null ? 0 : startup.getCurrentScore()) + delta);
+        changes.scoreDeltas.merge(startup.getId(), delta, Integer::sum);
+    }
+
+    private TournamentStartupDTO requireStartup(final Integer tournamentStartupId) {
+        final TournamentStartupDTO startup = startups.get(tournamentStartupId);
+        if (startup == null) {
+            throw new NotFoundException("TournamentStartup not found with ID: " + tournamentStartupId);
+        }
+        return startup;
+    }
+
+    private static TournamentStartupDTO copy(final TournamentStartupDTO startup) {
+        return new TournamentStartupDTO(startup.getId(), startup.getCurrentScore(), startup.getEliminated(),
+                startup.getTournament(), startup.getStartup(), startup.getCreatedAt());
+    }
+
+    private static BattleDTO copy(final BattleDTO battle) {
+        return new BattleDTO(battle.getId(), battle.getBattleNumber(), battle.getRoundNumber(), battle.getSharkFight(),
+                battle.getCompleted(), battle.getCreatedAt(), battle.getTournament(), battle.getStartup1(),
+                battle.getStartup2(), battle.getWinner());
+    }
+
+    private final class Command<T> {
+
+        private final Supplier<T> action;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+
+        private Command(final Supplier<T> action) {
+            this.action = action;
+        }
+
+        private void apply() {
+            try {
+                value = action.get();
+                applied.add(this);
+            } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void complete() {
+            result.complete(value);
+        }
+
+        private void reject() {
+            final RuntimeException cause = stopCause;
+            result.completeExceptionally(cause != null ? cause
+                    : new IllegalStateException("Tournament actor stopped: " + tournamentId));
+        }
+
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BattleResultDTO;
+import com.lkm.it_academy_22.repos.BattleRepository;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+
+/**
+ * Optional execution mode in which every tournament being played is owned by a {@link TournamentActor}, the only
+ * writer of its results and bracket. Reads of the tournament's startups and battles are served from the actor's
+ * last published snapshot without touching the database. The regular services refuse to change the battles or
+ * entrants of an owned tournament; battle events still add their scores in their own transaction, and the actor
+ * rereads the scores once they commit. An actor stops, and releases the tournament, once the final is decided.
+ * <p>
+ * Callers waiting on an actor must not hold a transaction, otherwise a full connection pool could starve the
+ * actor's own write.
+ */
+@Service
+public class TournamentActorService {
+
+    private final boolean enabled;
+    private final TournamentStateStore stateStore;
+    private final BattleRepository battleRepository;
+    private final TournamentLocks tournamentLocks;
+
+    private final Map<Integer, TournamentActor> actors = new ConcurrentHashMap<>();
+
+    public TournamentActorService(@Value("${app.tournament-actors.enabled:false}") final boolean enabled,
+            final TournamentStateStore stateStore,
+            final BattleRepository battleRepository,
+            final TournamentLocks tournamentLocks) {
+        this.enabled = enabled;
+        this.stateStore = stateStore;
+        this.battleRepository = battleRepository;
+        this.tournamentLocks = tournamentLocks;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public BattleDTO recordResult(final Integer battleId, final BattleResultDTO battleResultDTO) {
+        final Integer tournamentId = battleRepository.findTournamentIdById(battleId)
+                .orElseThrow(() -> new NotFoundException("battle not found"));
+        return await(actorFor(tournamentId).recordResult(battleId, battleResultDTO));
+    }
+
+    /**
+     * Makes the running actors of tournaments whose scores battle events changed reread their scores. Tournaments
+     * without an actor are left alone; none is started for a score change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScoresChanged(final DomainEvents.ScoresChanged event) {
+        if (enabled && event.byBattleEvents()) {
+            event.deltas().stream()
+                    .map(ScoreDeltas.ScoreDelta::tournamentId)
+                    .distinct()
+                    .map(actors::get)
+                    .filter(Objects::nonNull)
+                    .forEach(TournamentActor::refreshScores);
+        }
+    }
+
+    /**
+     * Locks the tournaments for the rest of the current transaction and refuses a direct write to any of them
+     * while it is owned by an actor. The actor loads under the same lock, so one started meanwhile sees the write
+     * once it commits. Null ids are skipped.
+     */
+    public void lockUnowned(final Integer... tournamentIds) {
+        tournamentLocks.lockAllUntilCompletion(Arrays.asList(tournamentIds));
+        for (final Integer tournamentId : tournamentIds) {
+            checkNotOwned(tournamentId);
+        }
+    }
+
+    public Optional<TournamentSnapshot> findSnapshot(final Integer tournamentId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        final TournamentActor actor = actors.get(tournamentId);
+        return actor == null || actor.isStopped() ? Optional.empty() : Optional.ofNullable(actor.getSnapshot());
+    }
+
+    private void checkNotOwned(final Integer tournamentId) {
+        if (!enabled || tournamentId == null) {
+            return;
+        }
+        final TournamentActor actor = actors.get(tournamentId);
+        if (actor != null && !actor.isStopped()) {
+            throw new IllegalStateException("Tournament is being played and can only be changed by recording results: "
+                    + tournamentId);
+        }
+    }
+
+    @PreDestroy
+    public void stopAll() {
+        List.copyOf(actors.values()).forEach(TournamentActor::stop);
+    }
+
+    private TournamentActor actorFor(final Integer tournamentId) {
+        if (!enabled) {
+            throw new IllegalStateException("Tournament actors are disabled.");
+        }
+        // constructing an actor does no I/O: it loads the tournament on its own thread
+        TournamentActor actor;
+        while ((actor = actors.computeIfAbsent(tournamentId,
+                id -> new TournamentActor(id, stateStore, stopped -> actors.remove(id, stopped)))).isStopped()) {
+            // lost a race with a stopping actor: drop it and start a fresh one
+            actors.remove(tournamentId, actor);
+        }
+        return actor;
+    }
+
+    private static <T> T await(final CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.lkm.it_academy_22.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lkm.it_academy_22.model.TournamentDTO;
+import com.lkm.it_academy_22.repos.BattleEventRepository;
+import com.lkm.it_academy_22.repos.BattleRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+
+/**
+ * Read-only views of completed tournaments, serialized and gzipped once and kept in an LRU cache bounded by the
+ * total compressed size. A completed tournament only changes when an admin edits it, and every edit bumps the
+ * tournament's version, so an entry is reused for as long as the version it was built from is current.
+ */
+@Service
+public class TournamentArchiveService {
+
+    public static final String COMPLETED = "COMPLETED";
+
+    private final TournamentRepository tournamentRepository;
+    private final BattleRepository battleRepository;
+    private final TournamentStartupRepository tournamentStartupRepository;
+    private final BattleEventRepository battleEventRepository;
+    private final TournamentVersions tournamentVersions;
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final Map<Key, ArchivedView> archive = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public TournamentArchiveService(final TournamentRepository tournamentRepository,
+            final BattleRepository battleRepository,
+            final TournamentStartupRepository tournamentStartupRepository,
+            final BattleEventRepository battleEventRepository,
+            final TournamentVersions tournamentVersions,
+            final ObjectMapper objectMapper,
+            @Value("${app.tournament-archive.max-bytes:67108864}") final long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Tournament archive size must not be negative, got " + maxBytes + ".");
+        }
+        this.tournamentRepository = tournamentRepository;
+        this.battleRepository = battleRepository;
+        this.tournamentStartupRepository = tournamentStartupRepository;
+        this.battleEventRepository = battleEventRepository;
+        this.tournamentVersions = tournamentVersions;
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The view of a completed tournament, from the cache when its version is still current. Tournaments that
+     * are missing or not completed yet are not found.
+     */
+    public ArchivedView get(final Integer tournamentId, final View view) {
+        // taken before loading, so a change committed meanwhile leaves the entry outdated rather than wrong
+        final long version = tournamentVersions.getVersion(tournamentId);
+        final Key key = new Key(tournamentId, view);
+        final ArchivedView cached = find(key);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        final TournamentDTO tournament = tournamentRepository.findDTOById(tournamentId)
+                .filter(TournamentArchiveService::isCompleted)
+                .orElseThrow(() -> new NotFoundException("completed tournament not found"));
+        final ArchivedView archivedView = new ArchivedView(version, gzip(switch (view) {
+            case TOURNAMENT -> tournament;
+            case BRACKET -> battleRepository.findDTOsByTournamentId(tournamentId);
+            case PARTICIPANTS -> tournamentStartupRepository.findDTOsByTournamentId(tournamentId);
+            case EVENTS -> battleEventRepository.findDTOsByTournamentId(tournamentId);
+        }));
+        store(key, archivedView);
+        return archivedView;
+    }
+
+    public synchronized int getSize() {
+        return archive.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private static boolean isCompleted(final TournamentDTO tournament) {
+        return COMPLETED.equals(tournament.getStatus()) && tournament.getChampion() != null;
+    }
+
+    private synchronized ArchivedView find(final Key key) {
+        return archive.get(key);
+    }
+
+    private synchronized void store(final Key key, final ArchivedView archivedView) {
+        if (archivedView.size() > maxBytes) {
+            return;
+        }
+        final ArchivedView replaced = archive.put(key, archivedView);
+        totalBytes += archivedView.size() - (replaced == null ? 0 : replaced.size());
+        final Iterator<ArchivedView> leastRecentlyUsed = archive.values().iterator();
+        while (totalBytes > maxBytes) {
+            totalBytes -= leastRecentlyUsed.next().size();
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    private byte[] gzip(final Object payload) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, payload);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Tournament archive not serializable", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public enum View {
+        TOURNAMENT, BRACKET, PARTICIPANTS, EVENTS
+    }
+
+    /**
+     * Gzipped JSON of one view as of the given tournament version. The bytes are shared and must not be modified.
+     */
+    public record ArchivedView(long version, byte[] gzipped) {
+
+        public int size() {
+            return gzipped.length;
+        }
+
+        /**
+         * The plain JSON, for clients that do not accept gzip.
+         */
+        public byte[] json() {
+            try (InputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+                return gunzip.readAllBytes();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+    private record Key(Integer tournamentId, View view) {
+    }
+
+}
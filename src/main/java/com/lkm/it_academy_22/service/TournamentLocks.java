@@ -0,0 +1,80 @@
+package com.lkm.it_academy_22.service;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+/**
+ * Serializes bracket advancement within a tournament while letting different tournaments proceed in parallel.
+ * Tournaments are hashed onto a fixed set of lock stripes, so memory stays constant however many tournaments run;
+ * two tournaments sharing a stripe only ever wait for each other, never corrupt each other.
+ */
+@Component
+public class TournamentLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public TournamentLocks(@Value("${app.tournament-locks.stripes:64}") final int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("At least one lock stripe is required, got " + stripes + ".");
+        }
+        // rounded up to a power of two so a stripe is picked with a mask
+        this.stripes = new ReentrantLock[stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Locks the tournament for the rest of the current transaction. The lock is released after commit or
+     * rollback, so a competing advancement only starts once this one's writes are visible.
+     */
+    public void lockUntilCompletion(final Integer tournamentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Tournament locks must be taken inside a transaction.");
+        }
+        lock(stripes[stripeIndex(tournamentId)]);
+    }
+
+    /**
+     * Locks several tournaments for the rest of the current transaction. Their stripes are taken in a fixed order,
+     * so two transactions locking overlapping sets cannot deadlock. Null ids are skipped.
+     */
+    public void lockAllUntilCompletion(final Collection<Integer> tournamentIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Tournament locks must be taken inside a transaction.");
+        }
+        tournamentIds.stream()
+                .filter(Objects::nonNull)
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .forEach(index -> lock(stripes[index]));
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    private static void lock(final ReentrantLock lock) {
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private int stripeIndex(final Integer tournamentId) {
+        // spread sequential ids so neighbouring tournaments land on different stripes
+        final int hash = tournamentId.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+}
@@ -5,7 +5,13 @@ import com.lkm.it_academy_22.domain.Startup;
 import com.lkm.it_academy_22.domain.Tournament;
 import com.lkm.it_academy_22.domain.TournamentStartup;
 import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BracketDTO;
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.EntityReference;
 import com.lkm.it_academy_22.model.TournamentDTO;
+import com.lkm.it_academy_22.model.TournamentFullDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import com.lkm.it_academy_22.repos.BattleEventRepository;
 import com.lkm.it_academy_22.repos.BattleRepository;
 import com.lkm.it_academy_22.repos.StartupRepository;
 import com.lkm.it_academy_22.repos.TournamentRepository;
@@ -16,10 +22,18 @@ import com.lkm.it_academy_22.util.ReferencedWarning;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,73 +43,229 @@ public class TournamentService {
 
     private final TournamentRepository tournamentRepository;
     private final StartupRepository startupRepository;
-    private final TournamentStartupRepository tournamentStartupRepository;
     private final BattleRepository battleRepository;
-    private final BattleService battleService;
+    private final TournamentStartupRepository tournamentStartupRepository;
+    private final TournamentActorService tournamentActorService;
+    private final StartupStandingsService startupStandingsService;
+    private final BattleEventRepository battleEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TournamentService(final TournamentRepository tournamentRepository,
                              final StartupRepository startupRepository,
+                             final BattleRepository battleRepository,
                              final TournamentStartupRepository tournamentStartupRepository,
-                             final BattleRepository battleRepository, BattleService battleService) {
+                             final TournamentActorService tournamentActorService,
+                             final StartupStandingsService startupStandingsService,
+                             final BattleEventRepository battleEventRepository,
+                             final ApplicationEventPublisher eventPublisher) {
         this.tournamentRepository = tournamentRepository;
         this.startupRepository = startupRepository;
-        this.tournamentStartupRepository = tournamentStartupRepository;
         this.battleRepository = battleRepository;
-        this.battleService = battleService;
+        this.tournamentStartupRepository = tournamentStartupRepository;
+        this.tournamentActorService = tournamentActorService;
+        this.startupStandingsService = startupStandingsService;
+        this.battleEventRepository = battleEventRepository;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<TournamentDTO> findAll() {
-        final List<Tournament> tournaments = tournamentRepository.findAll(Sort.by("id"));
-        return tournaments.stream()
-                .map(tournament -> mapToDTO(tournament, new TournamentDTO()))
-                .toList();
+    public CursorPage<TournamentDTO> findAll(final Integer after, final int limit) {
+        final List<TournamentDTO> tournaments = tournamentRepository.findDTOPage(
+                CursorPage.startAfter(after), Limit.of(limit + 1));
+        return CursorPage.of(tournaments, limit, TournamentDTO::getId);
     }
 
     public TournamentDTO get(final Integer id) {
-        return tournamentRepository.findById(id)
-                .map(tournament -> mapToDTO(tournament, new TournamentDTO()))
+        return tournamentRepository.findDTOById(id)
                 .orElseThrow(NotFoundException::new);
     }
 
+    /**
+     * Everything a tournament page shows, in four queries however many entrants, battles and events there are.
+     * While the tournament is being played the bracket comes from its actor, like {@link #getBattlesByTournamentId}.
+     */
     @Transactional(readOnly = true)
+    public TournamentFullDTO getFull(final Integer id) {
+        final TournamentDTO tournament = get(id);
+        final List<BattleDTO> bracket = tournamentActorService.findSnapshot(id)
+                .map(TournamentSnapshot::battles)
+                .orElseGet(() -> battleRepository.findDTOsByTournamentId(id));
+        return new TournamentFullDTO(tournament,
+                tournamentStartupRepository.findParticipantsByTournamentId(id),
+                bracket,
+                battleEventRepository.findSummariesByTournamentId(id));
+    }
+
     public List<BattleDTO> getBattlesByTournamentId(Integer tournamentId) {
-        Tournament tournament = tournamentRepository.findById(tournamentId)
+        final Optional<TournamentSnapshot> snapshot = tournamentActorService.findSnapshot(tournamentId);
+        if (snapshot.isPresent()) {
+            return snapshot.get().battles();
+        }
+        final List<BattleDTO> battles = battleRepository.findDTOsByTournamentId(tournamentId);
+        if (battles.isEmpty() && !tournamentRepository.existsById(tournamentId)) {
+            throw new NotFoundException();
+        }
+        return battles;
+    }
+
+    /**
+     * Creates every battle of the tournament's bracket in one transaction, pairing the entrants in the first round
+     * and leaving later rounds empty until winners advance. Entrants keep their registration order unless they are
+     * seeded or shuffled. When the entrant count is not a power of two, the missing slots are byes and are resolved
+     * here, so later advancement works on a full bracket.
+     */
+    @Transactional
+    public List<BattleDTO> generateBracket(final Integer tournamentId, final BracketDTO bracketDTO) {
+        // held until commit, so a concurrent request only checks for battles once these are visible; the unique
+        // (tournament_id, battle_number) index catches the same race across instances
+        tournamentActorService.lockUnowned(tournamentId);
+        final Tournament tournament = tournamentRepository.findById(tournamentId)
                 .orElseThrow(NotFoundException::new);
+        if (battleRepository.existsByTournamentId(tournamentId)) {
+            throw new IllegalStateException("Bracket already generated for tournament: " + tournamentId);
+        }
+
+        final List<Integer> slots = arrangeEntrants(tournamentStartupRepository.findDTOsByTournamentId(tournamentId)
+                .stream()
+                .map(TournamentStartupDTO::getId)
+                .collect(Collectors.toCollection(ArrayList::new)), bracketDTO);
+        final int bracketSize = slots.size();
+        final int finalBattleNumber = BracketIndex.finalBattleNumber(bracketSize);
+
+        final OffsetDateTime createdAt = OffsetDateTime.of(LocalDateTime.now(), ZoneOffset.UTC);
+        final List<Battle> battles = new ArrayList<>(finalBattleNumber);
+        for (int battleNumber = 1; battleNumber <= finalBattleNumber; battleNumber++) {
+            final Battle battle = new Battle();
+            battle.setTournament(tournament);
+            battle.setBattleNumber(battleNumber);
+            battle.setRoundNumber(BracketIndex.roundNumber(bracketSize, battleNumber));
+            battle.setSharkFight(false);
+            battle.setCompleted(false);
+            battle.setCreatedAt(createdAt);
+            battles.add(battle);
+        }
+        for (int battleNumber = 1; battleNumber <= bracketSize / 2; battleNumber++) {
+            final Battle battle = battles.get(battleNumber - 1);
+            final Integer startup1 = slots.get(2 * battleNumber - 2);
+            final Integer startup2 = slots.get(2 * battleNumber - 1);
+            battle.setStartup1(startup1 == null ? null : tournamentStartupRepository.getReferenceById(startup1));
+            battle.setStartup2(startup2 == null ? null : tournamentStartupRepository.getReferenceById(startup2));
+            if (startup1 == null || startup2 == null) {
+                resolveBye(battles, bracketSize, battle);
+            }
+        }
+        battleRepository.saveAll(battles);
+        eventPublisher.publishEvent(new DomainEvents.TournamentChanged(tournamentId));
+
+        return battles.stream()
+                .map(battle -> new BattleDTO(battle.getId(), battle.getBattleNumber(), battle.getRoundNumber(),
+                        battle.getSharkFight(), battle.getCompleted(), battle.getCreatedAt(), tournamentId,
+                        battle.getStartup1() == null ? null : battle.getStartup1().getId(),
+                        battle.getStartup2() == null ? null : battle.getStartup2().getId(),
+                        battle.getWinner() == null ? null : battle.getWinner().getId()))
+                .toList();
+    }
+
+    /**
+     * A startup facing a bye wins without playing: the battle is completed and the startup moves into its parent
+     * battle before anything is written. No score is awarded.
+     */
+    private static void resolveBye(final List<Battle> battles, final int bracketSize, final Battle battle) {
+        final TournamentStartup winner = battle.getStartup1() != null ? battle.getStartup1() : battle.getStartup2();
+        battle.setWinner(winner);
+        battle.setCompleted(true);
+        final Battle parentBattle = battles.get(BracketIndex.parentBattleNumber(bracketSize, battle.getBattleNumber()) - 1);
+        if (BracketIndex.advancesToStartup1(bracketSize, battle.getBattleNumber())) {
+            parentBattle.setStartup1(winner);
+        } else {
+            parentBattle.setStartup2(winner);
+        }
+    }
+
+    /**
+     * Orders the entrants by first-round slot, padded with {@code null} byes up to the bracket size. Seeded
+     * entrants come first by rank and the rest follow, shuffled on request. With seeds or byes, ranks are spread
+     * so that the top two can only meet in the final and every bye goes to a different top-ranked entrant.
+     */
+    private static List<Integer> arrangeEntrants(final List<Integer> entrants, final BracketDTO bracketDTO) {
+        final List<Integer> seeds = bracketDTO == null || bracketDTO.getSeeds() == null
+                ? List.of() : bracketDTO.getSeeds();
+        if (seeds.size() != new HashSet<>(seeds).size() || !entrants.containsAll(seeds)) {
+            throw new IllegalArgumentException("Seeds must be distinct startups of the tournament.");
+        }
+        entrants.removeAll(seeds);
+        if (bracketDTO != null && Boolean.TRUE.equals(bracketDTO.getShuffle())) {
+            Collections.shuffle(entrants, bracketDTO.getRandomSeed() == null
+                    ? ThreadLocalRandom.current() : new Random(bracketDTO.getRandomSeed()));
+        }
+        final int bracketSize = BracketIndex.bracketSize(seeds.size() + entrants.size());
+        if (seeds.isEmpty() && entrants.size() == bracketSize) {
+            return entrants;
+        }
+
+        final List<Integer> ranked = new ArrayList<>(seeds);
+        ranked.addAll(entrants);
+        final List<Integer> arranged = new ArrayList<>(bracketSize);
+        for (final int rank : seedingOrder(bracketSize)) {
+            arranged.add(rank < ranked.size() ? ranked.get(rank) : null);
+        }
+        return arranged;
+    }
 
-        return tournament.getTournamentBattles().stream()
-                .map(battle -> battleService.mapToDTO(battle, new BattleDTO()))
-                .collect(Collectors.toList());
+    /**
+     * Standard bracket placement of zero-based ranks: {@code 0, n-1, ...} so that rank {@code r} faces
+     * {@code n-1-r} in the first round and the higher ranks stay apart until late rounds.
+     */
+    private static int[] seedingOrder(final int bracketSize) {
+        BracketIndex.finalBattleNumber(bracketSize);
+        int[] order = {0};
+        while (order.length < bracketSize) {
+            final int[] next = new int[order.length * 2];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = next.length - 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
     }
 
     public boolean existsById(Integer id) {
         return tournamentRepository.existsById(id);
     }
 
+    @Transactional
     public Integer create(final TournamentDTO tournamentDTO) {
         final Tournament tournament = new Tournament();
         mapToEntity(tournamentDTO, tournament);
         tournament.setCreatedAt(OffsetDateTime.of(LocalDateTime.now(), ZoneOffset.UTC));
-        return tournamentRepository.save(tournament).getId();
+        final Integer createdId = tournamentRepository.save(tournament).getId();
+        startupStandingsService.addTitle(tournamentDTO.getChampion(), 1);
+        eventPublisher.publishEvent(new DomainEvents.TournamentChanged(createdId));
+        return createdId;
     }
 
+    @Transactional
     public void update(final Integer id, final TournamentDTO tournamentDTO) {
         final Tournament tournament = tournamentRepository.findById(id)
                 .orElseThrow(NotFoundException::new);
+        final Integer previousChampionId = tournament.getChampion() == null ? null : tournament.getChampion().getId();
         mapToEntity(tournamentDTO, tournament);
         tournamentRepository.save(tournament);
+        eventPublisher.publishEvent(new DomainEvents.TournamentChanged(id));
+        if (!Objects.equals(previousChampionId, tournamentDTO.getChampion())) {
+            startupStandingsService.addTitle(previousChampionId, -1);
+            startupStandingsService.addTitle(tournamentDTO.getChampion(), 1);
+        }
     }
 
+    @Transactional
     public void delete(final Integer id) {
+        final Integer championId = tournamentRepository.findById(id)
+                .map(tournament -> tournament.getChampion() == null ? null : tournament.getChampion().getId())
+                .orElse(null);
         tournamentRepository.deleteById(id);
-    }
-
-    private TournamentDTO mapToDTO(final Tournament tournament, final TournamentDTO tournamentDTO) {
-        tournamentDTO.setId(tournament.getId());
-        tournamentDTO.setName(tournament.getName());
-        tournamentDTO.setCreatedAt(tournament.getCreatedAt());
-        tournamentDTO.setStatus(tournament.getStatus());
-        tournamentDTO.setChampion(tournament.getChampion() == null ? null : tournament.getChampion().getId());
-        return tournamentDTO;
+        startupStandingsService.addTitle(championId, -1);
+        eventPublisher.publishEvent(new DomainEvents.TournamentDeleted(id));
     }
 
     private Tournament mapToEntity(final TournamentDTO tournamentDTO, final Tournament tournament) {
@@ -108,22 +278,9 @@ public class TournamentService {
     }
 
     public ReferencedWarning getReferencedWarning(final Integer id) {
-        final ReferencedWarning referencedWarning = new ReferencedWarning();
-        final Tournament tournament = tournamentRepository.findById(id)
+        final EntityReference reference = tournamentRepository.findReference(id)
                 .orElseThrow(NotFoundException::new);
-        final TournamentStartup tournamentTournamentStartup = tournamentStartupRepository.findFirstByTournament(tournament);
-        if (tournamentTournamentStartup != null) {
-            referencedWarning.setKey("tournament.tournamentStartup.tournament.referenced");
-            referencedWarning.addParam(tournamentTournamentStartup.getId());
-            return referencedWarning;
-        }
-        final Battle tournamentBattle = battleRepository.findFirstByTournament(tournament);
-        if (tournamentBattle != null) {
-            referencedWarning.setKey("tournament.battle.tournament.referenced");
-            referencedWarning.addParam(tournamentBattle.getId());
-            return referencedWarning;
-        }
-        return null;
+        return ReferencedWarning.of(reference);
     }
 
 }
@@ -0,0 +1,12 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import java.util.List;
+
+
+/**
+ * Immutable view of a tournament published by its actor after every committed batch of commands.
+ */
+public record TournamentSnapshot(long version, List<TournamentStartupDTO> startups, List<BattleDTO> battles) {
+}
@@ -1,13 +1,11 @@
 package com.lkm.it_academy_22.service;
 
-import com.lkm.it_academy_22.domain.Battle;
-import com.lkm.it_academy_22.domain.BattleEvent;
 import com.lkm.it_academy_22.domain.Startup;
 import com.lkm.it_academy_22.domain.Tournament;
 import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.EntityReference;
 import com.lkm.it_academy_22.model.TournamentStartupDTO;
-import com.lkm.it_academy_22.repos.BattleEventRepository;
-import com.lkm.it_academy_22.repos.BattleRepository;
 import com.lkm.it_academy_22.repos.StartupRepository;
 import com.lkm.it_academy_22.repos.TournamentRepository;
 import com.lkm.it_academy_22.repos.TournamentStartupRepository;
@@ -18,8 +16,12 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
-import org.springframework.data.domain.Sort;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
@@ -28,68 +30,90 @@ public class TournamentStartupService {
     private final TournamentStartupRepository tournamentStartupRepository;
     private final TournamentRepository tournamentRepository;
     private final StartupRepository startupRepository;
-    private final BattleRepository battleRepository;
-    private final BattleEventRepository battleEventRepository;
+    private final TournamentActorService tournamentActorService;
+    private final StartupStandingsService startupStandingsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TournamentStartupService(final TournamentStartupRepository tournamentStartupRepository,
             final TournamentRepository tournamentRepository,
-            final StartupRepository startupRepository, final BattleRepository battleRepository,
-            final BattleEventRepository battleEventRepository) {
+            final StartupRepository startupRepository,
+            final TournamentActorService tournamentActorService,
+            final StartupStandingsService startupStandingsService,
+            final ApplicationEventPublisher eventPublisher) {
         this.tournamentStartupRepository = tournamentStartupRepository;
         this.tournamentRepository = tournamentRepository;
         this.startupRepository = startupRepository;
-        this.battleRepository = battleRepository;
-        this.battleEventRepository = battleEventRepository;
+        this.tournamentActorService = tournamentActorService;
+        this.startupStandingsService = startupStandingsService;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<TournamentStartupDTO> findAll() {
-        final List<TournamentStartup> tournamentStartups = tournamentStartupRepository.findAll(Sort.by("id"));
-        return tournamentStartups.stream()
-                .map(tournamentStartup -> mapToDTO(tournamentStartup, new TournamentStartupDTO()))
-                .toList();
+    public CursorPage<TournamentStartupDTO> findAll(final Integer after, final int limit) {
+        final List<TournamentStartupDTO> tournamentStartups = tournamentStartupRepository.findDTOPage(
+                CursorPage.startAfter(after), Limit.of(limit + 1));
+        return CursorPage.of(tournamentStartups, limit, TournamentStartupDTO::getId);
     }
 
     public TournamentStartupDTO get(final Integer id) {
-        return tournamentStartupRepository.findById(id)
-                .map(tournamentStartup -> mapToDTO(tournamentStartup, new TournamentStartupDTO()))
+        return tournamentStartupRepository.findDTOById(id)
                 .orElseThrow(NotFoundException::new);
     }
 
     public List<TournamentStartupDTO> getTournamentStartupsByTournamentId(Integer tournamentId) {
-        Tournament tournament = tournamentRepository.findById(tournamentId)
-                .orElseThrow(NotFoundException::new);
-
-        return tournament.getTournamentTournamentStartups().stream()
-                .map(tournamentStartup -> mapToDTO(tournamentStartup, new TournamentStartupDTO()))
-                .toList();
+        final Optional<TournamentSnapshot> snapshot = tournamentActorService.findSnapshot(tournamentId);
+        if (snapshot.isPresent()) {
+            return snapshot.get().startups();
+        }
+        final List<TournamentStartupDTO> tournamentStartups =
+                tournamentStartupRepository.findDTOsByTournamentId(tournamentId);
+        if (tournamentStartups.isEmpty() && !tournamentRepository.existsById(tournamentId)) {
+            throw new NotFoundException();
+        }
+        return tournamentStartups;
     }
 
+    @Transactional
     public Integer create(final TournamentStartupDTO tournamentStartupDTO) {
+        tournamentActorService.lockUnowned(tournamentStartupDTO.getTournament());
         final TournamentStartup tournamentStartup = new TournamentStartup();
         mapToEntity(tournamentStartupDTO, tournamentStartup);
         tournamentStartup.setCreatedAt(OffsetDateTime.of(LocalDateTime.now(), ZoneOffset.UTC));
-        return tournamentStartupRepository.save(tournamentStartup).getId();
+        final Integer id = tournamentStartupRepository.save(tournamentStartup).getId();
+        adjustStanding(tournamentStartup, 1);
+        eventPublisher.publishEvent(new DomainEvents.EntrantsChanged(tournamentStartupDTO.getTournament()));
+        return id;
     }
 
+    @Transactional
     public void update(final Integer id, final TournamentStartupDTO tournamentStartupDTO) {
         final TournamentStartup tournamentStartup = tournamentStartupRepository.findById(id)
                 .orElseThrow(NotFoundException::new);
+        final Integer previousTournamentId = tournamentStartup.getTournament() == null ? null : tournamentStartup.getTournament().getId();
+        tournamentActorService.lockUnowned(previousTournamentId, tournamentStartupDTO.getTournament());
+        adjustStanding(tournamentStartup, -1);
         mapToEntity(tournamentStartupDTO, tournamentStartup);
         tournamentStartupRepository.save(tournamentStartup);
+        adjustStanding(tournamentStartup, 1);
+        if (!Objects.equals(previousTournamentId, tournamentStartupDTO.getTournament())) {
+            eventPublisher.publishEvent(new DomainEvents.EntrantsChanged(previousTournamentId));
+        }
+        eventPublisher.publishEvent(new DomainEvents.EntrantsChanged(tournamentStartupDTO.getTournament()));
     }
 
+    @Transactional
     public void delete(final Integer id) {
-        tournamentStartupRepository.deleteById(id);
+        tournamentStartupRepository.findById(id).ifPresent(tournamentStartup -> {
+            tournamentActorService.lockUnowned(tournamentStartup.getTournament().getId());
+            tournamentStartupRepository.delete(tournamentStartup);
+            adjustStanding(tournamentStartup, -1);
+            eventPublisher.publishEvent(new DomainEvents.EntrantsChanged(tournamentStartup.getTournament().getId()));
+        });
     }
 
-    private TournamentStartupDTO mapToDTO(final TournamentStartup tournamentStartup,
-            final TournamentStartupDTO tournamentStartupDTO) {
-        tournamentStartupDTO.setId(tournamentStartup.getId());
-        tournamentStartupDTO.setCurrentScore(tournamentStartup.getCurrentScore());
-        tournamentStartupDTO.setEliminated(tournamentStartup.getEliminated());
-        tournamentStartupDTO.setTournament(tournamentStartup.getTournament() == null ? null : tournamentStartup.getTournament().getId());
-        tournamentStartupDTO.setStartup(tournamentStartup.getStartup() == null ? null : tournamentStartup.getStartup().getId());
-        return tournamentStartupDTO;
+    private void adjustStanding(final TournamentStartup tournamentStartup, final int sign) {
+        startupStandingsService.adjustEntry(
+                tournamentStartup.getStartup() == null ? null : tournamentStartup.getStartup().getId(),
+                tournamentStartup.getCurrentScore(), tournamentStartup.getEliminated(), sign);
     }
 
     private TournamentStartup mapToEntity(final TournamentStartupDTO tournamentStartupDTO,
@@ -107,34 +131,9 @@ public class TournamentStartupService {
     }
 
     public ReferencedWarning getReferencedWarning(final Integer id) {
-        final ReferencedWarning referencedWarning = new ReferencedWarning();
-        final TournamentStartup tournamentStartup = tournamentStartupRepository.findById(id)
+        final EntityReference reference = tournamentStartupRepository.findReference(id)
                 .orElseThrow(NotFoundException::new);
-        final Battle startup1Battle = battleRepository.findFirstByStartup1(tournamentStartup);
-        if (startup1Battle != null) {
-            referencedWarning.setKey("tournamentStartup.battle.startup1.referenced");
-            referencedWarning.addParam(startup1Battle.getId());
-            return referencedWarning;
-        }
-        final Battle startup2Battle = battleRepository.findFirstByStartup2(tournamentStartup);
-        if (startup2Battle != null) {
-            referencedWarning.setKey("tournamentStartup.battle.startup2.referenced");
-            referencedWarning.addParam(startup2Battle.getId());
-            return referencedWarning;
-        }
-        final Battle winnerBattle = battleRepository.findFirstByWinner(tournamentStartup);
-        if (winnerBattle != null) {
-            referencedWarning.setKey("tournamentStartup.battle.winner.referenced");
-            referencedWarning.addParam(winnerBattle.getId());
-            return referencedWarning;
-        }
-        final BattleEvent startupBattleEvent = battleEventRepository.findFirstByStartup(tournamentStartup);
-        if (startupBattleEvent != null) {
-            referencedWarning.setKey("tournamentStartup.battleEvent.startup.referenced");
-            referencedWarning.addParam(startupBattleEvent.getId());
-            return referencedWarning;
-        }
-        return null;
+        return ReferencedWarning.of(reference);
     }
 
 }
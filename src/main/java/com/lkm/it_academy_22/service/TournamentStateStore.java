@@ -0,0 +1,180 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.TournamentDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import com.lkm.it_academy_22.repos.BattleRepository;
+import com.lkm.it_academy_22.repos.StartupRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+/**
+ * Loads a tournament into its actor and writes the actor's accumulated changes back in one transaction, as JDBC
+ * batches that touch only the columns that changed. Both hold the tournament's lock, which every direct write to
+ * the tournament takes as well. Scores are written as deltas so the event writes that still go straight to the
+ * database are never overwritten.
+ */
+@Component
+public class TournamentStateStore {
+
+    private final TournamentRepository tournamentRepository;
+    private final TournamentStartupRepository tournamentStartupRepository;
+    private final BattleRepository battleRepository;
+    private final StartupRepository startupRepository;
+    private final StartupStandingsService startupStandingsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TournamentLocks tournamentLocks;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TournamentStateStore(final TournamentRepository tournamentRepository,
+            final TournamentStartupRepository tournamentStartupRepository,
+            final BattleRepository battleRepository,
+            final StartupRepository startupRepository,
+            final StartupStandingsService startupStandingsService,
+            final ApplicationEventPublisher eventPublisher,
+            final TournamentLocks tournamentLocks,
+            final JdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager) {
+        this.tournamentRepository = tournamentRepository;
+        this.tournamentStartupRepository = tournamentStartupRepository;
+        this.battleRepository = battleRepository;
+        this.startupRepository = startupRepository;
+        this.startupStandingsService = startupStandingsService;
+        this.eventPublisher = eventPublisher;
+        this.tournamentLocks = tournamentLocks;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public State load(final Integer tournamentId) {
+        return transactionTemplate.execute(status -> {
+            // a direct write committing meanwhile is either fully visible or refused once the actor exists
+            tournamentLocks.lockUntilCompletion(tournamentId);
+            final TournamentDTO tournament = tournamentRepository.findDTOById(tournamentId)
+                    .orElseThrow(NotFoundException::new);
+            return new State(tournamentStartupRepository.findDTOsByTournamentId(tournamentId),
+                    battleRepository.findDTOsByTournamentId(tournamentId),
+                    TournamentArchiveService.COMPLETED.equals(tournament.getStatus()));
+        });
+    }
+
+    /**
+     * Current scores of the tournament's startups, including changes made outside the actor.
+     */
+    public Map<Integer, Integer> loadScores(final Integer tournamentId) {
+        final Map<Integer, Integer> scores = new HashMap<>();
+        tournamentStartupRepository.findDTOsByTournamentId(tournamentId)
+                .forEach(startup -> scores.put(startup.getId(), startup.getCurrentScore()));
+        return scores;
+    }
+
+    /**
+     * Writes the changes unless one of their battles has been completed in the database meanwhile. In that case
+     * nothing is written and the ids of those battles are returned, so the actor can replay the batch on fresh
+     * state. The events of a write are kept on the changes for {@link #publishEvents(Changes)}.
+     */
+    public Set<Integer> write(final Integer tournamentId, final Changes changes) {
+        return transactionTemplate.execute(status -> {
+            tournamentLocks.lockUntilCompletion(tournamentId);
+            final List<BattleDTO> completedBattles = List.copyOf(changes.completedBattles.values());
+            final int[] completed = jdbcTemplate.batchUpdate(
+                    "UPDATE battles SET winner_id = ?, shark_fight = ?, completed = TRUE WHERE id = ? AND (completed IS NULL OR completed = FALSE)",
+                    completedBattles.stream()
+                            .map(battle -> new Object[] {battle.getWinner(), battle.getSharkFight(), battle.getId()})
+                            .toList());
+            final Set<Integer> conflicts = new HashSet<>();
+            for (int i = 0; i < completed.length; i++) {
+                if (completed[i] == 0) {
+                    conflicts.add(completedBattles.get(i).getId());
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                status.setRollbackOnly();
+                return conflicts;
+            }
+            jdbcTemplate.batchUpdate("UPDATE tournament_startups SET current_score = COALESCE(current_score, 0) + ? WHERE id = ?",
+                    changes.scoreDeltas.entrySet().stream()
+                            .map(delta -> new Object[] {delta.getValue(), delta.getKey()})
+                            .toList());
+            jdbcTemplate.batchUpdate("UPDATE tournament_startups SET eliminated = TRUE WHERE id = ?",
+                    changes.eliminated.stream()
+                            .map(id -> new Object[] {id})
+                            .toList());
+            jdbcTemplate.batchUpdate("UPDATE battles SET startup1id = ? WHERE id = ?",
+                    changes.startup1Slots.entrySet().stream()
+                            .map(slot -> new Object[] {slot.getValue(), slot.getKey()})
+                            .toList());
+            jdbcTemplate.batchUpdate("UPDATE battles SET startup2id = ? WHERE id = ?",
+                    changes.startup2Slots.entrySet().stream()
+                            .map(slot -> new Object[] {slot.getValue(), slot.getKey()})
+                            .toList());
+            final ScoreDeltas scoreDeltas = new ScoreDeltas();
+            changes.scoreDeltas.forEach((tournamentStartupId, delta) ->
+                    scoreDeltas.add(tournamentId, tournamentStartupId, delta));
+            startupStandingsService.addScores(scoreDeltas);
+            startupStandingsService.eliminateAll(changes.eliminated);
+            changes.events.add(new DomainEvents.TournamentChanged(tournamentId));
+            changes.events.add(new DomainEvents.ScoresChanged(null, scoreDeltas, false));
+            changes.completedBattles.values().forEach(battle -> changes.events.add(new DomainEvents.BattleWon(
+                    tournamentId, battle.getId(), battle.getWinner(), battle.getSharkFight())));
+            changes.eliminated.forEach(tournamentStartupId ->
+                    changes.events.add(new DomainEvents.StartupEliminated(tournamentId, tournamentStartupId)));
+            if (changes.championStartupId != null) {
+                // through JPA so the cached tournament is evicted; a tournament completed meanwhile keeps its title
+                if (tournamentRepository.complete(tournamentId,
+                        startupRepository.getReferenceById(changes.championStartupId)) > 0) {
+                    startupStandingsService.addTitle(changes.championStartupId, 1);
+                    changes.events.add(new DomainEvents.ChampionCrowned(tournamentId, changes.championStartupId));
+                }
+            }
+            return Set.of();
+        });
+    }
+
+    /**
+     * Publishes the events of written changes. The actor calls this only once its snapshot shows them, so a
+     * tournament version bumped by them never stands for an older snapshot.
+     */
+    public void publishEvents(final Changes changes) {
+        changes.events.forEach(eventPublisher::publishEvent);
+    }
+
+    public record State(List<TournamentStartupDTO> startups, List<BattleDTO> battles, boolean completed) {
+    }
+
+    /**
+     * Writes accumulated by an actor since its last flush. Only touched from the actor's mailbox thread.
+     */
+    public static class Changes {
+
+        final Map<Integer, Integer> scoreDeltas = new LinkedHashMap<>();
+        final Set<Integer> eliminated = new HashSet<>();
+        final Map<Integer, BattleDTO> completedBattles = new LinkedHashMap<>();
+        final Map<Integer, Integer> startup1Slots = new LinkedHashMap<>();
+        final Map<Integer, Integer> startup2Slots = new LinkedHashMap<>();
+        final List<Object> events = new ArrayList<>();
+        Integer championStartupId;
+
+        public boolean isEmpty() {
+            return scoreDeltas.isEmpty() && eliminated.isEmpty() && completedBattles.isEmpty()
+                    && startup1Slots.isEmpty() && startup2Slots.isEmpty() && championStartupId == null;
+        }
+
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.lkm.it_academy_22.service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+
+/**
+ * Version counter per tournament, bumped after every committed change to the tournament, its entrants or its
+ * battles. Readers take the version before loading anything, so a representation tagged with a version never
+ * predates that version's changes and an unchanged version can be answered without the database.
+ * <p>
+ * Versions come from one counter shared by all tournaments, and only a bounded number of tournaments are tracked:
+ * the ones changed since startup and the ones a read has found to exist. Every other tournament reports the floor,
+ * which is raised to the version of each evicted tournament, so a tournament's version never goes back: evicting
+ * one changes the version of all the untracked ones instead. Only a tracked tournament is known to exist, so only
+ * it may be answered as unchanged. Reads never lock.
+ */
+@Component
+public class TournamentVersions {
+
+    private final int maxTournaments;
+    private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+    // seeded from the clock in microseconds so a restart never hands out a version a client may already hold
+    private final AtomicLong clock = new AtomicLong(TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()));
+    private final AtomicLong floor = new AtomicLong(clock.get());
+
+    public TournamentVersions(@Value("${app.tournament-versions.max-tournaments:16384}") final int maxTournaments) {
+        if (maxTournaments < 1) {
+            throw new IllegalArgumentException("Tournament versions must be kept for at least one tournament, got "
+                    + maxTournaments + ".");
+        }
+        this.maxTournaments = maxTournaments;
+    }
+
+    public long getVersion(final Integer tournamentId) {
+        final Long version = versions.get(tournamentId);
+        return version == null ? floor.get() : version;
+    }
+
+    public boolean isTracked(final Integer tournamentId) {
+        return versions.containsKey(tournamentId);
+    }
+
+    public int getSize() {
+        return versions.size();
+    }
+
+    /**
+     * Starts tracking a tournament a read has just found to exist, unless it changed or was deleted since the
+     * read took {@code version}.
+     */
+    public void track(final Integer tournamentId, final long version) {
+        versions.computeIfAbsent(tournamentId, id -> floor.get() == version ? version : null);
+        evictOverflow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTournamentChanged(final DomainEvents.TournamentChanged event) {
+        bump(event.tournamentId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntrantsChanged(final DomainEvents.EntrantsChanged event) {
+        bump(event.tournamentId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScoresChanged(final DomainEvents.ScoresChanged event) {
+        event.deltas().stream()
+                .map(ScoreDeltas.ScoreDelta::tournamentId)
+                .distinct()
+                .forEach(this::bump);
+    }
+
+    /**
+     * Stops tracking a deleted tournament. The floor moves past every version handed out so far, so neither the
+     * deleted tournament's version nor a read racing the delete can be answered as unchanged.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTournamentDeleted(final DomainEvents.TournamentDeleted event) {
+        if (event.tournamentId() != null) {
+            floor.accumulateAndGet(clock.incrementAndGet(), Math::max);
+            versions.remove(event.tournamentId());
+        }
+    }
+
+    private void bump(final Integer tournamentId) {
+        if (tournamentId != null) {
+            // drawn inside compute, so concurrent bumps of one tournament store increasing versions
+            versions.compute(tournamentId, (id, version) -> clock.incrementAndGet());
+            evictOverflow();
+        }
+    }
+
+    /**
+     * Evicts the tournaments with the oldest versions once there are too many, an eighth of the limit at a time so
+     * the scan is rare. The floor is raised before an entry goes, so a reader sees the entry or a floor at least
+     * as high, never less.
+     */
+    private void evictOverflow() {
+        if (versions.size() <= maxTournaments) {
+            return;
+        }
+        synchronized (this) {
+            final int excess = versions.size() - maxTournaments;
+            if (excess <= 0) {
+                return;
+            }
+            versions.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                    .limit(excess + maxTournaments / 8)
+                    .toList()
+                    .forEach(evicted -> {
+                        floor.accumulateAndGet(evicted.getValue(), Math::max);
+                        versions.remove(evicted.getKey(), evicted.getValue());
+                    });
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.lkm.it_academy_22.util;
 
+import com.lkm.it_academy_22.model.EntityReference;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -14,6 +15,19 @@ public class ReferencedWarning {
     private String key = null;
     private ArrayList<Object> params = new ArrayList<>();
 
+    /**
+     * Builds the warning from the first referencing row, or returns null when nothing references the entity.
+     */
+    public static ReferencedWarning of(final EntityReference reference) {
+        if (reference.getReferenceKey() == null) {
+            return null;
+        }
+        final ReferencedWarning referencedWarning = new ReferencedWarning();
+        referencedWarning.setKey(reference.getReferenceKey());
+        referencedWarning.addParam(reference.getReferenceId());
+        return referencedWarning;
+    }
+
     public void addParam(final Object param) {
         params.add(param);
     }
@@ -0,0 +1,36 @@
+package com.lkm.it_academy_22.util;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+public final class SparseFields {
+
+    public static final String PARAMETER = "fields";
+
+    private SparseFields() {
+    }
+
+    /**
+     * The property names of a {@code fields=id,name} parameter, or {@code null} when it is absent and every
+     * property is wanted.
+     */
+    public static Set<String> parse(final String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Whether any of the properties is wanted.
+     */
+    public static boolean includesAny(final Set<String> fields, final String... properties) {
+        return fields == null || Arrays.stream(properties).anyMatch(fields::contains);
+    }
+
+}
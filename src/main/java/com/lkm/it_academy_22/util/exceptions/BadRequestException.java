@@ -0,0 +1,18 @@
+package com.lkm.it_academy_22.util.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException() {
+        super();
+    }
+
+    public BadRequestException(final String message) {
+        super(message);
+    }
+
+}
@@ -1,8 +1,5 @@
--- Create the sequence used by all entities
-CREATE SEQUENCE IF NOT EXISTS primary_sequence START WITH 10000 INCREMENT BY 1;
-
--- Insert Startups
-INSERT INTO startups (id, name, slogan, founded_year, description, created_at) VALUES
+-- Demo cohort for local runs; re-applied whenever this file changes
+MERGE INTO startups (id, name, slogan, founded_year, description, created_at) KEY (id) VALUES
 (1, 'AgroMurakami', 'Tecnologia que cultiva o futuro', 2018, 'Plataforma de inteligência agrícola para pequenos e médios produtores rurais', CURRENT_TIMESTAMP),
 (2, 'EcoMurakami', 'Logística verde, Brasil em movimento', 2019, 'Soluções sustentáveis para fretes urbanos e interestaduais', CURRENT_TIMESTAMP),
 (3, 'DadosMurakami', 'Decisões mais inteligentes, negócios mais fortes', 2017, 'Análises preditivas focadas no comércio varejista brasileiro', CURRENT_TIMESTAMP),
@@ -12,10 +9,5 @@ INSERT INTO startups (id, name, slogan, founded_year, description, created_at) V
 (7, 'HortaMurakami', 'Comida fresca no coração da cidade', 2019, 'Soluções de cultivo vertical para centros urbanos e comunidades carentes', CURRENT_TIMESTAMP),
 (8, 'EduMurakami', 'Educação acessível para todos os cantos do Brasil', 2017, 'Plataforma de cursos online gratuitos com foco no ENEM e concursos públicos', CURRENT_TIMESTAMP);
 
--- Insert EventTypes
-INSERT INTO event_types (id, name, score_modifier) VALUES
-(1, 'Pitch convincente', 6),
-(2, 'Boa tração de usuários', 3),
-(3, 'Produto com bugs', -4),
-(4, 'Investidor irritado', -6),
-(5, 'Fake news no pitch', -8);
+MERGE INTO startup_standings (startup_id) KEY (startup_id)
+SELECT id FROM startups WHERE id BETWEEN 1 AND 8;
@@ -0,0 +1,71 @@
+-- Sequence shared by all entities, matching allocationSize = 50 on the @SequenceGenerator
+CREATE SEQUENCE primary_sequence START WITH 10000 INCREMENT BY 50;
+
+CREATE TABLE startups (
+    id INTEGER NOT NULL,
+    name VARCHAR(200) NOT NULL,
+    slogan VARCHAR(255),
+    founded_year INTEGER,
+    description VARCHAR(255),
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT startups_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE tournaments (
+    id INTEGER NOT NULL,
+    name VARCHAR(200) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    status VARCHAR(50),
+    champion_id INTEGER,
+    CONSTRAINT tournaments_pkey PRIMARY KEY (id),
+    CONSTRAINT tournaments_champion_fk FOREIGN KEY (champion_id) REFERENCES startups (id)
+);
+
+CREATE TABLE event_types (
+    id INTEGER NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    score_modifier INTEGER NOT NULL,
+    CONSTRAINT event_types_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE tournament_startups (
+    id INTEGER NOT NULL,
+    current_score INTEGER,
+    eliminated BOOLEAN,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    tournament_id INTEGER NOT NULL,
+    startup_id INTEGER NOT NULL,
+    CONSTRAINT tournament_startups_pkey PRIMARY KEY (id),
+    CONSTRAINT tournament_startups_tournament_fk FOREIGN KEY (tournament_id) REFERENCES tournaments (id),
+    CONSTRAINT tournament_startups_startup_fk FOREIGN KEY (startup_id) REFERENCES startups (id)
+);
+
+CREATE TABLE battles (
+    id INTEGER NOT NULL,
+    battle_number INTEGER,
+    round_number INTEGER,
+    shark_fight BOOLEAN,
+    completed BOOLEAN,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    tournament_id INTEGER NOT NULL,
+    startup1id INTEGER,
+    startup2id INTEGER,
+    winner_id INTEGER,
+    CONSTRAINT battles_pkey PRIMARY KEY (id),
+    CONSTRAINT battles_tournament_fk FOREIGN KEY (tournament_id) REFERENCES tournaments (id),
+    CONSTRAINT battles_startup1_fk FOREIGN KEY (startup1id) REFERENCES tournament_startups (id),
+    CONSTRAINT battles_startup2_fk FOREIGN KEY (startup2id) REFERENCES tournament_startups (id),
+    CONSTRAINT battles_winner_fk FOREIGN KEY (winner_id) REFERENCES tournament_startups (id)
+);
+
+CREATE TABLE battle_events (
+    id INTEGER NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    battle_id INTEGER NOT NULL,
+    startup_id INTEGER NOT NULL,
+    event_type_id INTEGER,
+    CONSTRAINT battle_events_pkey PRIMARY KEY (id),
+    CONSTRAINT battle_events_battle_fk FOREIGN KEY (battle_id) REFERENCES battles (id),
+    CONSTRAINT battle_events_startup_fk FOREIGN KEY (startup_id) REFERENCES tournament_startups (id),
+    CONSTRAINT battle_events_event_type_fk FOREIGN KEY (event_type_id) REFERENCES event_types (id)
+);
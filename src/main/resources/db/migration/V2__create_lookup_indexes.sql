@@ -0,0 +1,17 @@
+-- Events of a startup inside a battle; the leading battle_id also serves the battle reference check on delete
+CREATE INDEX battle_events_battle_startup_idx ON battle_events (battle_id, startup_id);
+CREATE INDEX battle_events_startup_idx ON battle_events (startup_id);
+CREATE INDEX battle_events_event_type_idx ON battle_events (event_type_id);
+
+-- Bracket lookups by battle number, unique so a bracket cannot be generated twice, and the ordered
+-- /tournaments/{id}/battles listing
+CREATE UNIQUE INDEX battles_tournament_battle_number_idx ON battles (tournament_id, battle_number);
+CREATE INDEX battles_tournament_round_battle_idx ON battles (tournament_id, round_number, battle_number);
+CREATE INDEX battles_startup1_idx ON battles (startup1id);
+CREATE INDEX battles_startup2_idx ON battles (startup2id);
+CREATE INDEX battles_winner_idx ON battles (winner_id);
+
+CREATE INDEX tournament_startups_tournament_idx ON tournament_startups (tournament_id);
+CREATE INDEX tournament_startups_startup_idx ON tournament_startups (startup_id);
+
+CREATE INDEX tournaments_champion_idx ON tournaments (champion_id);
@@ -0,0 +1,6 @@
+INSERT INTO event_types (id, name, score_modifier) VALUES
+(1, 'Pitch convincente', 6),
+(2, 'Boa tração de usuários', 3),
+(3, 'Produto com bugs', -4),
+(4, 'Investidor irritado', -6),
+(5, 'Fake news no pitch', -8);
@@ -0,0 +1,23 @@
+-- Global ranking of startups across tournaments, maintained alongside every change it depends on
+CREATE TABLE startup_standings (
+    startup_id INTEGER NOT NULL,
+    titles_won INTEGER DEFAULT 0 NOT NULL,
+    tournaments_entered INTEGER DEFAULT 0 NOT NULL,
+    cumulative_score BIGINT DEFAULT 0 NOT NULL,
+    eliminations INTEGER DEFAULT 0 NOT NULL,
+    CONSTRAINT startup_standings_pkey PRIMARY KEY (startup_id),
+    CONSTRAINT startup_standings_startup_fk FOREIGN KEY (startup_id) REFERENCES startups (id) ON DELETE CASCADE
+);
+
+-- Ranking order, so every standings page is an index range scan
+CREATE INDEX startup_standings_ranking_idx ON startup_standings (titles_won DESC, cumulative_score DESC, startup_id);
+
+INSERT INTO startup_standings (startup_id, titles_won, tournaments_entered, cumulative_score, eliminations)
+SELECT s.id,
+       (SELECT COUNT(*) FROM tournaments t WHERE t.champion_id = s.id),
+       COUNT(ts.id),
+       COALESCE(SUM(ts.current_score), 0),
+       COUNT(CASE WHEN ts.eliminated THEN 1 END)
+FROM startups s
+LEFT JOIN tournament_startups ts ON ts.startup_id = s.id
+GROUP BY s.id;
@@ -0,0 +1,10 @@
+-- Score changes of stored battle events that the score pipeline has not added to tournament_startups yet. Rows
+-- are written in the events' own transaction and deleted by the flush that applies them, so a crash in between
+-- loses nothing. No foreign key: a delta for a deleted tournament startup simply updates nothing.
+CREATE TABLE pending_scores (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    tournament_id INTEGER NOT NULL,
+    tournament_startup_id INTEGER NOT NULL,
+    delta INTEGER NOT NULL,
+    CONSTRAINT pending_scores_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,87 @@
+package com.lkm.it_academy_22.repos;
+
+import com.lkm.it_academy_22.domain.Battle;
+import com.lkm.it_academy_22.domain.BattleEvent;
+import com.lkm.it_academy_22.domain.Startup;
+import com.lkm.it_academy_22.domain.Tournament;
+import com.lkm.it_academy_22.domain.TournamentStartup;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saves a block of battle events through the repository and checks that ids come from one sequence call per
+ * allocation block (pooled-lo) and that the inserts go out in JDBC batches rather than one statement per row.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class IdAllocationStatementCountTest {
+
+  private static final int EVENTS = 500;
+  private static final int BLOCK_SIZE = 50;
+
+  @Autowired
+  private BattleEventRepository battleEventRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private Statistics statistics;
+  private Battle battle;
+  private TournamentStartup tournamentStartup;
+
+  @BeforeEach
+  void setUp() {
+    Tournament tournament = new Tournament();
+    tournament.setName("Id Allocation Tournament");
+    entityManager.persist(tournament);
+
+    Startup startup = new Startup();
+    startup.setName("Id Allocation Startup");
+    entityManager.persist(startup);
+
+    tournamentStartup = new TournamentStartup();
+    tournamentStartup.setTournament(tournament);
+    tournamentStartup.setStartup(startup);
+    entityManager.persist(tournamentStartup);
+
+    battle = new Battle();
+    battle.setTournament(tournament);
+    entityManager.persist(battle);
+
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void saveAll_ShouldAllocateIdsPerBlockAndBatchInserts() {
+    Battle battleReference = entityManager.getReference(Battle.class, battle.getId());
+    TournamentStartup startupReference = entityManager.getReference(TournamentStartup.class, tournamentStartup.getId());
+    List<BattleEvent> events = new ArrayList<>();
+    for (int i = 0; i < EVENTS; i++) {
+      BattleEvent event = new BattleEvent();
+      event.setBattle(battleReference);
+      event.setStartup(startupReference);
+      events.add(event);
+    }
+
+    battleEventRepository.saveAll(events);
+    entityManager.flush();
+
+    assertEquals(EVENTS, statistics.getEntityInsertCount());
+    assertEquals(EVENTS, events.stream().map(BattleEvent::getId).distinct().count());
+    // one sequence call per block of ids plus a single insert statement reused for every batch
+    assertEquals(EVENTS / BLOCK_SIZE + 1, statistics.getPrepareStatementCount());
+  }
+}
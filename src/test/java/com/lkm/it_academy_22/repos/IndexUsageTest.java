@@ -0,0 +1,114 @@
+package com.lkm.it_academy_22.repos;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every lookup the services issue on a hot path, captures the SQL Hibernate generates for it and asks H2
+ * for the plan. Fails when any of them falls back to a table scan, i.e. when an index from the migrations is
+ * missing or no longer matches the query.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.lkm.it_academy_22.repos.IndexUsageTest$RecordingStatementInspector")
+public class IndexUsageTest {
+
+  @Autowired
+  private BattleEventRepository battleEventRepository;
+
+  @Autowired
+  private BattleRepository battleRepository;
+
+  @Autowired
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private StartupRepository startupRepository;
+
+  @Autowired
+  private EventTypeRepository eventTypeRepository;
+
+  @Autowired
+  private StartupStandingRepository startupStandingRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    RecordingStatementInspector.STATEMENTS.clear();
+  }
+
+  @Test
+  void repositoryLookups_ShouldNotScanTables() {
+
+    battleEventRepository.findDTOsByBattleIdAndStartupId(1, 1);
+    battleEventRepository.findDTOsByStartupId(1);
+    battleEventRepository.findDTOPage(0, Limit.of(10));
+    battleEventRepository.findDTOById(1);
+    battleEventRepository.findTournamentIdById(1);
+
+    battleRepository.findDTOsByTournamentId(1);
+    battleRepository.existsByTournamentId(1);
+    battleRepository.findDTOByTournamentIdAndBattleNumber(1, 1);
+    battleRepository.findDTOPage(0, Limit.of(10));
+    battleRepository.findReference(1);
+
+    tournamentStartupRepository.countByTournamentId(1);
+    tournamentStartupRepository.findDTOsByTournamentId(1);
+    tournamentStartupRepository.findCurrentScoreById(1);
+    tournamentStartupRepository.findDTOPage(0, Limit.of(10));
+    tournamentStartupRepository.findReference(1);
+
+    tournamentRepository.findDTOPage(0, Limit.of(10));
+    tournamentRepository.findReference(1);
+    startupRepository.findDTOPage(0, Limit.of(10));
+    startupRepository.findReference(1);
+    eventTypeRepository.findByIdGreaterThanOrderByIdAsc(0, Limit.of(10));
+    eventTypeRepository.findReference(1);
+    startupStandingRepository.findDTOByStartupId(1);
+    startupStandingRepository.findFirstDTOPage(Limit.of(10));
+    startupStandingRepository.findDTOPageAfter(1, 1L, 1, Limit.of(10));
+    startupRepository.findIdsAfter(0, Limit.of(10));
+
+    List<String> scans = new ArrayList<>();
+    for (String sql : RecordingStatementInspector.STATEMENTS) {
+      Object[] args = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+      Arrays.fill(args, 1);
+      String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+      if (plan.contains("tableScan")) {
+        scans.add(plan);
+      }
+    }
+
+    assertFalse(RecordingStatementInspector.STATEMENTS.isEmpty());
+    assertTrue(scans.isEmpty(), () -> "Full table scans:\n" + String.join("\n", scans));
+  }
+
+  public static class RecordingStatementInspector implements StatementInspector {
+
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(final String sql) {
+      if (sql.regionMatches(true, 0, "select", 0, 6)) {
+        STATEMENTS.add(sql);
+      }
+      return sql;
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.lkm.it_academy_22.repos;
+
+import com.lkm.it_academy_22.domain.Battle;
+import com.lkm.it_academy_22.domain.Startup;
+import com.lkm.it_academy_22.domain.Tournament;
+import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.BattleDTO;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares bytes allocated by the reading thread when a page of battles is loaded as managed entities and
+ * mapped by hand versus selected straight into {@link BattleDTO} through the constructor expression.
+ */
+@DataJpaTest
+public class ProjectionAllocationBenchmarkTest {
+
+  private static final int ROWS = 2_000;
+  private static final int ROUNDS = 20;
+
+  @Autowired
+  private BattleRepository battleRepository;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private StartupRepository startupRepository;
+
+  @Autowired
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @BeforeEach
+  void setUp() {
+    Tournament tournament = new Tournament();
+    tournament.setName("Allocation Tournament");
+    tournamentRepository.save(tournament);
+
+    Startup startup = new Startup();
+    startup.setName("Allocation Startup");
+    startupRepository.save(startup);
+
+    TournamentStartup tournamentStartup = new TournamentStartup();
+    tournamentStartup.setTournament(tournament);
+    tournamentStartup.setStartup(startup);
+    tournamentStartupRepository.save(tournamentStartup);
+
+    List<Battle> battles = new ArrayList<>(ROWS);
+    for (int i = 1; i <= ROWS; i++) {
+      Battle battle = new Battle();
+      battle.setBattleNumber(i);
+      battle.setRoundNumber(1);
+      battle.setTournament(tournament);
+      battle.setStartup1(tournamentStartup);
+      battles.add(battle);
+    }
+    battleRepository.saveAll(battles);
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  void dtoProjection_ShouldAllocateLessThanEntityHydration() {
+
+    long entityBytes = measure(() -> {
+      List<BattleDTO> mapped = new ArrayList<>(ROWS);
+      for (Battle battle : battleRepository.findAll()) {
+        BattleDTO battleDTO = new BattleDTO();
+        battleDTO.setId(battle.getId());
+        battleDTO.setBattleNumber(battle.getBattleNumber());
+        battleDTO.setRoundNumber(battle.getRoundNumber());
+        battleDTO.setTournament(battle.getTournament().getId());
+        battleDTO.setStartup1(battle.getStartup1() == null ? null : battle.getStartup1().getId());
+        mapped.add(battleDTO);
+      }
+      entityManager.clear();
+      return mapped;
+    });
+
+    long projectionBytes = measure(() -> battleRepository.findDTOPage(Integer.MIN_VALUE, Limit.of(ROWS)));
+
+    assertTrue(projectionBytes < entityBytes);
+  }
+
+  private long measure(final Supplier<List<BattleDTO>> read) {
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+
+    for (int i = 0; i < ROUNDS; i++) {
+      assertEquals(ROWS, read.get().size());
+    }
+
+    long before = threadMXBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < ROUNDS; i++) {
+      read.get();
+    }
+    return (threadMXBean.getThreadAllocatedBytes(threadId) - before) / ROUNDS;
+  }
+}
@@ -0,0 +1,95 @@
+package com.lkm.it_academy_22.repos;
+
+import com.lkm.it_academy_22.domain.Startup;
+import com.lkm.it_academy_22.domain.Tournament;
+import com.lkm.it_academy_22.domain.TournamentStartup;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TournamentStartupRepositoryTest {
+
+  private static final int THREADS = 16;
+  private static final int INCREMENTS_PER_THREAD = 50;
+
+  @Autowired
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private StartupRepository startupRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void incrementCurrentScore_UnderContention_ShouldNotLoseUpdates() throws Exception {
+
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    Integer tournamentStartupId = transactionTemplate.execute(status -> createTournamentStartup());
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      futures.add(executor.submit(() -> {
+        start.await();
+        for (int j = 0; j < INCREMENTS_PER_THREAD; j++) {
+          transactionTemplate.executeWithoutResult(
+              status -> tournamentStartupRepository.incrementCurrentScore(tournamentStartupId, 1));
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    Integer finalScore = transactionTemplate.execute(
+        status -> tournamentStartupRepository.findCurrentScoreById(tournamentStartupId));
+    assertEquals(70 + THREADS * INCREMENTS_PER_THREAD, finalScore);
+  }
+
+  @Test
+  void incrementCurrentScore_WithUnknownId_ShouldUpdateNothing() {
+
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+    Integer updated = transactionTemplate.execute(status -> tournamentStartupRepository.incrementCurrentScore(-1, 5));
+    assertEquals(0, updated);
+  }
+
+  private Integer createTournamentStartup() {
+    Tournament tournament = new Tournament();
+    tournament.setName("Contention Tournament");
+    tournamentRepository.save(tournament);
+
+    Startup startup = new Startup();
+    startup.setName("Contention Startup");
+    startupRepository.save(startup);
+
+    TournamentStartup tournamentStartup = new TournamentStartup();
+    tournamentStartup.setTournament(tournament);
+    tournamentStartup.setStartup(startup);
+    return tournamentStartupRepository.save(tournamentStartup).getId();
+  }
+}
@@ -1,22 +1,35 @@
 package com.lkm.it_academy_22.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lkm.it_academy_22.model.BattleEventDTO;
+import com.lkm.it_academy_22.model.CursorPage;
 import com.lkm.it_academy_22.service.BattleEventService;
+import com.lkm.it_academy_22.service.ScorePipeline;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -25,6 +38,9 @@ public class BattleEventResourceTest {
   @Mock
   private BattleEventService battleEventService;
 
+  @Mock
+  private ScorePipeline scorePipeline;
+
   @InjectMocks
   private BattleEventResource battleEventResource;
 
@@ -46,13 +62,27 @@ public class BattleEventResourceTest {
   @Test
   void getAllBattleEvents_ShouldReturnAllBattleEvents() {
     List<BattleEventDTO> battleEvents = Arrays.asList(battleEventDTO);
-    when(battleEventService.findAll()).thenReturn(battleEvents);
+    when(battleEventService.findAll(null, CursorPage.DEFAULT_LIMIT))
+        .thenReturn(CursorPage.of(battleEvents, CursorPage.DEFAULT_LIMIT, BattleEventDTO::getId));
 
-    ResponseEntity<List<BattleEventDTO>> response = battleEventResource.getAllBattleEvents();
+    ResponseEntity<List<BattleEventDTO>> response = battleEventResource.getAllBattleEvents(null, null, false);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertEquals(battleEvents, response.getBody());
-    verify(battleEventService).findAll();
+    verify(battleEventService).findAll(null, CursorPage.DEFAULT_LIMIT);
+  }
+
+  @Test
+  void exportBattleEvents_ShouldStreamNdjsonFromService() throws Exception {
+    OffsetDateTime from = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+
+    ResponseEntity<StreamingResponseBody> response = battleEventResource.exportBattleEvents(1, from, null);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    response.getBody().writeTo(outputStream);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+    verify(battleEventService).exportNdjson(outputStream, 1, from, null);
   }
 
   @Test
@@ -101,6 +131,53 @@ public class BattleEventResourceTest {
     verify(battleEventService).create(battleEventDTO);
   }
 
+  @Test
+  void createBattleEvent_WithScorePipelineEnabled_ShouldSubmitToPipeline() {
+    when(scorePipeline.isEnabled()).thenReturn(true);
+    when(scorePipeline.submit(battleEventDTO)).thenReturn(1);
+
+    ResponseEntity<Integer> response = battleEventResource.createBattleEvent(battleEventDTO);
+
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    assertEquals(1, response.getBody());
+    verify(battleEventService, never()).create(any());
+  }
+
+  @Test
+  void createBattleEvents_ShouldCreateAndReturnIdsInInputOrder() {
+    List<BattleEventDTO> battleEvents = Arrays.asList(battleEventDTO, battleEventDTO);
+    when(battleEventService.createAll(battleEvents)).thenReturn(List.of(10, 11));
+
+    ResponseEntity<List<Integer>> response = battleEventResource.createBattleEvents(battleEvents);
+
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    assertEquals(List.of(10, 11), response.getBody());
+    verify(battleEventService).createAll(battleEvents);
+  }
+
+  @Test
+  void createBattleEventsFromStream_ShouldCreateValidatedEvents() throws Exception {
+    BattleEventResource resource = new BattleEventResource(battleEventService, scorePipeline, new ObjectMapper(),
+        Validation.buildDefaultValidatorFactory().getValidator());
+    when(battleEventService.createAll(anyList())).thenReturn(List.of(10, 11));
+
+    ResponseEntity<List<Integer>> response = resource.createBattleEventsFromStream(ndjson(
+        "{\"battle\":1,\"startup\":1,\"eventType\":1}\n{\"battle\":2,\"startup\":2}\n"));
+
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    assertEquals(List.of(10, 11), response.getBody());
+  }
+
+  @Test
+  void createBattleEventsFromStream_WithInvalidLine_ShouldRejectWholeBatch() {
+    BattleEventResource resource = new BattleEventResource(battleEventService, scorePipeline, new ObjectMapper(),
+        Validation.buildDefaultValidatorFactory().getValidator());
+
+    assertThrows(ConstraintViolationException.class, () -> resource.createBattleEventsFromStream(ndjson(
+        "{\"battle\":1,\"startup\":1,\"eventType\":1}\n{\"battle\":2}\n")));
+    verify(battleEventService, never()).createAll(anyList());
+  }
+
   @Test
   void updateBattleEvent_WithValidId_ShouldUpdateAndReturnId() {
     doNothing().when(battleEventService).update(eq(1), any(BattleEventDTO.class));
@@ -111,4 +188,8 @@ public class BattleEventResourceTest {
     assertEquals(1, response.getBody());
     verify(battleEventService).update(1, battleEventDTO);
   }
-}
\ No newline at end of file
+
+  private static InputStream ndjson(final String lines) {
+    return new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8));
+  }
+}
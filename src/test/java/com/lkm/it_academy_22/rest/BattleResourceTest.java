@@ -1,7 +1,11 @@
 package com.lkm.it_academy_22.rest;
 
 import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BattleResultDTO;
+import com.lkm.it_academy_22.model.CursorPage;
 import com.lkm.it_academy_22.service.BattleService;
+import com.lkm.it_academy_22.service.LiveEventService;
+import com.lkm.it_academy_22.service.TournamentActorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -11,11 +15,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -25,6 +31,12 @@ public class BattleResourceTest {
   @Mock
   private BattleService battleService;
 
+  @Mock
+  private TournamentActorService tournamentActorService;
+
+  @Mock
+  private LiveEventService liveEventService;
+
   @InjectMocks
   private BattleResource battleResource;
 
@@ -50,13 +62,14 @@ public class BattleResourceTest {
   @Test
   void getAllBattles_ShouldReturnAllBattles() {
     List<BattleDTO> battles = Arrays.asList(battleDTO);
-    when(battleService.findAll()).thenReturn(battles);
+    when(battleService.findAll(null, CursorPage.DEFAULT_LIMIT))
+        .thenReturn(CursorPage.of(battles, CursorPage.DEFAULT_LIMIT, BattleDTO::getId));
 
-    ResponseEntity<List<BattleDTO>> response = battleResource.getAllBattles();
+    ResponseEntity<List<BattleDTO>> response = battleResource.getAllBattles(null, null, false);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertEquals(battles, response.getBody());
-    verify(battleService).findAll();
+    verify(battleService).findAll(null, CursorPage.DEFAULT_LIMIT);
   }
 
   @Test
@@ -71,6 +84,15 @@ public class BattleResourceTest {
     verify(battleService).get(1);
   }
 
+  @Test
+  void streamBattle_ShouldSubscribeToBattleStream() {
+
+    SseEmitter emitter = new SseEmitter();
+    when(liveEventService.subscribeToBattle(1)).thenReturn(emitter);
+
+    assertSame(emitter, battleResource.streamBattle(1));
+  }
+
   @Test
   void createBattle_ShouldCreateAndReturnId() {
 
@@ -94,4 +116,31 @@ public class BattleResourceTest {
     assertEquals(1, response.getBody());
     verify(battleService).update(1, battleDTO);
   }
-}
\ No newline at end of file
+
+  @Test
+  void recordBattleResult_ShouldReturnNextBattle() {
+
+    BattleResultDTO battleResultDTO = new BattleResultDTO(1, null);
+    when(battleService.recordResult(1, battleResultDTO)).thenReturn(battleDTO);
+
+    ResponseEntity<BattleDTO> response = battleResource.recordBattleResult(1, battleResultDTO);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(battleDTO, response.getBody());
+    verify(battleService).recordResult(1, battleResultDTO);
+  }
+
+  @Test
+  void recordBattleResult_WithActorsEnabled_ShouldRouteToTournamentActor() {
+
+    BattleResultDTO battleResultDTO = new BattleResultDTO(1, null);
+    when(tournamentActorService.isEnabled()).thenReturn(true);
+    when(tournamentActorService.recordResult(1, battleResultDTO)).thenReturn(battleDTO);
+
+    ResponseEntity<BattleDTO> response = battleResource.recordBattleResult(1, battleResultDTO);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(battleDTO, response.getBody());
+    verify(battleService, never()).recordResult(any(), any());
+  }
+}
@@ -0,0 +1,43 @@
+package com.lkm.it_academy_22.rest;
+
+import com.lkm.it_academy_22.model.CacheRegionStatisticsDTO;
+import com.lkm.it_academy_22.service.CacheStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CacheStatisticsResourceTest {
+
+  @Mock
+  private CacheStatisticsService cacheStatisticsService;
+
+  @InjectMocks
+  private CacheStatisticsResource cacheStatisticsResource;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+  }
+
+  @Test
+  void getCacheStatistics_ShouldReturnRegionStatistics() {
+
+    List<CacheRegionStatisticsDTO> statistics = List.of(new CacheRegionStatisticsDTO("tournaments", 9, 1, 1, 1));
+    when(cacheStatisticsService.findAll()).thenReturn(statistics);
+
+    ResponseEntity<List<CacheRegionStatisticsDTO>> response = cacheStatisticsResource.getCacheStatistics();
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(statistics, response.getBody());
+    verify(cacheStatisticsService).findAll();
+  }
+}
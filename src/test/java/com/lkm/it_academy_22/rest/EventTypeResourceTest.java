@@ -0,0 +1,164 @@
+package com.lkm.it_academy_22.rest;
+
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.EventTypeDTO;
+import com.lkm.it_academy_22.service.EventTypeService;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class EventTypeResourceTest {
+
+  @Mock
+  private EventTypeService eventTypeService;
+
+  @InjectMocks
+  private EventTypeResource eventTypeResource;
+
+  private MockMvc mockMvc;
+  private MockHttpServletResponse servletResponse;
+  private EventTypeDTO eventTypeDTO;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    mockMvc = MockMvcBuilders.standaloneSetup(eventTypeResource).build();
+
+    eventTypeDTO = new EventTypeDTO();
+    eventTypeDTO.setId(1);
+    eventTypeDTO.setName("Pitch Convincente");
+    eventTypeDTO.setScoreModifier(5);
+  }
+
+  @Test
+  void getAllEventTypes_ShouldReturnAllEventTypes() {
+
+    List<EventTypeDTO> eventTypes = Arrays.asList(eventTypeDTO);
+    when(eventTypeService.findAll(null, CursorPage.DEFAULT_LIMIT))
+        .thenReturn(CursorPage.of(eventTypes, CursorPage.DEFAULT_LIMIT, EventTypeDTO::getId));
+
+    when(eventTypeService.getVersion()).thenReturn(3L);
+
+    ResponseEntity<List<EventTypeDTO>> response = eventTypeResource.getAllEventTypes(null, null, false, request(null));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(eventTypes, response.getBody());
+    assertEquals("\"3\"", response.getHeaders().getETag());
+    verify(eventTypeService).findAll(null, CursorPage.DEFAULT_LIMIT);
+  }
+
+  @Test
+  void getAllEventTypes_WithCurrentVersion_ShouldReturnNotModified() {
+
+    when(eventTypeService.getVersion()).thenReturn(3L);
+
+    ResponseEntity<List<EventTypeDTO>> response = eventTypeResource.getAllEventTypes(null, null, false,
+        request("\"2\", W/\"3\""));
+
+    assertNull(response);
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+    verify(eventTypeService, never()).findAll(any(), anyInt());
+  }
+
+  @Test
+  void getAllEventTypes_WithStaleVersion_ShouldReturnEventTypes() {
+
+    List<EventTypeDTO> eventTypes = Arrays.asList(eventTypeDTO);
+    when(eventTypeService.findAll(null, CursorPage.DEFAULT_LIMIT))
+        .thenReturn(CursorPage.of(eventTypes, CursorPage.DEFAULT_LIMIT, EventTypeDTO::getId));
+    when(eventTypeService.getVersion()).thenReturn(4L);
+
+    ResponseEntity<List<EventTypeDTO>> response = eventTypeResource.getAllEventTypes(null, null, false, request("\"3\""));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("\"4\"", response.getHeaders().getETag());
+    assertEquals(eventTypes, response.getBody());
+  }
+
+  @Test
+  void getEventType_WithValidId_ShouldReturnEventType() {
+
+    when(eventTypeService.get(1)).thenReturn(eventTypeDTO);
+
+    ResponseEntity<EventTypeDTO> response = eventTypeResource.getEventType(1, request(null));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(eventTypeDTO, response.getBody());
+    verify(eventTypeService).get(1);
+  }
+
+  @Test
+  void getEventType_WithCurrentVersion_ShouldReturnNotModified() {
+
+    when(eventTypeService.getVersion()).thenReturn(3L);
+    when(eventTypeService.existsById(1)).thenReturn(true);
+
+    ResponseEntity<EventTypeDTO> response = eventTypeResource.getEventType(1, request("\"3\""));
+
+    assertNull(response);
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+    verify(eventTypeService, never()).get(any());
+  }
+
+  @Test
+  void getEventType_WithCurrentVersionForUnknownId_ShouldThrowNotFoundException() {
+
+    when(eventTypeService.getVersion()).thenReturn(3L);
+    when(eventTypeService.get(99)).thenThrow(new NotFoundException());
+
+    assertThrows(NotFoundException.class, () -> eventTypeResource.getEventType(99, request("\"3\"")));
+  }
+
+  @Test
+  void createEventType_ShouldCreateAndReturnId() {
+
+    when(eventTypeService.create(any(EventTypeDTO.class))).thenReturn(1);
+
+    ResponseEntity<Integer> response = eventTypeResource.createEventType(eventTypeDTO);
+
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    assertEquals(1, response.getBody());
+    verify(eventTypeService).create(eventTypeDTO);
+  }
+
+  @Test
+  void updateEventType_WithValidId_ShouldUpdateAndReturnId() {
+
+    doNothing().when(eventTypeService).update(eq(1), any(EventTypeDTO.class));
+
+    ResponseEntity<Integer> response = eventTypeResource.updateEventType(1, eventTypeDTO);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(1, response.getBody());
+    verify(eventTypeService).update(1, eventTypeDTO);
+  }
+
+  private ServletWebRequest request(final String ifNoneMatch) {
+    MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/event-types");
+    if (ifNoneMatch != null) {
+      servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    }
+    servletResponse = new MockHttpServletResponse();
+    return new ServletWebRequest(servletRequest, servletResponse);
+  }
+}
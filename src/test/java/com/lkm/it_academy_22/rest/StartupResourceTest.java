@@ -0,0 +1,177 @@
+package com.lkm.it_academy_22.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lkm.it_academy_22.config.JacksonConfig;
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.StartupDTO;
+import com.lkm.it_academy_22.service.StartupService;
+import com.lkm.it_academy_22.service.StartupStandingsService;
+import com.lkm.it_academy_22.util.exceptions.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class StartupResourceTest {
+
+  @Mock
+  private StartupService startupService;
+
+  @Mock
+  private StartupStandingsService startupStandingsService;
+
+  @InjectMocks
+  private StartupResource startupResource;
+
+  private MockMvc mockMvc;
+  private StartupDTO startupDTO;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    Jackson2ObjectMapperBuilder objectMapperBuilder = Jackson2ObjectMapperBuilder.json();
+    new JacksonConfig().jacksonCustomizer().customize(objectMapperBuilder);
+    ObjectMapper objectMapper = objectMapperBuilder.build();
+    mockMvc = MockMvcBuilders.standaloneSetup(startupResource)
+        .setControllerAdvice(new SparseFieldsAdvice(objectMapper))
+        .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+        .build();
+
+    startupDTO = new StartupDTO();
+    startupDTO.setId(1);
+    startupDTO.setName("Test Startup");
+    startupDTO.setDescription("A test startup for unit tests");
+  }
+
+  @Test
+  void getAllStartups_ShouldReturnAllStartups() {
+
+    List<StartupDTO> startups = Arrays.asList(startupDTO);
+    when(startupService.findAll(null, CursorPage.DEFAULT_LIMIT, null))
+        .thenReturn(CursorPage.of(startups, CursorPage.DEFAULT_LIMIT, StartupDTO::getId));
+
+    ResponseEntity<List<StartupDTO>> response = startupResource.getAllStartups(null, null, false, null);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(startups, response.getBody());
+    verify(startupService).findAll(null, CursorPage.DEFAULT_LIMIT, null);
+  }
+
+  @Test
+  void getAllStartups_WithFields_ShouldWriteOnlyThoseProperties() throws Exception {
+
+    startupDTO.setFoundedYear(2020);
+    when(startupService.findAll(null, CursorPage.DEFAULT_LIMIT, Set.of("id", "name")))
+        .thenReturn(CursorPage.of(List.of(startupDTO), CursorPage.DEFAULT_LIMIT, StartupDTO::getId));
+
+    mockMvc.perform(get("/api/startups").param("fields", "id, name"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("[{\"id\":1,\"name\":\"Test Startup\"}]", JsonCompareMode.STRICT));
+  }
+
+  @Test
+  void getStartup_WithFields_ShouldWriteOnlyThoseProperties() throws Exception {
+
+    when(startupService.get(1)).thenReturn(startupDTO);
+
+    mockMvc.perform(get("/api/startups/1").param("fields", "description"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"description\":\"A test startup for unit tests\"}", JsonCompareMode.STRICT));
+  }
+
+  @Test
+  void getStartup_WithUnknownFields_ShouldRejectAndListValidOnes() throws Exception {
+
+    when(startupService.get(1)).thenReturn(startupDTO);
+
+    MvcResult result = mockMvc.perform(get("/api/startups/1").param("fields", "name,logo"))
+        .andExpect(status().isBadRequest())
+        .andReturn();
+
+    assertInstanceOf(BadRequestException.class, result.getResolvedException());
+    assertEquals("Unknown fields [logo], valid fields are "
+        + "[createdAt, description, foundedYear, id, name, slogan].", result.getResolvedException().getMessage());
+  }
+
+  @Test
+  void getStartup_WithoutFields_ShouldWriteEveryProperty() throws Exception {
+
+    when(startupService.get(1)).thenReturn(startupDTO);
+
+    mockMvc.perform(get("/api/startups/1"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"id\":1,\"name\":\"Test Startup\",\"slogan\":null,\"foundedYear\":null,"
+            + "\"description\":\"A test startup for unit tests\",\"createdAt\":null}", JsonCompareMode.STRICT));
+  }
+
+  @Test
+  void getStartup_WithValidId_ShouldReturnStartup() {
+
+    when(startupService.get(1)).thenReturn(startupDTO);
+
+    ResponseEntity<StartupDTO> response = startupResource.getStartup(1);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(startupDTO, response.getBody());
+    verify(startupService).get(1);
+  }
+
+  @Test
+  void createStartup_ShouldCreateAndReturnId() {
+
+    when(startupService.create(any(StartupDTO.class))).thenReturn(1);
+
+    ResponseEntity<Integer> response = startupResource.createStartup(startupDTO);
+
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    assertEquals(1, response.getBody());
+    verify(startupService).create(startupDTO);
+  }
+
+  @Test
+  void updateStartup_WithValidId_ShouldUpdateAndReturnId() {
+
+    doNothing().when(startupService).update(eq(1), any(StartupDTO.class));
+
+    ResponseEntity<Integer> response = startupResource.updateStartup(1, startupDTO);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(1, response.getBody());
+    verify(startupService).update(1, startupDTO);
+  }
+
+  @Test
+  void deleteStartup_WithNoReferences_ShouldDelete() {
+
+    when(startupService.getReferencedWarning(1)).thenReturn(null);
+    doNothing().when(startupService).delete(1);
+
+    ResponseEntity<Void> response = startupResource.deleteStartup(1);
+
+    assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    verify(startupService).getReferencedWarning(1);
+    verify(startupService).delete(1);
+  }
+
+}
\ No newline at end of file
@@ -0,0 +1,375 @@
+package com.lkm.it_academy_22.rest;
+
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BracketDTO;
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.LeaderboardEntryDTO;
+import com.lkm.it_academy_22.model.TournamentDTO;
+import com.lkm.it_academy_22.model.TournamentFullDTO;
+import com.lkm.it_academy_22.service.LeaderboardService;
+import com.lkm.it_academy_22.service.LiveEventService;
+import com.lkm.it_academy_22.service.TournamentArchiveService;
+import com.lkm.it_academy_22.service.TournamentArchiveService.ArchivedView;
+import com.lkm.it_academy_22.service.TournamentArchiveService.View;
+import com.lkm.it_academy_22.service.TournamentService;
+import com.lkm.it_academy_22.service.TournamentVersions;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TournamentResourceTest {
+
+  @Mock
+  private TournamentService tournamentService;
+
+  @Mock
+  private LeaderboardService leaderboardService;
+
+  @Mock
+  private LiveEventService liveEventService;
+
+  @Mock
+  private TournamentVersions tournamentVersions;
+
+  @Mock
+  private TournamentArchiveService tournamentArchiveService;
+
+  @InjectMocks
+  private TournamentResource tournamentResource;
+
+  private MockMvc mockMvc;
+  private MockHttpServletResponse servletResponse;
+  private TournamentDTO tournamentDTO;
+  private BattleDTO battleDTO;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    mockMvc = MockMvcBuilders.standaloneSetup(tournamentResource).build();
+
+    tournamentDTO = new TournamentDTO();
+    tournamentDTO.setId(1);
+    tournamentDTO.setName("Tournament Test");
+
+    battleDTO = new BattleDTO();
+    battleDTO.setId(1);
+    battleDTO.setBattleNumber(1);
+    battleDTO.setRoundNumber(1);
+    battleDTO.setSharkFight(false);
+    battleDTO.setCompleted(false);
+    battleDTO.setTournament(1);
+    battleDTO.setStartup1(1);
+    battleDTO.setStartup2(2);
+  }
+
+  @Test
+  void getAllTournaments_ShouldReturnAllTournaments() {
+
+    List<TournamentDTO> tournaments = Arrays.asList(tournamentDTO);
+    when(tournamentService.findAll(null, CursorPage.DEFAULT_LIMIT))
+        .thenReturn(CursorPage.of(tournaments, CursorPage.DEFAULT_LIMIT, TournamentDTO::getId));
+
+    ResponseEntity<List<TournamentDTO>> response = tournamentResource.getAllTournaments(null, null, false);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(tournaments, response.getBody());
+    verify(tournamentService).findAll(null, CursorPage.DEFAULT_LIMIT);
+  }
+
+  @Test
+  void getTournament_WithValidId_ShouldReturnTournament() {
+
+    when(tournamentService.get(1)).thenReturn(tournamentDTO);
+
+    ResponseEntity<TournamentDTO> response = tournamentResource.getTournament(1, request(null));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(tournamentDTO, response.getBody());
+    verify(tournamentService).get(1);
+  }
+
+  @Test
+  void getTournament_WithCurrentVersion_ShouldReturnNotModified() {
+
+    when(tournamentVersions.getVersion(1)).thenReturn(7L);
+    when(tournamentVersions.isTracked(1)).thenReturn(true);
+
+    ResponseEntity<TournamentDTO> response = tournamentResource.getTournament(1, request("\"7\""));
+
+    assertNull(response);
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+    assertEquals("\"7\"", servletResponse.getHeader(HttpHeaders.ETAG));
+    verify(tournamentService, never()).get(any());
+  }
+
+  @Test
+  void getTournament_WithWeakTagInList_ShouldReturnNotModified() {
+
+    when(tournamentVersions.getVersion(1)).thenReturn(7L);
+    when(tournamentVersions.isTracked(1)).thenReturn(true);
+
+    ResponseEntity<TournamentDTO> response = tournamentResource.getTournament(1, request("\"6\", W/\"7\""));
+
+    assertNull(response);
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+  }
+
+  @Test
+  void getTournament_WithCurrentVersionForUnknownId_ShouldThrowNotFoundException() {
+
+    when(tournamentVersions.getVersion(99)).thenReturn(7L);
+    when(tournamentService.get(99)).thenThrow(new NotFoundException());
+
+    assertThrows(NotFoundException.class, () -> tournamentResource.getTournament(99, request("\"7\"")));
+  }
+
+  @Test
+  void getTournament_WithCurrentVersionForUntrackedId_ShouldReturnTournamentAndTrackIt() {
+
+    when(tournamentVersions.getVersion(1)).thenReturn(7L);
+    when(tournamentService.get(1)).thenReturn(tournamentDTO);
+
+    ResponseEntity<TournamentDTO> response = tournamentResource.getTournament(1, request("\"7\""));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("\"7\"", response.getHeaders().getETag());
+    assertEquals(tournamentDTO, response.getBody());
+    verify(tournamentVersions).track(1, 7L);
+  }
+
+  @Test
+  void getTournament_WithStaleVersion_ShouldReturnTournament() {
+
+    when(tournamentVersions.getVersion(1)).thenReturn(8L);
+    when(tournamentService.get(1)).thenReturn(tournamentDTO);
+    when(tournamentVersions.isTracked(1)).thenReturn(true);
+
+    ResponseEntity<TournamentDTO> response = tournamentResource.getTournament(1, request("\"7\""));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("\"8\"", response.getHeaders().getETag());
+    assertEquals(tournamentDTO, response.getBody());
+  }
+
+  @Test
+  void getTournamentBattles_WithValidId_ShouldReturnBattles() {
+
+    List<BattleDTO> battles = Arrays.asList(battleDTO);
+    when(tournamentService.getBattlesByTournamentId(1)).thenReturn(battles);
+
+    ResponseEntity<List<BattleDTO>> response = tournamentResource.getTournamentBattles(1, request(null));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(battles, response.getBody());
+    verify(tournamentService).getBattlesByTournamentId(1);
+    verify(tournamentVersions).track(1, 0L);
+  }
+
+  @Test
+  void getTournamentFull_ShouldReturnAggregate() {
+
+    TournamentFullDTO fullDTO = new TournamentFullDTO(tournamentDTO, List.of(), List.of(battleDTO), List.of());
+    when(tournamentService.getFull(1)).thenReturn(fullDTO);
+
+    ResponseEntity<TournamentFullDTO> response = tournamentResource.getTournamentFull(1);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertSame(fullDTO, response.getBody());
+    verify(tournamentService).getFull(1);
+  }
+
+  @Test
+  void getTournamentBattles_WithCurrentVersion_ShouldReturnNotModified() {
+
+    when(tournamentVersions.getVersion(1)).thenReturn(7L);
+    when(tournamentVersions.isTracked(1)).thenReturn(true);
+
+    ResponseEntity<List<BattleDTO>> response = tournamentResource.getTournamentBattles(1, request("W/\"7\""));
+
+    assertNull(response);
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+    verify(tournamentService, never()).getBattlesByTournamentId(any());
+  }
+
+  @Test
+  void streamTournament_ShouldSubscribeToTournamentStream() {
+
+    SseEmitter emitter = new SseEmitter();
+    when(liveEventService.subscribeToTournament(1)).thenReturn(emitter);
+
+    assertSame(emitter, tournamentResource.streamTournament(1));
+  }
+
+  @Test
+  void getTournamentBattles_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(tournamentService.getBattlesByTournamentId(99)).thenThrow(new NotFoundException());
+
+    assertThrows(NotFoundException.class, () -> tournamentResource.getTournamentBattles(99, request(null)));
+  }
+
+  @Test
+  void getLeaderboard_ShouldReturnTopEntriesWithDefaultLimit() {
+
+    List<LeaderboardEntryDTO> entries = List.of(new LeaderboardEntryDTO(1, 2, 102, 100, false));
+    when(leaderboardService.getTop(1, CursorPage.DEFAULT_LIMIT)).thenReturn(entries);
+
+    ResponseEntity<List<LeaderboardEntryDTO>> response = tournamentResource.getLeaderboard(1, null);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(entries, response.getBody());
+  }
+
+  @Test
+  void getLeaderboardEntry_ShouldReturnRankOfStartup() {
+
+    LeaderboardEntryDTO entry = new LeaderboardEntryDTO(3, 2, 102, 70, true);
+    when(leaderboardService.getEntry(1, 2)).thenReturn(entry);
+
+    ResponseEntity<LeaderboardEntryDTO> response = tournamentResource.getLeaderboardEntry(1, 2);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(entry, response.getBody());
+  }
+
+  @Test
+  void generateBracket_ShouldReturnCreatedBattles() {
+
+    BracketDTO bracketDTO = new BracketDTO(true, 7L, null);
+    List<BattleDTO> battles = Arrays.asList(battleDTO);
+    when(tournamentService.generateBracket(1, bracketDTO)).thenReturn(battles);
+
+    ResponseEntity<List<BattleDTO>> response = tournamentResource.generateBracket(1, bracketDTO);
+
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    assertEquals(battles, response.getBody());
+    verify(tournamentService).generateBracket(1, bracketDTO);
+  }
+
+  @Test
+  void createTournament_ShouldCreateAndReturnId() {
+
+    when(tournamentService.create(any(TournamentDTO.class))).thenReturn(1);
+
+    ResponseEntity<Integer> response = tournamentResource.createTournament(tournamentDTO);
+
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    assertEquals(1, response.getBody());
+    verify(tournamentService).create(tournamentDTO);
+  }
+
+  @Test
+  void updateTournament_WithValidId_ShouldUpdateAndReturnId() {
+
+    doNothing().when(tournamentService).update(eq(1), any(TournamentDTO.class));
+
+    ResponseEntity<Integer> response = tournamentResource.updateTournament(1, tournamentDTO);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(1, response.getBody());
+    verify(tournamentService).update(1, tournamentDTO);
+  }
+
+  @Test
+  void deleteTournament_WithNoReferences_ShouldDelete() {
+
+    when(tournamentService.getReferencedWarning(1)).thenReturn(null);
+    doNothing().when(tournamentService).delete(1);
+
+    ResponseEntity<Void> response = tournamentResource.deleteTournament(1);
+
+    assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    verify(tournamentService).getReferencedWarning(1);
+    verify(tournamentService).delete(1);
+  }
+
+  @Test
+  void getArchivedBracket_AcceptingGzip_ShouldWriteCachedBytes() throws IOException {
+
+    ArchivedView archivedView = new ArchivedView(5L, gzip("[{\"id\":1}]"));
+    when(tournamentArchiveService.get(1, View.BRACKET)).thenReturn(archivedView);
+
+    ResponseEntity<byte[]> response = tournamentResource.getArchivedBracket(1, "deflate, gzip;q=0.8", request(null));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), response.getHeaders().getVary());
+    assertEquals("\"5\"", response.getHeaders().getETag());
+    assertSame(archivedView.gzipped(), response.getBody());
+  }
+
+  @Test
+  void getArchivedTournament_WithoutGzip_ShouldWritePlainJson() throws IOException {
+
+    when(tournamentArchiveService.get(1, View.TOURNAMENT)).thenReturn(new ArchivedView(5L, gzip("{\"id\":1}")));
+
+    ResponseEntity<byte[]> response = tournamentResource.getArchivedTournament(1, "gzip;q=0", request(null));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    assertEquals("{\"id\":1}", new String(response.getBody(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void getArchivedEvents_WithCurrentVersion_ShouldReturnNotModified() throws IOException {
+
+    when(tournamentArchiveService.get(1, View.EVENTS)).thenReturn(new ArchivedView(5L, gzip("[]")));
+
+    ResponseEntity<byte[]> response = tournamentResource.getArchivedEvents(1, "gzip", request("W/\"5\""));
+
+    assertNull(response);
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+  }
+
+  @Test
+  void getArchivedParticipants_WithOngoingTournament_ShouldThrowNotFoundException() {
+
+    when(tournamentArchiveService.get(1, View.PARTICIPANTS)).thenThrow(new NotFoundException());
+
+    assertThrows(NotFoundException.class, () -> tournamentResource.getArchivedParticipants(1, "gzip", request("\"5\"")));
+  }
+
+  private static byte[] gzip(final String json) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(json.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+  private ServletWebRequest request(final String ifNoneMatch) {
+    MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/tournaments/1");
+    if (ifNoneMatch != null) {
+      servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    }
+    servletResponse = new MockHttpServletResponse();
+    return new ServletWebRequest(servletRequest, servletResponse);
+  }
+}
@@ -1,19 +1,25 @@
 package com.lkm.it_academy_22.rest;
 
+import com.lkm.it_academy_22.model.CursorPage;
 import com.lkm.it_academy_22.model.TournamentStartupDTO;
-import com.lkm.it_academy_22.service.TournamentService;
 import com.lkm.it_academy_22.service.TournamentStartupService;
+import com.lkm.it_academy_22.service.TournamentVersions;
 import com.lkm.it_academy_22.util.ReferencedWarning;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
 import com.lkm.it_academy_22.util.exceptions.ReferencedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -30,12 +36,13 @@ public class TournamentStartupResourceTest {
   private TournamentStartupService tournamentStartupService;
 
   @Mock
-  private TournamentService tournamentService;
+  private TournamentVersions tournamentVersions;
 
   @InjectMocks
   private TournamentStartupResource tournamentStartupResource;
 
   private MockMvc mockMvc;
+  private MockHttpServletResponse servletResponse;
   private TournamentStartupDTO tournamentStartupDTO;
 
   @BeforeEach
@@ -53,13 +60,14 @@ public class TournamentStartupResourceTest {
   void getAllTournamentStartups_ShouldReturnAllTournamentStartups() {
 
     List<TournamentStartupDTO> tournamentStartups = Arrays.asList(tournamentStartupDTO);
-    when(tournamentStartupService.findAll()).thenReturn(tournamentStartups);
+    when(tournamentStartupService.findAll(null, CursorPage.DEFAULT_LIMIT))
+        .thenReturn(CursorPage.of(tournamentStartups, CursorPage.DEFAULT_LIMIT, TournamentStartupDTO::getId));
 
-    ResponseEntity<List<TournamentStartupDTO>> response = tournamentStartupResource.getAllTournamentStartups();
+    ResponseEntity<List<TournamentStartupDTO>> response = tournamentStartupResource.getAllTournamentStartups(null, null, false);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertEquals(tournamentStartups, response.getBody());
-    verify(tournamentStartupService).findAll();
+    verify(tournamentStartupService).findAll(null, CursorPage.DEFAULT_LIMIT);
   }
 
   @Test
@@ -78,29 +86,39 @@ public class TournamentStartupResourceTest {
   void getTournamentStartupsByTournamentId_WithValidId_ShouldReturnTournamentStartups() {
 
     List<TournamentStartupDTO> tournamentStartups = Arrays.asList(tournamentStartupDTO);
-    when(tournamentService.existsById(1)).thenReturn(true);
     when(tournamentStartupService.getTournamentStartupsByTournamentId(1)).thenReturn(tournamentStartups);
 
     ResponseEntity<List<TournamentStartupDTO>> response = tournamentStartupResource
-        .getTournamentStartupsByTournamentId(1);
+        .getTournamentStartupsByTournamentId(1, request(null));
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertEquals(tournamentStartups, response.getBody());
-    verify(tournamentService).existsById(1);
     verify(tournamentStartupService).getTournamentStartupsByTournamentId(1);
   }
 
   @Test
-  void getTournamentStartupsByTournamentId_WithInvalidId_ShouldReturnNotFound() {
+  void getTournamentStartupsByTournamentId_WithInvalidId_ShouldThrowNotFoundException() {
 
-    when(tournamentService.existsById(99)).thenReturn(false);
+    when(tournamentStartupService.getTournamentStartupsByTournamentId(99)).thenThrow(new NotFoundException());
+
+    assertThrows(NotFoundException.class, () -> tournamentStartupResource
+        .getTournamentStartupsByTournamentId(99, request(null)));
+    verify(tournamentVersions, never()).track(anyInt(), anyLong());
+  }
+
+  @Test
+  void getTournamentStartupsByTournamentId_WithCurrentVersion_ShouldReturnNotModified() {
+
+    when(tournamentVersions.getVersion(1)).thenReturn(7L);
+    when(tournamentVersions.isTracked(1)).thenReturn(true);
 
     ResponseEntity<List<TournamentStartupDTO>> response = tournamentStartupResource
-        .getTournamentStartupsByTournamentId(99);
+        .getTournamentStartupsByTournamentId(1, request("W/\"7\""));
 
-    assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-    verify(tournamentService).existsById(99);
-    verify(tournamentStartupService, never()).getTournamentStartupsByTournamentId(anyInt());
+    assertNull(response);
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+    assertEquals("\"7\"", servletResponse.getHeader(HttpHeaders.ETAG));
+    verify(tournamentStartupService, never()).getTournamentStartupsByTournamentId(any());
   }
 
   @Test
@@ -139,4 +157,13 @@ public class TournamentStartupResourceTest {
     verify(tournamentStartupService).getReferencedWarning(1);
     verify(tournamentStartupService).delete(1);
   }
-}
\ No newline at end of file
+
+  private ServletWebRequest request(final String ifNoneMatch) {
+    MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/tournament-startups/1/startups");
+    if (ifNoneMatch != null) {
+      servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    }
+    servletResponse = new MockHttpServletResponse();
+    return new ServletWebRequest(servletRequest, servletResponse);
+  }
+}
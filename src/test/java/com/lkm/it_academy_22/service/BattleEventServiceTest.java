@@ -0,0 +1,299 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.domain.*;
+import com.lkm.it_academy_22.model.BattleEventDTO;
+import com.lkm.it_academy_22.repos.*;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BattleEventServiceTest {
+
+  @Mock
+  private BattleEventRepository battleEventRepository;
+
+  @Mock
+  private BattleRepository battleRepository;
+
+  @Mock
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+
+  @Mock
+  private EventTypeRepository eventTypeRepository;
+
+  @Mock
+  private EventTypeRegistry eventTypeRegistry;
+
+  @Mock
+  private StartupStandingsService startupStandingsService;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @InjectMocks
+  private BattleEventService battleEventService;
+
+  private Battle battle;
+  private TournamentStartup tournamentStartup;
+  private EventType eventType;
+  private BattleEvent battleEvent;
+  private BattleEventDTO battleEventDTO;
+
+  @BeforeEach
+  void setUp() {
+    Tournament tournament = new Tournament();
+    tournament.setId(1);
+    tournament.setName("Test Tournament");
+
+    tournamentStartup = new TournamentStartup();
+    tournamentStartup.setId(1);
+    tournamentStartup.setCurrentScore(70);
+    tournamentStartup.setTournament(tournament);
+
+    battle = new Battle();
+    battle.setId(1);
+    battle.setTournament(tournament);
+    battle.setStartup1(tournamentStartup);
+    battle.setBattleNumber(1);
+
+    eventType = new EventType();
+    eventType.setId(1);
+    eventType.setName("Test Event");
+    eventType.setScoreModifier(5);
+
+    battleEvent = new BattleEvent();
+    battleEvent.setId(1);
+    battleEvent.setBattle(battle);
+    battleEvent.setStartup(tournamentStartup);
+    battleEvent.setEventType(eventType);
+    battleEvent.setCreatedAt(OffsetDateTime.now());
+
+    battleEventDTO = new BattleEventDTO();
+    battleEventDTO.setId(1);
+    battleEventDTO.setBattle(1);
+    battleEventDTO.setStartup(1);
+    battleEventDTO.setEventType(1);
+  }
+
+  @Test
+  void findAll_ShouldReturnAllBattleEvents() {
+
+    when(battleEventRepository.findDTOPage(Integer.MIN_VALUE, Limit.of(101))).thenReturn(Arrays.asList(new BattleEventDTO(1, battleEvent.getCreatedAt(), 1, 1, 1)));
+
+    List<BattleEventDTO> result = battleEventService.findAll(null, 100).getItems();
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+    assertEquals(1, result.get(0).getBattle());
+    assertEquals(1, result.get(0).getStartup());
+    assertEquals(1, result.get(0).getEventType());
+    verify(battleEventRepository).findDTOPage(Integer.MIN_VALUE, Limit.of(101));
+  }
+
+  @Test
+  void findByBattleAndTournamentStartup_ShouldReturnMatchingEvents() {
+
+    when(battleRepository.existsById(1)).thenReturn(true);
+    when(tournamentStartupRepository.existsById(1)).thenReturn(true);
+    when(battleEventRepository.findDTOsByBattleIdAndStartupId(1, 1))
+        .thenReturn(Arrays.asList(new BattleEventDTO(1, battleEvent.getCreatedAt(), 1, 1, 1)));
+
+    List<BattleEventDTO> result = battleEventService.findByBattleAndTournamentStartup(1, 1);
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+    assertEquals(1, result.get(0).getBattle());
+    assertEquals(1, result.get(0).getStartup());
+    verify(battleRepository).existsById(1);
+    verify(tournamentStartupRepository).existsById(1);
+    verify(battleEventRepository).findDTOsByBattleIdAndStartupId(1, 1);
+    verify(battleRepository, never()).findById(any());
+  }
+
+  @Test
+  void findByTournamentStartup_ShouldReturnMatchingEvents() {
+
+    when(tournamentStartupRepository.existsById(1)).thenReturn(true);
+    when(battleEventRepository.findDTOsByStartupId(1))
+        .thenReturn(Arrays.asList(new BattleEventDTO(1, battleEvent.getCreatedAt(), 1, 1, 1)));
+
+    List<BattleEventDTO> result = battleEventService.findByTournamentStartup(1);
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+    assertEquals(1, result.get(0).getBattle());
+    assertEquals(1, result.get(0).getStartup());
+    verify(tournamentStartupRepository).existsById(1);
+    verify(battleEventRepository).findDTOsByStartupId(1);
+  }
+
+  @Test
+  void get_WithValidId_ShouldReturnBattleEvent() {
+
+    when(battleEventRepository.findDTOById(1)).thenReturn(Optional.of(new BattleEventDTO(1, battleEvent.getCreatedAt(), 1, 1, 1)));
+
+    BattleEventDTO result = battleEventService.get(1);
+
+    assertNotNull(result);
+    assertEquals(1, result.getBattle());
+    assertEquals(1, result.getStartup());
+    assertEquals(1, result.getEventType());
+    verify(battleEventRepository).findDTOById(1);
+  }
+
+  @Test
+  void get_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(battleEventRepository.findDTOById(99)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> battleEventService.get(99));
+    verify(battleEventRepository).findDTOById(99);
+  }
+
+  @Test
+  void create_WithValidData_ShouldSaveAndReturnId() {
+
+    when(battleRepository.findById(1)).thenReturn(Optional.of(battle));
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(tournamentStartup));
+    when(eventTypeRegistry.contains(1)).thenReturn(true);
+    when(eventTypeRegistry.getScoreModifier(1)).thenReturn(5);
+    when(eventTypeRepository.getReferenceById(1)).thenReturn(eventType);
+    when(battleEventRepository.save(any(BattleEvent.class))).thenReturn(battleEvent);
+    when(tournamentStartupRepository.incrementCurrentScore(1, 5)).thenReturn(1);
+
+    Integer result = battleEventService.create(battleEventDTO);
+
+    assertEquals(1, result);
+    verify(battleRepository).findById(1);
+    verify(tournamentStartupRepository).findById(1);
+    verify(eventTypeRepository, never()).findById(any());
+    verify(battleEventRepository).save(any(BattleEvent.class));
+    verify(tournamentStartupRepository).incrementCurrentScore(1, 5); // 70 + 5 (score modifier)
+    verify(tournamentStartupRepository, never()).findCurrentScoreById(any());
+    verify(eventPublisher).publishEvent(any(DomainEvents.BattleEventRecorded.class));
+    verify(eventPublisher).publishEvent(new DomainEvents.TournamentChanged(1));
+    verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof DomainEvents.ScoresChanged changed
+        && changed.byBattleEvents() && changed.deltas().equals(List.of(new ScoreDeltas.ScoreDelta(1, 1, 5)))));
+    verify(tournamentStartupRepository, never()).saveAndFlush(any(TournamentStartup.class));
+  }
+
+  @Test
+  void createAll_WithValidData_ShouldSaveBatchAndCoalesceScores() {
+
+    BattleEventDTO secondEventDTO = new BattleEventDTO();
+    secondEventDTO.setBattle(1);
+    secondEventDTO.setStartup(1);
+    secondEventDTO.setEventType(1);
+
+    when(battleRepository.findAllById(List.of(1))).thenReturn(List.of(battle));
+    when(tournamentStartupRepository.findAllById(List.of(1))).thenReturn(List.of(tournamentStartup));
+    when(eventTypeRegistry.getScoreModifier(1)).thenReturn(5);
+    when(eventTypeRepository.getReferenceById(1)).thenReturn(eventType);
+    when(battleEventRepository.saveAll(anyList())).thenAnswer(invocation -> {
+      List<BattleEvent> saved = invocation.getArgument(0);
+      for (int i = 0; i < saved.size(); i++) {
+        saved.get(i).setId(10 + i);
+      }
+      return saved;
+    });
+
+    when(tournamentStartupRepository.incrementCurrentScore(1, 10)).thenReturn(1);
+
+    List<Integer> result = battleEventService.createAll(List.of(battleEventDTO, secondEventDTO));
+
+    assertEquals(List.of(10, 11), result);
+    verify(tournamentStartupRepository).incrementCurrentScore(1, 10); // 5 + 5, applied once
+    verify(tournamentStartupRepository, never()).findCurrentScoreById(any());
+    verify(battleRepository).findAllById(List.of(1));
+    verify(tournamentStartupRepository).findAllById(List.of(1));
+    verify(eventTypeRepository, never()).findAllById(any());
+    verify(battleEventRepository).saveAll(anyList());
+    verify(tournamentStartupRepository, never()).findById(any());
+  }
+
+  @Test
+  void createAllDeferringScores_ShouldReturnScoresWithoutUpdating() {
+
+    when(battleRepository.findAllById(List.of(1))).thenReturn(List.of(battle));
+    when(tournamentStartupRepository.findAllById(List.of(1))).thenReturn(List.of(tournamentStartup));
+    when(eventTypeRegistry.getScoreModifier(1)).thenReturn(5);
+    when(eventTypeRepository.getReferenceById(1)).thenReturn(eventType);
+    when(battleEventRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    ScoreDeltas scoreDeltas = new ScoreDeltas();
+    scoreDeltas.add(1, 1, 3);
+
+    battleEventService.createAllDeferringScores(List.of(battleEventDTO), scoreDeltas);
+
+    assertEquals(List.of(new ScoreDeltas.ScoreDelta(1, 1, 8)), List.copyOf(scoreDeltas.values()));
+    verify(tournamentStartupRepository, never()).incrementCurrentScore(any(), anyInt());
+    verify(eventPublisher, never()).publishEvent(any(DomainEvents.ScoresChanged.class));
+  }
+
+  @Test
+  void createAll_WithUnknownEventType_ShouldThrowNotFoundException() {
+
+    when(battleRepository.findAllById(List.of(1))).thenReturn(List.of(battle));
+    when(tournamentStartupRepository.findAllById(List.of(1))).thenReturn(List.of(tournamentStartup));
+    when(eventTypeRegistry.getScoreModifier(1)).thenThrow(new NotFoundException("EventType not found with ID: 1"));
+
+    assertThrows(NotFoundException.class, () -> battleEventService.createAll(List.of(battleEventDTO)));
+    verify(battleEventRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void update_WithValidId_ShouldUpdateBattleEvent() {
+
+    when(battleEventRepository.findById(1)).thenReturn(Optional.of(battleEvent));
+    when(battleRepository.findById(1)).thenReturn(Optional.of(battle));
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(tournamentStartup));
+    when(eventTypeRegistry.contains(1)).thenReturn(true);
+    when(eventTypeRepository.getReferenceById(1)).thenReturn(eventType);
+    when(battleEventRepository.save(any(BattleEvent.class))).thenReturn(battleEvent);
+
+    battleEventService.update(1, battleEventDTO);
+
+    verify(battleEventRepository).findById(1);
+    verify(battleRepository).findById(1);
+    verify(tournamentStartupRepository).findById(1);
+    verify(eventTypeRepository).getReferenceById(1);
+    verify(battleEventRepository).save(battleEvent);
+  }
+
+  @Test
+  void update_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(battleEventRepository.findById(99)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> battleEventService.update(99, battleEventDTO));
+    verify(battleEventRepository).findById(99);
+    verify(battleEventRepository, never()).save(any(BattleEvent.class));
+  }
+
+  @Test
+  void delete_ShouldCallRepository() {
+
+    battleEventService.delete(1);
+
+    verify(battleEventRepository).deleteById(1);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.domain.Startup;
+import com.lkm.it_academy_22.domain.Tournament;
+import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BattleResultDTO;
+import com.lkm.it_academy_22.model.TournamentDTO;
+import com.lkm.it_academy_22.repos.StartupRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BattleService.class, TournamentService.class, BracketIndex.class, TournamentLocks.class, TournamentActorService.class, TournamentStateStore.class,
+    LeaderboardService.class, StartupStandingsService.class, LiveEventService.class, TournamentVersions.class,
+    JacksonAutoConfiguration.class})
+public class BattleResultStatementCountTest {
+
+  @Autowired
+  private BattleService battleService;
+
+  @Autowired
+  private TournamentService tournamentService;
+
+  @Autowired
+  private BracketIndex bracketIndex;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private StartupRepository startupRepository;
+
+  @Autowired
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private Statistics statistics;
+  private Integer tournamentId;
+  private List<BattleDTO> battles;
+
+  @BeforeEach
+  void setUp() {
+    Tournament tournament = new Tournament();
+    tournament.setName("Result Tournament");
+    tournamentRepository.save(tournament);
+    tournamentId = tournament.getId();
+
+    for (int i = 0; i < 4; i++) {
+      Startup startup = new Startup();
+      startup.setName("Startup " + i);
+      startupRepository.save(startup);
+
+      TournamentStartup tournamentStartup = new TournamentStartup();
+      tournamentStartup.setTournament(tournament);
+      tournamentStartup.setStartup(startup);
+      tournamentStartup.setCurrentScore(70);
+      tournamentStartupRepository.save(tournamentStartup);
+    }
+    battles = tournamentService.generateBracket(tournamentId, null);
+    bracketIndex.getBracketSize(tournamentId);
+
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void recordResult_ShouldAdvanceWithHandfulOfStatements() {
+
+    BattleDTO parent = battleService.recordResult(battles.get(0).getId(), new BattleResultDTO(battles.get(0).getStartup2(), null));
+
+    // the tournament id lookup that takes the lock comes first, then the battle read and the targeted updates
+    assertTrue(statistics.getPrepareStatementCount() <= 8);
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertEquals(3, parent.getBattleNumber());
+    assertEquals(battles.get(0).getStartup2(), parent.getStartup1());
+    assertEquals(100, tournamentStartupRepository.findCurrentScoreById(battles.get(0).getStartup2()));
+  }
+
+  @Test
+  void recordResult_ForFinal_ShouldCrownChampion() {
+
+    battleService.recordResult(battles.get(0).getId(), new BattleResultDTO(battles.get(0).getStartup1(), null));
+    battleService.recordResult(battles.get(1).getId(), new BattleResultDTO(battles.get(1).getStartup1(), null));
+    BattleDTO finalBattle = battleService.recordResult(battles.get(2).getId(),
+        new BattleResultDTO(battles.get(0).getStartup1(), null));
+    entityManager.clear();
+
+    TournamentDTO tournament = tournamentService.get(tournamentId);
+    assertEquals(battles.get(2).getId(), finalBattle.getId());
+    assertEquals(battles.get(0).getStartup1(), finalBattle.getWinner());
+    assertEquals("COMPLETED", tournament.getStatus());
+    assertEquals(tournamentStartupRepository.findDTOById(battles.get(0).getStartup1()).orElseThrow().getStartup(),
+        tournament.getChampion());
+    assertThrows(IllegalStateException.class, () -> battleService.recordResult(battles.get(2).getId(),
+        new BattleResultDTO(battles.get(0).getStartup1(), null)));
+  }
+}
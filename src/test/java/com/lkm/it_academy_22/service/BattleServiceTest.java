@@ -0,0 +1,525 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.domain.*;
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BattleResultDTO;
+import com.lkm.it_academy_22.model.EntityReference;
+import com.lkm.it_academy_22.repos.*;
+import com.lkm.it_academy_22.util.ReferencedWarning;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BattleServiceTest {
+
+  @Mock
+  private BattleRepository battleRepository;
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+
+  @Mock
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Mock
+  private BracketIndex bracketIndex;
+
+  @Mock
+  private TournamentActorService tournamentActorService;
+
+  @Mock
+  private StartupStandingsService startupStandingsService;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @InjectMocks
+  private BattleService battleService;
+
+  private Tournament tournament;
+  private TournamentStartup startup1;
+  private TournamentStartup startup2;
+  private Battle battle;
+  private BattleDTO battleDTO;
+
+  @BeforeEach
+  void setUp() {
+    tournament = new Tournament();
+    tournament.setId(1);
+    tournament.setName("Test Tournament");
+    tournament.setStatus("ACTIVE");
+
+    startup1 = new TournamentStartup();
+    startup1.setId(1);
+    startup1.setCurrentScore(70);
+    startup1.setEliminated(false);
+    startup1.setTournament(tournament);
+
+    startup2 = new TournamentStartup();
+    startup2.setId(2);
+    startup2.setCurrentScore(70);
+    startup2.setEliminated(false);
+    startup2.setTournament(tournament);
+
+    battle = new Battle();
+    battle.setId(1);
+    battle.setTournament(tournament);
+    battle.setStartup1(startup1);
+    battle.setStartup2(startup2);
+    battle.setBattleNumber(1);
+    battle.setRoundNumber(1);
+    battle.setCompleted(false);
+    battle.setSharkFight(false);
+    battle.setCreatedAt(OffsetDateTime.now());
+
+    battleDTO = new BattleDTO();
+    battleDTO.setTournament(1);
+    battleDTO.setStartup1(1);
+    battleDTO.setStartup2(2);
+    battleDTO.setBattleNumber(1);
+    battleDTO.setRoundNumber(1);
+    battleDTO.setCompleted(false);
+    battleDTO.setSharkFight(false);
+  }
+
+  @Test
+  void findAll_ShouldReturnAllBattles() {
+
+    when(battleRepository.findDTOPage(Integer.MIN_VALUE, Limit.of(101))).thenReturn(Arrays.asList(new BattleDTO(1, 1, 1, false, false, battle.getCreatedAt(), 1, 1, 2, null)));
+
+    List<BattleDTO> result = battleService.findAll(null, 100).getItems();
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+    assertEquals(1, result.get(0).getBattleNumber());
+    assertEquals(1, result.get(0).getRoundNumber());
+    verify(battleRepository).findDTOPage(Integer.MIN_VALUE, Limit.of(101));
+  }
+
+  @Test
+  void get_WithValidId_ShouldReturnBattle() {
+
+    when(battleRepository.findDTOById(1)).thenReturn(Optional.of(new BattleDTO(1, 1, 1, false, false, battle.getCreatedAt(), 1, 1, 2, null)));
+
+    BattleDTO result = battleService.get(1);
+
+    assertNotNull(result);
+    assertEquals(1, result.getBattleNumber());
+    assertEquals(1, result.getRoundNumber());
+    assertEquals(1, result.getTournament());
+    assertEquals(1, result.getStartup1());
+    assertEquals(2, result.getStartup2());
+    verify(battleRepository).findDTOById(1);
+  }
+
+  @Test
+  void get_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(battleRepository.findDTOById(99)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> battleService.get(99));
+    verify(battleRepository).findDTOById(99);
+  }
+
+  @Test
+  void create_ShouldSaveAndReturnId() {
+
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(startup1));
+    when(tournamentStartupRepository.findById(2)).thenReturn(Optional.of(startup2));
+    when(battleRepository.save(any(Battle.class))).thenReturn(battle);
+
+    Integer result = battleService.create(battleDTO);
+
+    assertEquals(1, result);
+    verify(tournamentRepository).findById(1);
+    verify(tournamentStartupRepository).findById(1);
+    verify(tournamentStartupRepository).findById(2);
+    verify(battleRepository).save(any(Battle.class));
+  }
+
+  @Test
+  void update_WithValidId_ShouldUpdateBattle() {
+
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    when(battleRepository.findById(1)).thenReturn(Optional.of(battle));
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(startup1));
+    when(tournamentStartupRepository.findById(2)).thenReturn(Optional.of(startup2));
+    when(battleRepository.save(any(Battle.class))).thenReturn(battle);
+
+    battleDTO.setCompleted(true);
+
+    battleService.update(1, battleDTO);
+
+    assertTrue(battle.getCompleted());
+    verify(battleRepository).findById(1);
+    verify(tournamentRepository).findById(1);
+    verify(tournamentStartupRepository).findById(1);
+    verify(tournamentStartupRepository).findById(2);
+    verify(battleRepository).save(battle);
+  }
+
+  @Test
+  void update_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(battleRepository.findTournamentIdById(99)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> battleService.update(99, battleDTO));
+    verifyNoInteractions(tournamentActorService);
+    verify(battleRepository, never()).save(any(Battle.class));
+  }
+
+  @Test
+  void update_WithOtherTournamentInBody_ShouldLockNothingAndThrowIllegalArgumentException() {
+
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    battleDTO.setTournament(2);
+
+    assertThrows(IllegalArgumentException.class, () -> battleService.update(1, battleDTO));
+    verifyNoInteractions(tournamentActorService);
+    verify(battleRepository, never()).save(any(Battle.class));
+  }
+
+  @Test
+  void update_WhenTournamentOwnedByActor_ShouldThrowIllegalStateException() {
+
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    doThrow(new IllegalStateException("Tournament is being played")).when(tournamentActorService).lockUnowned(1);
+
+    assertThrows(IllegalStateException.class, () -> battleService.update(1, battleDTO));
+    verify(battleRepository, never()).save(any(Battle.class));
+  }
+
+  @Test
+  void create_WithoutTournament_ShouldThrowIllegalArgumentException() {
+
+    battleDTO.setTournament(null);
+
+    assertThrows(IllegalArgumentException.class, () -> battleService.create(battleDTO));
+    verifyNoInteractions(tournamentActorService);
+    verify(battleRepository, never()).save(any(Battle.class));
+  }
+
+  @Test
+  void update_WithWinner_ShouldFillParentSlotWithoutCounting() {
+
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    when(battleRepository.findById(1)).thenReturn(Optional.of(battle));
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(startup1));
+    when(tournamentStartupRepository.findById(2)).thenReturn(Optional.of(startup2));
+    when(bracketIndex.getBracketSize(1)).thenReturn(4);
+    when(tournamentStartupRepository.getReferenceById(1)).thenReturn(startup1);
+    when(battleRepository.setStartup1(1, 3, startup1)).thenReturn(1);
+
+    battleDTO.setWinner(1);
+
+    battleService.update(1, battleDTO);
+
+    verify(battleRepository).setStartup1(1, 3, startup1);
+    verify(tournamentStartupRepository).markEliminated(2);
+    verify(tournamentStartupRepository).incrementCurrentScore(1, 30);
+    verify(tournamentStartupRepository, never()).countByTournamentId(any());
+    verify(tournamentRepository, never()).complete(any(), any());
+  }
+
+  @Test
+  void update_WithWinnerOfEvenBattle_ShouldFillStartup2Slot() {
+
+    battle.setBattleNumber(2);
+    battleDTO.setBattleNumber(2);
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    when(battleRepository.findById(1)).thenReturn(Optional.of(battle));
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(startup1));
+    when(tournamentStartupRepository.findById(2)).thenReturn(Optional.of(startup2));
+    when(bracketIndex.getBracketSize(1)).thenReturn(4);
+    when(tournamentStartupRepository.getReferenceById(2)).thenReturn(startup2);
+    when(battleRepository.setStartup2(1, 3, startup2)).thenReturn(1);
+
+    battleDTO.setWinner(2);
+
+    battleService.update(1, battleDTO);
+
+    verify(tournamentActorService).lockUnowned(1);
+    verify(battleRepository).setStartup2(1, 3, startup2);
+    verify(battleRepository, never()).setStartup1(any(), anyInt(), any());
+    verify(tournamentStartupRepository).markEliminated(1);
+  }
+
+  @Test
+  void update_WithWinnerOfFinal_ShouldCompleteTournament() {
+
+    battle.setBattleNumber(3);
+    battleDTO.setBattleNumber(3);
+    Startup champion = new Startup();
+    champion.setId(1);
+    startup1.setStartup(champion);
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    when(battleRepository.findById(1)).thenReturn(Optional.of(battle));
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(startup1));
+    when(tournamentStartupRepository.findById(2)).thenReturn(Optional.of(startup2));
+    when(tournamentStartupRepository.getReferenceById(1)).thenReturn(startup1);
+    when(bracketIndex.getBracketSize(1)).thenReturn(4);
+    when(tournamentRepository.complete(1, champion)).thenReturn(1);
+
+    battleDTO.setWinner(1);
+
+    battleService.update(1, battleDTO);
+
+    verify(tournamentRepository).complete(1, champion);
+    verify(battleRepository, never()).setStartup1(any(), anyInt(), any());
+    verify(battleRepository, never()).setStartup2(any(), anyInt(), any());
+  }
+
+  @Test
+  void update_WithNewWinnerOfDecidedFinal_ShouldMoveTitle() {
+
+    battle.setBattleNumber(3);
+    battleDTO.setBattleNumber(3);
+    Startup previousChampion = new Startup();
+    previousChampion.setId(2);
+    Startup champion = new Startup();
+    champion.setId(1);
+    startup1.setStartup(champion);
+    tournament.setChampion(previousChampion);
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    when(battleRepository.findById(1)).thenReturn(Optional.of(battle));
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(startup1));
+    when(tournamentStartupRepository.findById(2)).thenReturn(Optional.of(startup2));
+    when(tournamentStartupRepository.getReferenceById(1)).thenReturn(startup1);
+    when(bracketIndex.getBracketSize(1)).thenReturn(4);
+    when(tournamentRepository.complete(1, champion)).thenReturn(0);
+
+    battleDTO.setWinner(1);
+
+    battleService.update(1, battleDTO);
+
+    assertEquals(champion, tournament.getChampion());
+    verify(startupStandingsService).addTitle(2, -1);
+    verify(startupStandingsService).recordBattle(1, 2, 30, true);
+  }
+
+  @Test
+  void update_ClearingWinnerOfDecidedFinal_ShouldTakeTitleBack() {
+
+    battle.setBattleNumber(3);
+    battleDTO.setBattleNumber(3);
+    Startup champion = new Startup();
+    champion.setId(1);
+    startup1.setStartup(champion);
+    battle.setWinner(startup1);
+    tournament.setChampion(champion);
+    tournament.setStatus("COMPLETED");
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    when(battleRepository.findById(1)).thenReturn(Optional.of(battle));
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(startup1));
+    when(tournamentStartupRepository.findById(2)).thenReturn(Optional.of(startup2));
+    when(bracketIndex.getBracketSize(1)).thenReturn(4);
+
+    battleService.update(1, battleDTO);
+
+    assertNull(tournament.getChampion());
+    assertNull(tournament.getStatus());
+    verify(startupStandingsService).addTitle(1, -1);
+  }
+
+  @Test
+  void update_WithMissingParentBattle_ShouldThrowNotFoundException() {
+
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    when(battleRepository.findById(1)).thenReturn(Optional.of(battle));
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(startup1));
+    when(tournamentStartupRepository.findById(2)).thenReturn(Optional.of(startup2));
+    when(bracketIndex.getBracketSize(1)).thenReturn(4);
+    when(tournamentStartupRepository.getReferenceById(1)).thenReturn(startup1);
+    when(battleRepository.setStartup1(1, 3, startup1)).thenReturn(0);
+
+    battleDTO.setWinner(1);
+
+    assertThrows(NotFoundException.class, () -> battleService.update(1, battleDTO));
+    verify(tournamentStartupRepository, never()).markEliminated(any());
+  }
+
+  @Test
+  void recordResult_WithWinner_ShouldAdvanceWithTargetedUpdates() {
+
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    when(battleRepository.findDTOById(1)).thenReturn(Optional.of(new BattleDTO(1, 1, 1, false, false, null, 1, 1, 2, null)));
+    when(tournamentStartupRepository.getReferenceById(2)).thenReturn(startup2);
+    when(battleRepository.complete(1, startup2, false)).thenReturn(1);
+    when(bracketIndex.getBracketSize(1)).thenReturn(4);
+    when(battleRepository.setStartup1(1, 3, startup2)).thenReturn(1);
+    BattleDTO parent = new BattleDTO(3, 3, 2, false, false, null, 1, 2, null, null);
+    when(battleRepository.findDTOByTournamentIdAndBattleNumber(1, 3)).thenReturn(Optional.of(parent));
+
+    BattleDTO result = battleService.recordResult(1, new BattleResultDTO(2, null));
+
+    assertEquals(parent, result);
+    InOrder inOrder = inOrder(tournamentActorService, battleRepository);
+    inOrder.verify(tournamentActorService).lockUnowned(1);
+    inOrder.verify(battleRepository).findDTOById(1);
+    verify(eventPublisher).publishEvent(new DomainEvents.TournamentChanged(1));
+    verify(eventPublisher).publishEvent(new DomainEvents.BattleWon(1, 1, 2, false));
+    verify(battleRepository).complete(1, startup2, false);
+    verify(tournamentStartupRepository).markEliminated(1);
+    verify(tournamentStartupRepository).incrementCurrentScore(2, 30);
+    verify(battleRepository, never()).findById(any());
+    verify(battleRepository, never()).save(any(Battle.class));
+    verify(tournamentStartupRepository, never()).findById(any());
+  }
+
+  @Test
+  void recordResult_WithSharkFight_ShouldPickWinnerAndAwardBonus() {
+
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    when(battleRepository.findDTOById(1)).thenReturn(Optional.of(new BattleDTO(1, 1, 1, false, false, null, 1, 1, 2, null)));
+    when(tournamentStartupRepository.findCurrentScoreById(1)).thenReturn(70);
+    when(tournamentStartupRepository.findCurrentScoreById(2)).thenReturn(70);
+    when(tournamentStartupRepository.getReferenceById(anyInt())).thenReturn(startup1);
+    when(battleRepository.complete(eq(1), any(), eq(true))).thenReturn(1);
+    when(bracketIndex.getBracketSize(1)).thenReturn(4);
+    when(battleRepository.setStartup1(eq(1), eq(3), any())).thenReturn(1);
+    when(battleRepository.findDTOByTournamentIdAndBattleNumber(1, 3)).thenReturn(Optional.of(battleDTO));
+
+    battleService.recordResult(1, new BattleResultDTO(null, true));
+
+    verify(battleRepository).complete(eq(1), any(), eq(true));
+    verify(tournamentStartupRepository).incrementCurrentScore(anyInt(), eq(2));
+    verify(tournamentStartupRepository).incrementCurrentScore(anyInt(), eq(30));
+  }
+
+  @Test
+  void recordResult_ForFinalOfCompletedTournament_ShouldNotAwardTitleAgain() {
+
+    Startup champion = new Startup();
+    champion.setId(1);
+    startup2.setStartup(champion);
+    when(battleRepository.findTournamentIdById(3)).thenReturn(Optional.of(1));
+    when(battleRepository.findDTOById(3)).thenReturn(Optional.of(new BattleDTO(3, 3, 2, false, false, null, 1, 1, 2, null)));
+    when(tournamentStartupRepository.getReferenceById(2)).thenReturn(startup2);
+    when(battleRepository.complete(3, startup2, false)).thenReturn(1);
+    when(bracketIndex.getBracketSize(1)).thenReturn(4);
+    when(tournamentRepository.complete(1, champion)).thenReturn(0);
+    when(tournamentRepository.existsById(1)).thenReturn(true);
+    when(battleRepository.findDTOByTournamentIdAndBattleNumber(1, 3)).thenReturn(Optional.of(battleDTO));
+
+    battleService.recordResult(3, new BattleResultDTO(2, null));
+
+    verify(startupStandingsService).recordBattle(2, 1, 30, false);
+    verify(eventPublisher, never()).publishEvent(any(DomainEvents.ChampionCrowned.class));
+  }
+
+  @Test
+  void recordResult_WithCompletedBattle_ShouldThrowIllegalStateException() {
+
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    when(battleRepository.findDTOById(1)).thenReturn(Optional.of(new BattleDTO(1, 1, 1, false, true, null, 1, 1, 2, 1)));
+    when(tournamentStartupRepository.getReferenceById(1)).thenReturn(startup1);
+    when(battleRepository.complete(1, startup1, false)).thenReturn(0);
+
+    assertThrows(IllegalStateException.class, () -> battleService.recordResult(1, new BattleResultDTO(1, null)));
+    verify(tournamentStartupRepository, never()).markEliminated(any());
+  }
+
+  @Test
+  void recordResult_WithForeignWinner_ShouldThrowIllegalArgumentException() {
+
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+    when(battleRepository.findDTOById(1)).thenReturn(Optional.of(new BattleDTO(1, 1, 1, false, false, null, 1, 1, 2, null)));
+
+    assertThrows(IllegalArgumentException.class, () -> battleService.recordResult(1, new BattleResultDTO(9, null)));
+    verify(battleRepository, never()).complete(any(), any(), anyBoolean());
+  }
+
+  @Test
+  void recordResult_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(battleRepository.findTournamentIdById(99)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> battleService.recordResult(99, new BattleResultDTO(1, null)));
+    verifyNoInteractions(tournamentActorService);
+  }
+
+  @Test
+  void delete_ShouldCallRepository() {
+
+    when(battleRepository.findTournamentIdById(1)).thenReturn(Optional.of(1));
+
+    battleService.delete(1);
+
+    verify(tournamentActorService).lockUnowned(1);
+    verify(battleRepository).deleteById(1);
+  }
+
+  @Test
+  void getReferencedWarning_WithBattleEventReference_ShouldReturnWarning() {
+
+    when(battleRepository.findReference(1))
+        .thenReturn(Optional.of(reference("battle.battleEvent.battle.referenced", 2)));
+
+    ReferencedWarning result = battleService.getReferencedWarning(1);
+
+    assertNotNull(result);
+    assertEquals("battle.battleEvent.battle.referenced", result.getKey());
+    assertEquals(2, result.getParams().get(0));
+    verify(battleRepository).findReference(1);
+  }
+
+  @Test
+  void getReferencedWarning_WithNoReferences_ShouldReturnNull() {
+
+    when(battleRepository.findReference(1)).thenReturn(Optional.of(reference(null, 1)));
+
+    ReferencedWarning result = battleService.getReferencedWarning(1);
+
+    assertNull(result);
+    verify(battleRepository).findReference(1);
+  }
+
+  @Test
+  void getReferencedWarning_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(battleRepository.findReference(999)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> battleService.getReferencedWarning(999));
+  }
+
+  private static EntityReference reference(final String key, final Integer id) {
+    return new EntityReference() {
+
+      @Override
+      public String getReferenceKey() {
+        return key;
+      }
+
+      @Override
+      public Integer getReferenceId() {
+        return id;
+      }
+    };
+  }
+}
@@ -0,0 +1,98 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.domain.Startup;
+import com.lkm.it_academy_22.domain.Tournament;
+import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BracketDTO;
+import com.lkm.it_academy_22.repos.BattleRepository;
+import com.lkm.it_academy_22.repos.StartupRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Generates a 1,024-entrant bracket and checks that the 1,023 battles go out as batched inserts after a single
+ * read of the entrants.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TournamentService.class, TournamentLocks.class, TournamentActorService.class, TournamentStateStore.class,
+    LeaderboardService.class, StartupStandingsService.class, LiveEventService.class, TournamentVersions.class,
+    JacksonAutoConfiguration.class})
+public class BracketGenerationTest {
+
+  private static final int ENTRANTS = 1_024;
+
+  @Autowired
+  private TournamentService tournamentService;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private StartupRepository startupRepository;
+
+  @Autowired
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Autowired
+  private BattleRepository battleRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private Statistics statistics;
+  private Integer tournamentId;
+
+  @BeforeEach
+  void setUp() {
+    Tournament tournament = new Tournament();
+    tournament.setName("Bracket Tournament");
+    tournamentRepository.save(tournament);
+    tournamentId = tournament.getId();
+
+    for (int i = 0; i < ENTRANTS; i++) {
+      Startup startup = new Startup();
+      startup.setName("Startup " + i);
+      startupRepository.save(startup);
+
+      TournamentStartup tournamentStartup = new TournamentStartup();
+      tournamentStartup.setTournament(tournament);
+      tournamentStartup.setStartup(startup);
+      tournamentStartupRepository.save(tournamentStartup);
+    }
+
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void generateBracket_WithLargeTournament_ShouldBatchInserts() {
+
+    List<BattleDTO> result = tournamentService.generateBracket(tournamentId, new BracketDTO(true, 1L, null));
+    entityManager.flush();
+
+    assertEquals(ENTRANTS - 1, result.size());
+    assertEquals(ENTRANTS - 1, statistics.getEntityInsertCount());
+    assertEquals(1, statistics.getEntityLoadCount());
+    assertTrue(statistics.getPrepareStatementCount() < 100);
+    assertEquals(ENTRANTS / 2, result.stream().filter(battle -> battle.getStartup1() != null).count());
+    assertEquals(10, result.get(ENTRANTS - 2).getRoundNumber());
+    assertEquals(ENTRANTS - 1, battleRepository.findDTOsByTournamentId(tournamentId).size());
+  }
+}
@@ -0,0 +1,156 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BracketIndexTest {
+
+  private static final int MAX_BRACKET_SIZE = 1 << 16;
+
+  @Mock
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  private BracketIndex bracketIndex;
+
+  @BeforeEach
+  void setUp() {
+    bracketIndex = new BracketIndex(tournamentStartupRepository, 2);
+  }
+
+  @Test
+  void closedForm_ShouldMatchIterativeAlgorithmForEveryBattle() {
+
+    for (int bracketSize = 2; bracketSize <= MAX_BRACKET_SIZE; bracketSize <<= 1) {
+      int totalBattles = bracketSize - 1;
+      assertEquals(totalBattles, BracketIndex.finalBattleNumber(bracketSize));
+
+      int firstBattleInRound = 1;
+      int battleCountInRound = bracketSize / 2;
+      int round = 1;
+      for (int battleNumber = 1; battleNumber <= totalBattles; battleNumber++) {
+        if (battleNumber > firstBattleInRound + battleCountInRound - 1) {
+          firstBattleInRound += battleCountInRound;
+          battleCountInRound /= 2;
+          round++;
+        }
+        boolean isFinal = battleNumber == totalBattles;
+
+        assertEquals(isFinal, BracketIndex.isFinalBattle(bracketSize, battleNumber));
+        assertEquals(round, BracketIndex.roundNumber(bracketSize, battleNumber));
+        if (isFinal) {
+          continue;
+        }
+        assertEquals(legacyParentBattleNumber(battleNumber, totalBattles),
+            BracketIndex.parentBattleNumber(bracketSize, battleNumber));
+        assertEquals(battleNumber % 2 == 1, BracketIndex.advancesToStartup1(bracketSize, battleNumber));
+        int offset = battleNumber - firstBattleInRound;
+        assertEquals(firstBattleInRound + (offset ^ 1), BracketIndex.siblingBattleNumber(bracketSize, battleNumber));
+      }
+    }
+  }
+
+  @Test
+  void closedForm_WithBattleOutsideBracket_ShouldThrowIllegalArgumentException() {
+
+    assertThrows(IllegalArgumentException.class, () -> BracketIndex.parentBattleNumber(8, 0));
+    assertThrows(IllegalArgumentException.class, () -> BracketIndex.parentBattleNumber(8, 8));
+    assertThrows(IllegalArgumentException.class, () -> BracketIndex.parentBattleNumber(8, 7));
+    assertThrows(IllegalArgumentException.class, () -> BracketIndex.roundNumber(6, 1));
+  }
+
+  @Test
+  void bracketSize_ShouldRoundUpToNextPowerOfTwo() {
+
+    assertEquals(2, BracketIndex.bracketSize(2));
+    assertEquals(4, BracketIndex.bracketSize(3));
+    assertEquals(8, BracketIndex.bracketSize(5));
+    assertEquals(8, BracketIndex.bracketSize(8));
+    assertEquals(1024, BracketIndex.bracketSize(1000));
+    assertEquals(MAX_BRACKET_SIZE, BracketIndex.bracketSize(MAX_BRACKET_SIZE / 2 + 1));
+    assertThrows(IllegalArgumentException.class, () -> BracketIndex.bracketSize(1));
+  }
+
+  @Test
+  void getBracketSize_WithEntrantCountNotPowerOfTwo_ShouldIncludeByes() {
+
+    when(tournamentStartupRepository.countByTournamentId(1)).thenReturn(5L);
+
+    assertEquals(8, bracketIndex.getBracketSize(1));
+  }
+
+  @Test
+  void getBracketSize_ShouldCountOnceUntilInvalidated() {
+
+    when(tournamentStartupRepository.countByTournamentId(1)).thenReturn(8L, 16L);
+
+    assertEquals(8, bracketIndex.getBracketSize(1));
+    assertEquals(8, bracketIndex.getBracketSize(1));
+    verify(tournamentStartupRepository, times(1)).countByTournamentId(1);
+
+    bracketIndex.onEntrantsChanged(new DomainEvents.EntrantsChanged(1));
+
+    assertEquals(16, bracketIndex.getBracketSize(1));
+    verify(tournamentStartupRepository, times(2)).countByTournamentId(1);
+  }
+
+  @Test
+  void getBracketSize_WhenEntrantsChangeDuringCount_ShouldNotKeepCount() {
+
+    when(tournamentStartupRepository.countByTournamentId(1)).thenAnswer(invocation -> {
+      bracketIndex.onEntrantsChanged(new DomainEvents.EntrantsChanged(1));
+      return 8L;
+    }).thenReturn(16L);
+
+    assertEquals(8, bracketIndex.getBracketSize(1));
+    assertEquals(16, bracketIndex.getBracketSize(1));
+    assertEquals(16, bracketIndex.getBracketSize(1));
+    verify(tournamentStartupRepository, times(2)).countByTournamentId(1);
+  }
+
+  @Test
+  void getBracketSize_BeyondMaxTournaments_ShouldEvictLeastRecentlyUsed() {
+
+    when(tournamentStartupRepository.countByTournamentId(anyInt())).thenReturn(4L);
+
+    bracketIndex.getBracketSize(1);
+    bracketIndex.getBracketSize(2);
+    bracketIndex.getBracketSize(1);
+    bracketIndex.getBracketSize(3);
+    bracketIndex.getBracketSize(1);
+    bracketIndex.getBracketSize(2);
+
+    assertEquals(2, bracketIndex.getSize());
+    verify(tournamentStartupRepository, times(1)).countByTournamentId(1);
+    verify(tournamentStartupRepository, times(2)).countByTournamentId(2);
+  }
+
+  private static int legacyParentBattleNumber(final int battleNumber, final int totalBattles) {
+    int numberOfStartups = totalBattles + 1;
+
+    int battleCountInRound = numberOfStartups / 2;
+    int firstBattleInRound = 1;
+
+    while (battleNumber > firstBattleInRound + battleCountInRound - 1) {
+      firstBattleInRound += battleCountInRound;
+      battleCountInRound /= 2;
+    }
+
+    if (battleNumber == totalBattles) {
+      return battleNumber;
+    }
+
+    int offsetInCurrentRound = battleNumber - firstBattleInRound;
+
+    int firstBattleInNextRound = firstBattleInRound + battleCountInRound;
+
+    return firstBattleInNextRound + offsetInCurrentRound / 2;
+  }
+}
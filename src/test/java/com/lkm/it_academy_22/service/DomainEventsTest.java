@@ -0,0 +1,68 @@
+package com.lkm.it_academy_22.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Domain events reach their listeners only once the publishing transaction commits, never on rollback, and right
+ * away when nothing is transactional.
+ */
+@DataJpaTest
+@Import(TournamentVersions.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DomainEventsTest {
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private TournamentVersions tournamentVersions;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void publishEvent_InsideTransaction_ShouldWaitForCommit() {
+
+    long initial = tournamentVersions.getVersion(1);
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      eventPublisher.publishEvent(new DomainEvents.TournamentChanged(1));
+      assertEquals(initial, tournamentVersions.getVersion(1));
+    });
+
+    assertTrue(tournamentVersions.getVersion(1) > initial);
+  }
+
+  @Test
+  void publishEvent_InsideRolledBackTransaction_ShouldBeDropped() {
+
+    long initial = tournamentVersions.getVersion(2);
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      eventPublisher.publishEvent(new DomainEvents.TournamentChanged(2));
+      status.setRollbackOnly();
+    });
+
+    assertEquals(initial, tournamentVersions.getVersion(2));
+  }
+
+  @Test
+  void publishEvent_WithoutTransaction_ShouldApplyImmediately() {
+
+    long initial = tournamentVersions.getVersion(3);
+
+    eventPublisher.publishEvent(new DomainEvents.TournamentChanged(3));
+
+    assertTrue(tournamentVersions.getVersion(3) > initial);
+  }
+}
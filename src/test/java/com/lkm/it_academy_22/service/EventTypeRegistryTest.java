@@ -0,0 +1,83 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.domain.EventType;
+import com.lkm.it_academy_22.repos.EventTypeRepository;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EventTypeRegistryTest {
+
+  @Mock
+  private EventTypeRepository eventTypeRepository;
+
+  @InjectMocks
+  private EventTypeRegistry eventTypeRegistry;
+
+  @BeforeEach
+  void setUp() {
+    when(eventTypeRepository.findAll(any(Sort.class)))
+        .thenReturn(List.of(eventType(1, "Pitch convincente", 6), eventType(4, "Investidor irritado", -6)));
+    eventTypeRegistry.refresh();
+  }
+
+  @Test
+  void getScoreModifier_WithKnownId_ShouldReturnModifier() {
+
+    assertEquals(6, eventTypeRegistry.getScoreModifier(1));
+    assertEquals(-6, eventTypeRegistry.getScoreModifier(4));
+    assertEquals("Investidor irritado", eventTypeRegistry.getName(4));
+    assertTrue(eventTypeRegistry.contains(4));
+  }
+
+  @Test
+  void getScoreModifier_WithUnknownId_ShouldThrowNotFoundException() {
+
+    assertFalse(eventTypeRegistry.contains(2));
+    assertThrows(NotFoundException.class, () -> eventTypeRegistry.getScoreModifier(2));
+  }
+
+  @Test
+  void refresh_ShouldSwapSnapshotAndBumpVersion() {
+
+    long version = eventTypeRegistry.getVersion();
+    when(eventTypeRepository.findAll(any(Sort.class))).thenReturn(List.of(eventType(1, "Pitch convincente", 8)));
+
+    eventTypeRegistry.refresh();
+
+    assertTrue(eventTypeRegistry.getVersion() > version);
+    assertEquals(8, eventTypeRegistry.getScoreModifier(1));
+    assertFalse(eventTypeRegistry.contains(4));
+  }
+
+  @Test
+  void onEventTypesChanged_ShouldRefresh() {
+
+    long version = eventTypeRegistry.getVersion();
+
+    eventTypeRegistry.onEventTypesChanged(new DomainEvents.EventTypesChanged());
+
+    assertTrue(eventTypeRegistry.getVersion() > version);
+    verify(eventTypeRepository, times(2)).findAll(any(Sort.class));
+  }
+
+  private EventType eventType(final int id, final String name, final int scoreModifier) {
+    EventType eventType = new EventType();
+    eventType.setId(id);
+    eventType.setName(name);
+    eventType.setScoreModifier(scoreModifier);
+    return eventType;
+  }
+}
@@ -1,9 +1,8 @@
 package com.lkm.it_academy_22.service;
 
-import com.lkm.it_academy_22.domain.BattleEvent;
 import com.lkm.it_academy_22.domain.EventType;
+import com.lkm.it_academy_22.model.EntityReference;
 import com.lkm.it_academy_22.model.EventTypeDTO;
-import com.lkm.it_academy_22.repos.BattleEventRepository;
 import com.lkm.it_academy_22.repos.EventTypeRepository;
 import com.lkm.it_academy_22.util.ReferencedWarning;
 import com.lkm.it_academy_22.util.exceptions.NotFoundException;
@@ -13,7 +12,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -30,7 +30,10 @@ public class EventTypeServiceTest {
   private EventTypeRepository eventTypeRepository;
 
   @Mock
-  private BattleEventRepository battleEventRepository;
+  private EventTypeRegistry eventTypeRegistry;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
 
   @InjectMocks
   private EventTypeService eventTypeService;
@@ -54,15 +57,15 @@ public class EventTypeServiceTest {
   @Test
   void findAll_ShouldReturnAllEventTypes() {
 
-    when(eventTypeRepository.findAll(any(Sort.class))).thenReturn(Arrays.asList(eventType));
+    when(eventTypeRepository.findByIdGreaterThanOrderByIdAsc(Integer.MIN_VALUE, Limit.of(101))).thenReturn(Arrays.asList(eventType));
 
-    List<EventTypeDTO> result = eventTypeService.findAll();
+    List<EventTypeDTO> result = eventTypeService.findAll(null, 100).getItems();
 
     assertNotNull(result);
     assertEquals(1, result.size());
     assertEquals("Pitch Convincente", result.get(0).getName());
     assertEquals(5, result.get(0).getScoreModifier());
-    verify(eventTypeRepository).findAll(any(Sort.class));
+    verify(eventTypeRepository).findByIdGreaterThanOrderByIdAsc(Integer.MIN_VALUE, Limit.of(101));
   }
 
   @Test
@@ -96,6 +99,7 @@ public class EventTypeServiceTest {
 
     assertEquals(1, result);
     verify(eventTypeRepository).save(any(EventType.class));
+    verify(eventPublisher).publishEvent(new DomainEvents.EventTypesChanged());
   }
 
   @Test
@@ -113,6 +117,7 @@ public class EventTypeServiceTest {
     assertEquals(10, eventType.getScoreModifier());
     verify(eventTypeRepository).findById(1);
     verify(eventTypeRepository).save(eventType);
+    verify(eventPublisher).publishEvent(new DomainEvents.EventTypesChanged());
   }
 
   @Test
@@ -123,6 +128,7 @@ public class EventTypeServiceTest {
     assertThrows(NotFoundException.class, () -> eventTypeService.update(99, eventTypeDTO));
     verify(eventTypeRepository).findById(99);
     verify(eventTypeRepository, never()).save(any(EventType.class));
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
@@ -131,37 +137,62 @@ public class EventTypeServiceTest {
     eventTypeService.delete(1);
 
     verify(eventTypeRepository).deleteById(1);
+    verify(eventPublisher).publishEvent(new DomainEvents.EventTypesChanged());
   }
 
   @Test
-  void getReferencedWarning_WithBattleEventReference_ShouldReturnWarning() {
+  void getVersion_ShouldReturnRegistryVersion() {
 
-    when(eventTypeRepository.findById(1)).thenReturn(Optional.of(eventType));
+    when(eventTypeRegistry.getVersion()).thenReturn(7L);
 
-    BattleEvent battleEvent = new BattleEvent();
-    battleEvent.setId(1);
-    battleEvent.setEventType(eventType);
-    when(battleEventRepository.findFirstByEventType(eventType)).thenReturn(battleEvent);
+    assertEquals(7L, eventTypeService.getVersion());
+  }
+
+  @Test
+  void getReferencedWarning_WithBattleEventReference_ShouldReturnWarning() {
+
+    when(eventTypeRepository.findReference(1))
+        .thenReturn(Optional.of(reference("eventType.battleEvent.eventType.referenced", 2)));
 
     ReferencedWarning result = eventTypeService.getReferencedWarning(1);
 
     assertNotNull(result);
     assertEquals("eventType.battleEvent.eventType.referenced", result.getKey());
-    assertEquals(1, result.getParams().get(0));
-    verify(eventTypeRepository).findById(1);
-    verify(battleEventRepository).findFirstByEventType(eventType);
+    assertEquals(2, result.getParams().get(0));
+    verify(eventTypeRepository).findReference(1);
   }
 
   @Test
   void getReferencedWarning_WithNoReferences_ShouldReturnNull() {
 
-    when(eventTypeRepository.findById(1)).thenReturn(Optional.of(eventType));
-    when(battleEventRepository.findFirstByEventType(eventType)).thenReturn(null);
+    when(eventTypeRepository.findReference(1)).thenReturn(Optional.of(reference(null, 1)));
 
     ReferencedWarning result = eventTypeService.getReferencedWarning(1);
 
     assertNull(result);
-    verify(eventTypeRepository).findById(1);
-    verify(battleEventRepository).findFirstByEventType(eventType);
+    verify(eventTypeRepository).findReference(1);
+  }
+
+  @Test
+  void getReferencedWarning_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(eventTypeRepository.findReference(999)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> eventTypeService.getReferencedWarning(999));
+  }
+
+  private static EntityReference reference(final String key, final Integer id) {
+    return new EntityReference() {
+
+      @Override
+      public String getReferenceKey() {
+        return key;
+      }
+
+      @Override
+      public Integer getReferenceId() {
+        return id;
+      }
+    };
   }
-}
\ No newline at end of file
+}
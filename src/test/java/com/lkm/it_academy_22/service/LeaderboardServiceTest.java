@@ -0,0 +1,105 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardServiceTest {
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+
+  @Mock
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  private LeaderboardService leaderboardService;
+
+  @BeforeEach
+  void setUp() {
+    leaderboardService = new LeaderboardService(tournamentRepository, tournamentStartupRepository, 2);
+  }
+
+  @Test
+  void getTop_ShouldLoadOnceAndApplyCommittedChanges() {
+
+    when(tournamentStartupRepository.findDTOsByTournamentId(1)).thenReturn(List.of(
+        new TournamentStartupDTO(1, 70, false, 1, 101, null),
+        new TournamentStartupDTO(2, 70, false, 1, 102, null)));
+
+    assertEquals(1, leaderboardService.getTop(1, 10).get(1).getRank());
+    leaderboardService.onScoresChanged(DomainEvents.ScoresChanged.of(1, null, 2, 30, false));
+    leaderboardService.onStartupEliminated(new DomainEvents.StartupEliminated(1, 1));
+
+    assertEquals(2, leaderboardService.getTop(1, 10).get(0).getTournamentStartup());
+    assertEquals(2, leaderboardService.getEntry(1, 1).getRank());
+    assertTrue(leaderboardService.getEntry(1, 1).getEliminated());
+    verify(tournamentStartupRepository, times(1)).findDTOsByTournamentId(1);
+  }
+
+  @Test
+  void onScoresChanged_WhenLeaderboardLoadedAfterTheWrite_ShouldRebuild() {
+
+    when(tournamentStartupRepository.findDTOsByTournamentId(1)).thenReturn(
+        List.of(new TournamentStartupDTO(1, 70, false, 1, 101, null)),
+        List.of(new TournamentStartupDTO(1, 100, false, 1, 101, null)));
+
+    DomainEvents.ScoresChanged scoresChanged = DomainEvents.ScoresChanged.of(1, null, 1, 30, false);
+    leaderboardService.getTop(1, 10);
+    leaderboardService.onScoresChanged(scoresChanged);
+
+    assertEquals(100, leaderboardService.getEntry(1, 1).getCurrentScore());
+    verify(tournamentStartupRepository, times(2)).findDTOsByTournamentId(1);
+  }
+
+  @Test
+  void getTop_WhenChangeCommittedDuringRead_ShouldServeReadWithoutKeepingIt() {
+
+    when(tournamentStartupRepository.findDTOsByTournamentId(1)).thenAnswer(invocation -> {
+      leaderboardService.onScoresChanged(DomainEvents.ScoresChanged.of(1, null, 1, 30, false));
+      return List.of(new TournamentStartupDTO(1, 100, false, 1, 101, null));
+    });
+
+    assertEquals(100, leaderboardService.getTop(1, 10).get(0).getCurrentScore());
+    assertEquals(100, leaderboardService.getEntry(1, 1).getCurrentScore());
+    verify(tournamentStartupRepository, times(2)).findDTOsByTournamentId(1);
+  }
+
+  @Test
+  void getTop_BeyondMaxTournaments_ShouldEvictLeastRecentlyUsed() {
+
+    when(tournamentStartupRepository.findDTOsByTournamentId(anyInt()))
+        .thenReturn(List.of(new TournamentStartupDTO(1, 70, false, 1, 101, null)));
+
+    leaderboardService.getTop(1, 10);
+    leaderboardService.getTop(2, 10);
+    leaderboardService.getTop(1, 10);
+    leaderboardService.getTop(3, 10);
+    leaderboardService.getTop(1, 10);
+    leaderboardService.getTop(2, 10);
+
+    assertEquals(2, leaderboardService.getSize());
+    verify(tournamentStartupRepository, times(1)).findDTOsByTournamentId(1);
+    verify(tournamentStartupRepository, times(2)).findDTOsByTournamentId(2);
+  }
+
+  @Test
+  void getEntry_WithUnknownTournament_ShouldThrowNotFoundException() {
+
+    when(tournamentStartupRepository.findDTOsByTournamentId(9)).thenReturn(List.of());
+    when(tournamentRepository.existsById(9)).thenReturn(false);
+
+    assertThrows(NotFoundException.class, () -> leaderboardService.getEntry(9, 1));
+  }
+}
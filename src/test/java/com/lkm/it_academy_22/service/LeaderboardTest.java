@@ -0,0 +1,79 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.LeaderboardEntryDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderboardTest {
+
+  @Test
+  void getTop_WithTies_ShouldShareRank() {
+
+    Leaderboard leaderboard = new Leaderboard(List.of(
+        startup(1, 50), startup(2, 80), startup(3, 50), startup(4, 20)));
+
+    List<LeaderboardEntryDTO> top = leaderboard.getTop(10);
+
+    assertEquals(List.of(2, 1, 3, 4), top.stream().map(LeaderboardEntryDTO::getTournamentStartup).toList());
+    assertEquals(List.of(1, 2, 2, 4), top.stream().map(LeaderboardEntryDTO::getRank).toList());
+    assertEquals(2, leaderboard.getEntry(3).getRank());
+    assertEquals(2, leaderboard.getTop(2).size());
+  }
+
+  @Test
+  void addScore_ShouldMatchFullSortAfterEveryChange() {
+
+    Random random = new Random(42);
+    Map<Integer, Integer> scores = new HashMap<>();
+    List<TournamentStartupDTO> startups = new ArrayList<>();
+    for (int id = 1; id <= 500; id++) {
+      int score = random.nextInt(100);
+      scores.put(id, score);
+      startups.add(startup(id, score));
+    }
+    Leaderboard leaderboard = new Leaderboard(startups);
+
+    for (int step = 0; step < 2_000; step++) {
+      int id = 1 + random.nextInt(500);
+      int delta = random.nextInt(21) - 10;
+      assertTrue(leaderboard.addScore(id, delta));
+      scores.merge(id, delta, Integer::sum);
+
+      int expectedRank = 1 + (int) scores.values().stream().filter(score -> score > scores.get(id)).count();
+      LeaderboardEntryDTO entry = leaderboard.getEntry(id);
+      assertEquals(expectedRank, entry.getRank());
+      assertEquals(scores.get(id), entry.getCurrentScore());
+    }
+
+    List<Integer> expectedOrder = scores.entrySet().stream()
+        .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+        .map(Map.Entry::getKey)
+        .toList();
+    assertEquals(expectedOrder, leaderboard.getTop(500).stream().map(LeaderboardEntryDTO::getTournamentStartup).toList());
+  }
+
+  @Test
+  void eliminate_ShouldKeepRankAndFlagEntry() {
+
+    Leaderboard leaderboard = new Leaderboard(List.of(startup(1, 10), startup(2, 5)));
+
+    assertTrue(leaderboard.eliminate(2));
+
+    assertTrue(leaderboard.getEntry(2).getEliminated());
+    assertEquals(2, leaderboard.getEntry(2).getRank());
+    assertFalse(leaderboard.eliminate(3));
+    assertFalse(leaderboard.addScore(3, 1));
+  }
+
+  private static TournamentStartupDTO startup(final int id, final int score) {
+    return new TournamentStartupDTO(id, score, false, 1, 100 + id, null);
+  }
+}
@@ -0,0 +1,196 @@
+package com.lkm.it_academy_22.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lkm.it_academy_22.model.BattleEventDTO;
+import com.lkm.it_academy_22.repos.BattleRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LiveEventServiceTest {
+
+  private static final int BUFFER_SIZE = 64;
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+
+  @Mock
+  private BattleRepository battleRepository;
+
+  private LiveEventService liveEventService;
+
+  @BeforeEach
+  void setUp() {
+    liveEventService = new LiveEventService(tournamentRepository, battleRepository, new ObjectMapper(), 0L, BUFFER_SIZE);
+  }
+
+  @AfterEach
+  void tearDown() {
+    liveEventService.stop();
+  }
+
+  /**
+   * Fans a burst of score updates out to 10,000 subscribers of one tournament while a few of them stop reading.
+   * Every frame is serialized once and shared; the stalled subscribers are dropped without holding up the rest.
+   */
+  @Test
+  void publish_To10kSubscribers_ShouldShareFramesAndDropSlowConsumers() {
+
+    int subscribers = 10_000;
+    int slowSubscribers = 10;
+    int frames = BUFFER_SIZE * 3;
+    CountDownLatch stall = new CountDownLatch(1);
+    List<RecordingEmitter> fast = new ArrayList<>();
+    List<RecordingEmitter> slow = new ArrayList<>();
+    for (int i = 0; i < subscribers; i++) {
+      RecordingEmitter emitter = i < slowSubscribers ? new StalledEmitter(stall) : new RecordingEmitter();
+      (i < slowSubscribers ? slow : fast).add(emitter);
+      liveEventService.register(LiveEventService.tournamentTopic(1), emitter);
+    }
+
+    for (int i = 0; i < frames; i++) {
+      liveEventService.onScoresChanged(DomainEvents.ScoresChanged.of(1, null, 11, 1, false));
+    }
+    assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+      for (RecordingEmitter emitter : fast) {
+        while (emitter.count() < frames) {
+          Thread.sleep(1);
+        }
+      }
+    });
+
+    Set<Object> distinctFrames = Collections.newSetFromMap(new IdentityHashMap<>());
+    fast.forEach(emitter -> distinctFrames.addAll(emitter.frames()));
+    assertEquals(frames, distinctFrames.size());
+    String text = (String) fast.get(0).frames().get(0).iterator().next().getData();
+    assertTrue(text.startsWith("event:score\ndata:{"));
+    assertTrue(text.contains("\"delta\":1"));
+    assertTrue(text.endsWith("}\n\n"));
+
+    assertEquals(slowSubscribers, liveEventService.getDroppedCount());
+    assertEquals(subscribers - slowSubscribers, liveEventService.getSubscriberCount());
+    stall.countDown();
+    assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+      for (RecordingEmitter emitter : slow) {
+        while (!emitter.isCompleted()) {
+          Thread.sleep(1);
+        }
+      }
+    });
+    assertTrue(fast.stream().noneMatch(RecordingEmitter::isCompleted));
+  }
+
+  @Test
+  void onBattleEventRecorded_ShouldReachBattleAndTournamentStreamsOnly() {
+
+    RecordingEmitter tournament = new RecordingEmitter();
+    RecordingEmitter battle = new RecordingEmitter();
+    RecordingEmitter otherBattle = new RecordingEmitter();
+    liveEventService.register(LiveEventService.tournamentTopic(1), tournament);
+    liveEventService.register(LiveEventService.battleTopic(5), battle);
+    liveEventService.register(LiveEventService.battleTopic(6), otherBattle);
+
+    liveEventService.onBattleEventRecorded(new DomainEvents.BattleEventRecorded(1, new BattleEventDTO(3, null, 5, 11, 2)));
+
+    assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+      while (tournament.count() < 1 || battle.count() < 1) {
+        Thread.sleep(1);
+      }
+    });
+    assertSame(tournament.frames().get(0), battle.frames().get(0));
+    assertEquals(0, otherBattle.count());
+  }
+
+  @Test
+  void onChampionCrowned_ShouldReachTournamentStream() {
+
+    RecordingEmitter emitter = new RecordingEmitter();
+    RecordingEmitter otherTournament = new RecordingEmitter();
+    liveEventService.register(LiveEventService.tournamentTopic(1), emitter);
+    liveEventService.register(LiveEventService.tournamentTopic(2), otherTournament);
+
+    liveEventService.onChampionCrowned(new DomainEvents.ChampionCrowned(1, 101));
+
+    assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+      while (emitter.count() < 1) {
+        Thread.sleep(1);
+      }
+    });
+    assertEquals(0, otherTournament.count());
+  }
+
+  @Test
+  void subscribeToTournament_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(tournamentRepository.existsById(99)).thenReturn(false);
+
+    assertThrows(NotFoundException.class, () -> liveEventService.subscribeToTournament(99));
+    assertEquals(0, liveEventService.getSubscriberCount());
+  }
+
+  private static class RecordingEmitter extends SseEmitter {
+
+    private final List<Set<DataWithMediaType>> frames = new ArrayList<>();
+    private volatile boolean completed;
+
+    @Override
+    public synchronized void send(final Set<DataWithMediaType> items) {
+      frames.add(items);
+    }
+
+    @Override
+    public void complete() {
+      completed = true;
+    }
+
+    synchronized int count() {
+      return frames.size();
+    }
+
+    synchronized List<Set<DataWithMediaType>> frames() {
+      return new ArrayList<>(frames);
+    }
+
+    boolean isCompleted() {
+      return completed;
+    }
+  }
+
+  private static class StalledEmitter extends RecordingEmitter {
+
+    private final CountDownLatch stall;
+
+    StalledEmitter(final CountDownLatch stall) {
+      this.stall = stall;
+    }
+
+    @Override
+    public void send(final Set<DataWithMediaType> items) {
+      try {
+        stall.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      super.send(items);
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.lkm.it_academy_22.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(PendingScoreStore.class)
+public class PendingScoreStoreTest {
+
+  @Autowired
+  private PendingScoreStore pendingScoreStore;
+
+  @Test
+  void takeAll_ShouldReturnJournaledChangesCoalescedAndRemoveThem() {
+
+    ScoreDeltas first = new ScoreDeltas();
+    first.add(1, 11, 6);
+    first.add(1, 12, -3);
+    ScoreDeltas second = new ScoreDeltas();
+    second.add(1, 11, 4);
+    pendingScoreStore.append(first);
+    pendingScoreStore.append(second);
+
+    ScoreDeltas taken = pendingScoreStore.takeAll();
+
+    assertEquals(List.of(new ScoreDeltas.ScoreDelta(1, 11, 10), new ScoreDeltas.ScoreDelta(1, 12, -3)),
+        List.copyOf(taken.values()));
+    assertTrue(pendingScoreStore.takeAll().isEmpty());
+  }
+}
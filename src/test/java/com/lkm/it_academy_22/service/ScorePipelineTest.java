@@ -0,0 +1,212 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.BattleEventDTO;
+import com.lkm.it_academy_22.model.ScorePipelineStatisticsDTO;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import com.lkm.it_academy_22.util.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ScorePipelineTest {
+
+  @Mock
+  private BattleEventService battleEventService;
+
+  @Mock
+  private StartupStandingsService startupStandingsService;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private PendingScoreStore pendingScoreStore;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  private final ScoreDeltas journal = new ScoreDeltas();
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void submit_WhenNotAccepting_ShouldRejectWithRetryAfter() {
+
+    ScorePipeline scorePipeline = pipeline(1, 1_000);
+
+    ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+        () -> scorePipeline.submit(event(1)));
+    assertEquals(3, exception.getRetryAfterSeconds());
+    assertEquals(1, scorePipeline.getStatistics().getRejectedCount());
+    verifyNoInteractions(battleEventService);
+  }
+
+  @Test
+  void submit_ShouldAcknowledgeStoredEventAndCoalesceScoresOnShutdown() throws Exception {
+
+    when(battleEventService.createAllDeferringScores(anyList(), any(ScoreDeltas.class))).thenAnswer(invocation -> {
+      List<BattleEventDTO> battleEvents = invocation.getArgument(0);
+      ScoreDeltas scoreDeltas = invocation.getArgument(1);
+      List<Integer> createdIds = new ArrayList<>();
+      for (BattleEventDTO battleEvent : battleEvents) {
+        scoreDeltas.add(1, battleEvent.getStartup(), 6);
+        createdIds.add(battleEvent.getBattle() * 10);
+      }
+      return createdIds;
+    });
+    journalScores();
+    ScorePipeline scorePipeline = pipeline(64, 60_000);
+    scorePipeline.start();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<Integer>> results = new ArrayList<>();
+    try {
+      for (int i = 1; i <= 32; i++) {
+        int battle = i;
+        results.add(executor.submit(() -> scorePipeline.submit(event(battle))));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        assertEquals((i + 1) * 10, results.get(i).get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+    scorePipeline.stop();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate).batchUpdate(anyString(), updates.capture());
+    assertEquals(2, updates.getValue().size());
+    assertEquals(16 * 6, updates.getValue().get(0)[0]);
+    verify(eventPublisher).publishEvent(any(DomainEvents.ScoresChanged.class));
+    ScorePipelineStatisticsDTO statistics = scorePipeline.getStatistics();
+    assertEquals(32, statistics.getAcceptedCount());
+    assertEquals(1, statistics.getScoreFlushCount());
+    assertEquals(0, statistics.getPendingScoreUpdates());
+    assertEquals(0, statistics.getQueueDepth());
+  }
+
+  @Test
+  void submit_WithInvalidEventInBatch_ShouldOnlyFailThatEvent() throws Exception {
+
+    BattleEventDTO invalid = event(99);
+    when(battleEventService.createAllDeferringScores(anyList(), any(ScoreDeltas.class))).thenAnswer(invocation -> {
+      List<BattleEventDTO> battleEvents = invocation.getArgument(0);
+      if (battleEvents.contains(invalid)) {
+        throw new NotFoundException("battle not found");
+      }
+      return battleEvents.stream().map(BattleEventDTO::getBattle).toList();
+    });
+    ScorePipeline scorePipeline = pipeline(64, 0);
+    scorePipeline.start();
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<Integer> valid = executor.submit(() -> scorePipeline.submit(event(1)));
+      Future<Integer> rejected = executor.submit(() -> scorePipeline.submit(invalid));
+
+      assertEquals(1, valid.get());
+      Exception exception = assertThrows(Exception.class, rejected::get);
+      assertInstanceOf(NotFoundException.class, exception.getCause());
+    } finally {
+      executor.shutdown();
+      scorePipeline.stop();
+    }
+  }
+
+  @Test
+  void start_ShouldApplyScoresLeftInJournal() throws Exception {
+
+    ScoreDeltas leftOver = new ScoreDeltas();
+    leftOver.add(1, 2, 5);
+    when(pendingScoreStore.takeAll()).thenReturn(leftOver).thenReturn(new ScoreDeltas());
+    ScorePipeline scorePipeline = pipeline(64, 0);
+
+    scorePipeline.start();
+    scorePipeline.stop();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate).batchUpdate(anyString(), updates.capture());
+    assertArrayEquals(new Object[] {5, 2}, updates.getValue().get(0));
+    verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof DomainEvents.ScoresChanged changed
+        && changed.byBattleEvents() && changed.deltas().equals(List.of(new ScoreDeltas.ScoreDelta(1, 2, 5)))));
+  }
+
+  @Test
+  void start_WhenApplyingScoresFails_ShouldCountFailureAndRetry() throws Exception {
+
+    ScoreDeltas leftOver = new ScoreDeltas();
+    leftOver.add(1, 2, 5);
+    when(pendingScoreStore.takeAll())
+        .thenThrow(new IllegalStateException("database unavailable"))
+        .thenReturn(leftOver);
+    ScorePipeline scorePipeline = pipeline(64, 0);
+
+    scorePipeline.start();
+    scorePipeline.stop();
+
+    ScorePipelineStatisticsDTO statistics = scorePipeline.getStatistics();
+    assertEquals(1, statistics.getScoreFlushFailureCount());
+    assertEquals(1, statistics.getScoreFlushCount());
+    verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+  }
+
+  @Test
+  void submit_WhenStoringFailsUnexpectedly_ShouldFailBatchAndKeepRunning() throws Exception {
+
+    when(battleEventService.createAllDeferringScores(anyList(), any(ScoreDeltas.class)))
+        .thenReturn(List.of())
+        .thenReturn(List.of(7));
+    ScorePipeline scorePipeline = pipeline(64, 0);
+    scorePipeline.start();
+
+    try {
+      assertThrows(IndexOutOfBoundsException.class, () -> scorePipeline.submit(event(1)));
+      assertEquals(7, scorePipeline.submit(event(2)));
+    } finally {
+      scorePipeline.stop();
+    }
+  }
+
+  private void journalScores() {
+    doAnswer(invocation -> {
+      journal.addAll(invocation.getArgument(0));
+      return null;
+    }).when(pendingScoreStore).append(any(ScoreDeltas.class));
+    when(pendingScoreStore.takeAll()).thenAnswer(invocation -> {
+      ScoreDeltas taken = new ScoreDeltas();
+      taken.addAll(journal);
+      journal.clear();
+      return taken;
+    });
+  }
+
+  private ScorePipeline pipeline(final int capacity, final long flushWindowMillis) {
+    return new ScorePipeline(true, capacity, 16, flushWindowMillis, 3, battleEventService, startupStandingsService,
+        eventPublisher, pendingScoreStore, jdbcTemplate, transactionManager);
+  }
+
+  private static BattleEventDTO event(final int battle) {
+    return new BattleEventDTO(null, null, battle, battle % 2 + 1, 1);
+  }
+}
@@ -0,0 +1,153 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.domain.Startup;
+import com.lkm.it_academy_22.domain.Tournament;
+import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BattleResultDTO;
+import com.lkm.it_academy_22.repos.StartupRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts database reads for 512 battle results, each recorded in its own transaction as in production, once with
+ * the tournament served from the second-level cache and once with the cache evicted before every result.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({BattleService.class, TournamentService.class, BracketIndex.class, TournamentLocks.class, CacheStatisticsService.class, TournamentActorService.class, TournamentStateStore.class,
+    LeaderboardService.class, StartupStandingsService.class, LiveEventService.class, TournamentVersions.class,
+    JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheBenchmarkTest {
+
+  private static final int RESULTS = 512;
+
+  @Autowired
+  private BattleService battleService;
+
+  @Autowired
+  private TournamentService tournamentService;
+
+  @Autowired
+  private CacheStatisticsService cacheStatisticsService;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private StartupRepository startupRepository;
+
+  @Autowired
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private Statistics statistics;
+  private Integer tournamentId;
+
+  @BeforeEach
+  void setUp() {
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      Tournament tournament = new Tournament();
+      tournament.setName("Cache Tournament");
+      tournamentId = tournamentRepository.save(tournament).getId();
+    });
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void battleResults_WithSecondLevelCache_ShouldReadLessFromDatabase() {
+
+    long uncachedLoads = recordResults(firstRound(bracket(2 * RESULTS)), true);
+    long cachedLoads = recordResults(firstRound(bracket(2 * RESULTS)), false);
+    long cacheHits = statistics.getDomainDataRegionStatistics("tournaments").getHitCount();
+
+    assertTrue(cachedLoads < uncachedLoads);
+    assertTrue(cacheHits >= RESULTS - 1);
+    assertTrue(cacheStatisticsService.findAll().stream()
+        .anyMatch(region -> region.getRegion().equals("tournaments") && region.getHitCount() == cacheHits));
+  }
+
+  @Test
+  void recordResult_ShouldKeepCachedTournaments() {
+
+    BattleDTO firstRound = firstRound(bracket(4)).getFirst();
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      tournamentRepository.findById(tournamentId);
+      tournamentRepository.findById(firstRound.getTournament());
+    });
+    assertTrue(entityManagerFactory.getCache().contains(Tournament.class, tournamentId));
+
+    battleService.recordResult(firstRound.getId(), new BattleResultDTO(firstRound.getStartup1(), null));
+
+    assertTrue(entityManagerFactory.getCache().contains(Tournament.class, tournamentId));
+    assertTrue(entityManagerFactory.getCache().contains(Tournament.class, firstRound.getTournament()));
+  }
+
+  private List<BattleDTO> bracket(final int entrants) {
+    Tournament tournament = new Tournament();
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      tournament.setName("Bracket Tournament");
+      tournamentRepository.save(tournament);
+      for (int i = 0; i < entrants; i++) {
+        Startup startup = new Startup();
+        startup.setName("Startup " + i);
+        startupRepository.save(startup);
+
+        TournamentStartup tournamentStartup = new TournamentStartup();
+        tournamentStartup.setTournament(tournament);
+        tournamentStartup.setStartup(startup);
+        tournamentStartup.setCurrentScore(70);
+        tournamentStartupRepository.save(tournamentStartup);
+      }
+    });
+    return tournamentService.generateBracket(tournament.getId(), null);
+  }
+
+  private static List<BattleDTO> firstRound(final List<BattleDTO> battles) {
+    return battles.stream()
+        .filter(battle -> battle.getStartup1() != null && battle.getStartup2() != null)
+        .toList();
+  }
+
+  /**
+   * Decides each battle for its first startup through the regular update, which loads the tournament, records
+   * the result and moves the winner on.
+   */
+  private long recordResults(final List<BattleDTO> battles, final boolean evictBeforeEachResult) {
+    statistics.clear();
+    for (BattleDTO battle : battles) {
+      if (evictBeforeEachResult) {
+        entityManagerFactory.getCache().evictAll();
+      }
+      battle.setWinner(battle.getStartup1());
+      battle.setCompleted(true);
+      battleService.update(battle.getId(), battle);
+    }
+    return statistics.getEntityLoadCount();
+  }
+}
@@ -1,12 +1,10 @@
 package com.lkm.it_academy_22.service;
 
 import com.lkm.it_academy_22.domain.Startup;
-import com.lkm.it_academy_22.domain.Tournament;
-import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.EntityReference;
 import com.lkm.it_academy_22.model.StartupDTO;
 import com.lkm.it_academy_22.repos.StartupRepository;
-import com.lkm.it_academy_22.repos.TournamentRepository;
-import com.lkm.it_academy_22.repos.TournamentStartupRepository;
 import com.lkm.it_academy_22.util.ReferencedWarning;
 import com.lkm.it_academy_22.util.exceptions.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,12 +13,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 
 import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,10 +32,7 @@ public class StartupServiceTest {
   private StartupRepository startupRepository;
 
   @Mock
-  private TournamentRepository tournamentRepository;
-
-  @Mock
-  private TournamentStartupRepository tournamentStartupRepository;
+  private StartupStandingsService startupStandingsService;
 
   @InjectMocks
   private StartupService startupService;
@@ -64,48 +60,85 @@ public class StartupServiceTest {
   @Test
   void findAll_ShouldReturnAllStartups() {
 
-    when(startupRepository.findAll(any(Sort.class))).thenReturn(Arrays.asList(startup));
+    when(startupRepository.findDTOPage(Integer.MIN_VALUE, Limit.of(101))).thenReturn(Arrays.asList(new StartupDTO(1, "Test Startup", "Test Slogan", 2020, "Test Description", startup.getCreatedAt())));
 
-    List<StartupDTO> result = startupService.findAll();
+    List<StartupDTO> result = startupService.findAll(null, 100).getItems();
 
     assertNotNull(result);
     assertEquals(1, result.size());
     assertEquals("Test Startup", result.get(0).getName());
     assertEquals("Test Slogan", result.get(0).getSlogan());
-    verify(startupRepository).findAll(any(Sort.class));
+    verify(startupRepository).findDTOPage(Integer.MIN_VALUE, Limit.of(101));
+  }
+
+  @Test
+  void findAll_WithFieldsWithoutFreeText_ShouldSkipThoseColumns() {
+
+    when(startupRepository.findSummaryDTOPage(Integer.MIN_VALUE, Limit.of(101)))
+        .thenReturn(Arrays.asList(new StartupDTO(1, "Test Startup", 2020, null)));
+
+    List<StartupDTO> result = startupService.findAll(null, 100, Set.of("id", "name")).getItems();
+
+    assertEquals("Test Startup", result.get(0).getName());
+    assertNull(result.get(0).getDescription());
+    verify(startupRepository, never()).findDTOPage(any(), any());
+  }
+
+  @Test
+  void findAll_WithDescriptionField_ShouldReadEveryColumn() {
+
+    when(startupRepository.findDTOPage(Integer.MIN_VALUE, Limit.of(101))).thenReturn(List.of());
+
+    startupService.findAll(null, 100, Set.of("id", "description"));
+
+    verify(startupRepository, never()).findSummaryDTOPage(any(), any());
+  }
+
+  @Test
+  void findAll_WithMoreRowsThanLimit_ShouldReturnNextCursor() {
+
+    StartupDTO first = new StartupDTO(1, "Test Startup", null, null, null, null);
+    StartupDTO next = new StartupDTO(2, "Next Startup", null, null, null, null);
+    when(startupRepository.findDTOPage(0, Limit.of(2))).thenReturn(Arrays.asList(first, next));
+
+    CursorPage<StartupDTO> result = startupService.findAll(0, 1);
+
+    assertEquals(1, result.getItems().size());
+    assertEquals(1, result.getItems().get(0).getId());
+    assertEquals(1, result.getNextCursor());
   }
 
   @Test
   void get_WithValidId_ShouldReturnStartup() {
 
-    when(startupRepository.findById(1)).thenReturn(Optional.of(startup));
+    when(startupRepository.findDTOById(1)).thenReturn(Optional.of(new StartupDTO(1, "Test Startup", "Test Slogan", 2020, "Test Description", startup.getCreatedAt())));
 
     StartupDTO result = startupService.get(1);
 
     assertNotNull(result);
     assertEquals("Test Startup", result.getName());
     assertEquals("Test Slogan", result.getSlogan());
-    verify(startupRepository).findById(1);
+    verify(startupRepository).findDTOById(1);
   }
 
   @Test
   void get_WithInvalidId_ShouldThrowNotFoundException() {
 
-    when(startupRepository.findById(99)).thenReturn(Optional.empty());
+    when(startupRepository.findDTOById(99)).thenReturn(Optional.empty());
 
     assertThrows(NotFoundException.class, () -> startupService.get(99));
-    verify(startupRepository).findById(99);
+    verify(startupRepository).findDTOById(99);
   }
 
   @Test
   void create_ShouldSaveAndReturnId() {
 
-    when(startupRepository.save(any(Startup.class))).thenReturn(startup);
+    when(startupRepository.saveAndFlush(any(Startup.class))).thenReturn(startup);
 
     Integer result = startupService.create(startupDTO);
 
     assertEquals(1, result);
-    verify(startupRepository).save(any(Startup.class));
+    verify(startupRepository).saveAndFlush(any(Startup.class));
   }
 
   @Test
@@ -142,55 +175,64 @@ public class StartupServiceTest {
   }
 
   @Test
-  void getReferencedWarning_WithNoReferences_ShouldReturnNull() {
+  void getReferencedWarning_WithTournamentReference_ShouldReturnWarning() {
 
-    when(startupRepository.findById(1)).thenReturn(Optional.of(startup));
-    when(tournamentRepository.findFirstByChampion(startup)).thenReturn(null);
-    when(tournamentStartupRepository.findFirstByStartup(startup)).thenReturn(null);
+    when(startupRepository.findReference(1))
+        .thenReturn(Optional.of(reference("startup.tournament.champion.referenced", 2)));
 
     ReferencedWarning result = startupService.getReferencedWarning(1);
 
-    assertNull(result);
-    verify(startupRepository).findById(1);
-    verify(tournamentRepository).findFirstByChampion(startup);
-    verify(tournamentStartupRepository).findFirstByStartup(startup);
+    assertNotNull(result);
+    assertEquals("startup.tournament.champion.referenced", result.getKey());
+    assertEquals(2, result.getParams().get(0));
+    verify(startupRepository).findReference(1);
   }
 
   @Test
-  void getReferencedWarning_WithTournamentReference_ShouldReturnWarning() {
-
-    when(startupRepository.findById(1)).thenReturn(Optional.of(startup));
+  void getReferencedWarning_WithTournamentStartupReference_ShouldReturnWarning() {
 
-    Tournament tournament = new Tournament();
-    tournament.setId(1);
-    when(tournamentRepository.findFirstByChampion(startup)).thenReturn(tournament);
+    when(startupRepository.findReference(1))
+        .thenReturn(Optional.of(reference("startup.tournamentStartup.startup.referenced", 3)));
 
     ReferencedWarning result = startupService.getReferencedWarning(1);
 
     assertNotNull(result);
-    assertEquals("startup.tournament.champion.referenced", result.getKey());
-    assertEquals(1, result.getParams().get(0));
-    verify(startupRepository).findById(1);
-    verify(tournamentRepository).findFirstByChampion(startup);
+    assertEquals("startup.tournamentStartup.startup.referenced", result.getKey());
+    assertEquals(3, result.getParams().get(0));
+    verify(startupRepository).findReference(1);
   }
 
   @Test
-  void getReferencedWarning_WithTournamentStartupReference_ShouldReturnWarning() {
-
-    when(startupRepository.findById(1)).thenReturn(Optional.of(startup));
-    when(tournamentRepository.findFirstByChampion(startup)).thenReturn(null);
+  void getReferencedWarning_WithNoReferences_ShouldReturnNull() {
 
-    TournamentStartup tournamentStartup = new TournamentStartup();
-    tournamentStartup.setId(1);
-    when(tournamentStartupRepository.findFirstByStartup(startup)).thenReturn(tournamentStartup);
+    when(startupRepository.findReference(1)).thenReturn(Optional.of(reference(null, 1)));
 
     ReferencedWarning result = startupService.getReferencedWarning(1);
 
-    assertNotNull(result);
-    assertEquals("startup.tournamentStartup.startup.referenced", result.getKey());
-    assertEquals(1, result.getParams().get(0));
-    verify(startupRepository).findById(1);
-    verify(tournamentRepository).findFirstByChampion(startup);
-    verify(tournamentStartupRepository).findFirstByStartup(startup);
+    assertNull(result);
+    verify(startupRepository).findReference(1);
+  }
+
+  @Test
+  void getReferencedWarning_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(startupRepository.findReference(999)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> startupService.getReferencedWarning(999));
+  }
+
+  private static EntityReference reference(final String key, final Integer id) {
+    return new EntityReference() {
+
+      @Override
+      public String getReferenceKey() {
+        return key;
+      }
+
+      @Override
+      public Integer getReferenceId() {
+        return id;
+      }
+    };
   }
-}
\ No newline at end of file
+}
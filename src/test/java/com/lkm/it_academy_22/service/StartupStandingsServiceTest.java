@@ -0,0 +1,147 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.domain.Startup;
+import com.lkm.it_academy_22.domain.Tournament;
+import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BattleResultDTO;
+import com.lkm.it_academy_22.model.CursorPage;
+import com.lkm.it_academy_22.model.StartupStandingDTO;
+import com.lkm.it_academy_22.repos.StartupRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({BattleService.class, TournamentService.class, BracketIndex.class, TournamentLocks.class, TournamentActorService.class, TournamentStateStore.class,
+    LeaderboardService.class, StartupStandingsService.class, LiveEventService.class, TournamentVersions.class,
+    JacksonAutoConfiguration.class})
+public class StartupStandingsServiceTest {
+
+  @Autowired
+  private StartupStandingsService startupStandingsService;
+
+  @Autowired
+  private BattleService battleService;
+
+  @Autowired
+  private TournamentService tournamentService;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private StartupRepository startupRepository;
+
+  @Autowired
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private final List<Integer> startupIds = new ArrayList<>();
+  private List<BattleDTO> battles;
+
+  @BeforeEach
+  void setUp() {
+    Tournament tournament = new Tournament();
+    tournament.setName("Standings Tournament");
+    tournamentRepository.save(tournament);
+
+    for (int i = 0; i < 4; i++) {
+      Startup startup = new Startup();
+      startup.setName("Startup " + i);
+      startupRepository.save(startup);
+      startupIds.add(startup.getId());
+
+      TournamentStartup tournamentStartup = new TournamentStartup();
+      tournamentStartup.setTournament(tournament);
+      tournamentStartup.setStartup(startup);
+      tournamentStartup.setCurrentScore(70);
+      tournamentStartupRepository.save(tournamentStartup);
+    }
+    battles = tournamentService.generateBracket(tournament.getId(), null);
+    entityManager.flush();
+    startupStandingsService.rebuild();
+  }
+
+  @Test
+  void recordResult_ShouldMaintainStandingsLikeRebuild() {
+
+    Integer championEntry = battles.get(0).getStartup1();
+    battleService.recordResult(battles.get(0).getId(), new BattleResultDTO(championEntry, null));
+    battleService.recordResult(battles.get(1).getId(), new BattleResultDTO(battles.get(1).getStartup1(), null));
+    battleService.recordResult(battles.get(2).getId(), new BattleResultDTO(championEntry, null));
+
+    List<StartupStandingDTO> maintained = standings(CursorPage.MAX_LIMIT);
+
+    Integer champion = tournamentStartupRepository.findDTOById(championEntry).orElseThrow().getStartup();
+    assertEquals(champion, maintained.get(0).getStartup());
+    assertEquals(1, maintained.get(0).getTitlesWon());
+    assertEquals(130L, maintained.get(0).getCumulativeScore());
+    assertEquals(100L, maintained.get(1).getCumulativeScore());
+    assertEquals(3, maintained.stream().mapToInt(StartupStandingDTO::getEliminations).sum());
+
+    startupStandingsService.rebuild();
+    List<StartupStandingDTO> rebuilt = standings(CursorPage.MAX_LIMIT);
+
+    assertEquals(maintained.size(), rebuilt.size());
+    for (int i = 0; i < rebuilt.size(); i++) {
+      assertEquals(rebuilt.get(i).getStartup(), maintained.get(i).getStartup());
+      assertEquals(rebuilt.get(i).getTitlesWon(), maintained.get(i).getTitlesWon());
+      assertEquals(rebuilt.get(i).getTournamentsEntered(), maintained.get(i).getTournamentsEntered());
+      assertEquals(rebuilt.get(i).getCumulativeScore(), maintained.get(i).getCumulativeScore());
+      assertEquals(rebuilt.get(i).getEliminations(), maintained.get(i).getEliminations());
+    }
+  }
+
+  @Test
+  void findAll_ShouldWalkRankingWithKeysetCursor() {
+
+    battleService.recordResult(battles.get(0).getId(), new BattleResultDTO(battles.get(0).getStartup2(), null));
+
+    List<StartupStandingDTO> all = standings(CursorPage.MAX_LIMIT);
+    List<StartupStandingDTO> walked = standings(3);
+
+    assertEquals(all.stream().map(StartupStandingDTO::getStartup).toList(),
+        walked.stream().map(StartupStandingDTO::getStartup).toList());
+    assertEquals(100L, all.get(0).getCumulativeScore());
+    // ties on titles and score fall back to the startup id
+    assertTrue(all.get(1).getStartup() < all.get(2).getStartup());
+  }
+
+  @Test
+  void findAll_WithUnknownCursor_ShouldThrowNotFoundException() {
+
+    assertThrows(NotFoundException.class, () -> startupStandingsService.findAll(-1, 10));
+  }
+
+  /**
+   * This test's startups in ranking order, walked page by page. Other tests may have committed startups of
+   * their own.
+   */
+  private List<StartupStandingDTO> standings(final int limit) {
+    List<StartupStandingDTO> standings = new ArrayList<>();
+    Integer after = null;
+    do {
+      CursorPage<StartupStandingDTO> page = startupStandingsService.findAll(after, limit);
+      page.getItems().stream()
+          .filter(standing -> startupIds.contains(standing.getStartup()))
+          .forEach(standings::add);
+      after = page.getNextCursor();
+    } while (after != null);
+    return standings;
+  }
+}
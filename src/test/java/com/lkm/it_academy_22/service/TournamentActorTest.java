@@ -0,0 +1,206 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BattleResultDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TournamentActorTest {
+
+  private static final Integer TOURNAMENT_ID = 1;
+
+  @Mock
+  private TournamentStateStore stateStore;
+
+  private TournamentActor actor;
+  private final AtomicReference<TournamentActor> stoppedActor = new AtomicReference<>();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(stateStore.load(TOURNAMENT_ID)).thenAnswer(invocation -> new TournamentStateStore.State(
+        List.of(
+            new TournamentStartupDTO(11, 70, false, TOURNAMENT_ID, 101, null),
+            new TournamentStartupDTO(12, 70, false, TOURNAMENT_ID, 102, null),
+            new TournamentStartupDTO(13, 70, false, TOURNAMENT_ID, 103, null),
+            new TournamentStartupDTO(14, 70, false, TOURNAMENT_ID, 104, null)),
+        List.of(
+            new BattleDTO(21, 1, 1, false, false, null, TOURNAMENT_ID, 11, 12, null),
+            new BattleDTO(22, 2, 1, false, false, null, TOURNAMENT_ID, 13, 14, null),
+            new BattleDTO(23, 3, 2, false, false, null, TOURNAMENT_ID, null, null, null)),
+        false));
+    actor = new TournamentActor(TOURNAMENT_ID, stateStore, stoppedActor::set);
+    actor.reload().get(5, TimeUnit.SECONDS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    actor.stop();
+  }
+
+  @Test
+  void recordResult_ShouldAdvanceWinnerAndPublishSnapshot() throws Exception {
+
+    long previousVersion = actor.getSnapshot().version();
+
+    BattleDTO nextBattle = actor.recordResult(21, new BattleResultDTO(11, null)).get(5, TimeUnit.SECONDS);
+
+    assertEquals(23, nextBattle.getId());
+    assertEquals(11, nextBattle.getStartup1());
+    ArgumentCaptor<TournamentStateStore.Changes> changes = ArgumentCaptor.forClass(TournamentStateStore.Changes.class);
+    verify(stateStore).write(eq(TOURNAMENT_ID), changes.capture());
+    assertEquals(11, changes.getValue().startup1Slots.get(23));
+    assertEquals(30, changes.getValue().scoreDeltas.get(11));
+    assertTrue(changes.getValue().eliminated.contains(12));
+
+    TournamentSnapshot snapshot = actor.getSnapshot();
+    assertTrue(snapshot.version() > previousVersion);
+    assertEquals(100, snapshot.startups().get(0).getCurrentScore());
+    assertTrue(snapshot.startups().get(1).getEliminated());
+    assertTrue(snapshot.battles().get(0).getCompleted());
+  }
+
+  @Test
+  void recordResult_ShouldPublishEventsOnlyOnceSnapshotShowsThem() throws Exception {
+
+    AtomicReference<TournamentSnapshot> published = new AtomicReference<>();
+    doAnswer(invocation -> {
+      published.set(actor.getSnapshot());
+      return null;
+    }).when(stateStore).publishEvents(any());
+
+    actor.recordResult(21, new BattleResultDTO(11, null)).get(5, TimeUnit.SECONDS);
+
+    assertTrue(published.get().battles().get(0).getCompleted());
+  }
+
+  @Test
+  void refreshScores_WithManyQueued_ShouldReadScoresOncePerBatch() throws Exception {
+
+    when(stateStore.loadScores(TOURNAMENT_ID)).thenReturn(Map.of(11, 170));
+
+    List<CompletableFuture<Void>> results = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      results.add(actor.refreshScores());
+    }
+    for (CompletableFuture<Void> result : results) {
+      result.get(5, TimeUnit.SECONDS);
+    }
+
+    assertEquals(170, actor.getSnapshot().startups().get(0).getCurrentScore());
+    verify(stateStore, atMost(100)).loadScores(TOURNAMENT_ID);
+    verify(stateStore, never()).write(any(), any());
+  }
+
+  @Test
+  void recordResult_WhenBattleCompletedElsewhere_ShouldReplayAndRejectIt() throws Exception {
+
+    when(stateStore.write(eq(TOURNAMENT_ID), any())).thenReturn(Set.of(21));
+    when(stateStore.load(TOURNAMENT_ID)).thenReturn(new TournamentStateStore.State(
+        List.of(
+            new TournamentStartupDTO(11, 100, false, TOURNAMENT_ID, 101, null),
+            new TournamentStartupDTO(12, 70, true, TOURNAMENT_ID, 102, null),
+            new TournamentStartupDTO(13, 70, false, TOURNAMENT_ID, 103, null),
+            new TournamentStartupDTO(14, 70, false, TOURNAMENT_ID, 104, null)),
+        List.of(
+            new BattleDTO(21, 1, 1, false, true, null, TOURNAMENT_ID, 11, 12, 11),
+            new BattleDTO(22, 2, 1, false, false, null, TOURNAMENT_ID, 13, 14, null),
+            new BattleDTO(23, 3, 2, false, false, null, TOURNAMENT_ID, 11, null, null)),
+        false));
+
+    CompletableFuture<BattleDTO> result = actor.recordResult(21, new BattleResultDTO(12, null));
+
+    ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalStateException.class, exception.getCause());
+    verify(stateStore, times(1)).write(eq(TOURNAMENT_ID), any());
+    assertEquals(11, actor.getSnapshot().battles().get(0).getWinner());
+    assertEquals(100, actor.getSnapshot().startups().get(0).getCurrentScore());
+  }
+
+  @Test
+  void recordResult_ForCompletedTournament_ShouldRejectAndStop() throws Exception {
+
+    when(stateStore.load(TOURNAMENT_ID)).thenReturn(new TournamentStateStore.State(
+        List.of(
+            new TournamentStartupDTO(11, 100, false, TOURNAMENT_ID, 101, null),
+            new TournamentStartupDTO(12, 70, true, TOURNAMENT_ID, 102, null)),
+        List.of(new BattleDTO(21, 1, 1, false, true, null, TOURNAMENT_ID, 11, 12, 11)),
+        true));
+    TournamentActor completedActor = new TournamentActor(TOURNAMENT_ID, stateStore, stoppedActor::set);
+
+    CompletableFuture<BattleDTO> result = completedActor.recordResult(21, new BattleResultDTO(11, null));
+
+    assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+    assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+      while (!completedActor.isStopped()) {
+        Thread.onSpinWait();
+      }
+    });
+    assertSame(completedActor, stoppedActor.get());
+  }
+
+  @Test
+  void recordResult_WithInvalidWinner_ShouldLeaveStateUntouched() {
+
+    CompletableFuture<BattleDTO> result = actor.recordResult(21, new BattleResultDTO(13, null));
+
+    ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    verify(stateStore, never()).write(any(), any());
+    assertFalse(actor.getSnapshot().battles().get(0).getCompleted());
+  }
+
+  @Test
+  void recordResult_WhenWriteFails_ShouldFailCallerAndReload() throws Exception {
+
+    doThrow(new IllegalStateException("write failed")).when(stateStore).write(eq(TOURNAMENT_ID), any());
+
+    CompletableFuture<BattleDTO> result = actor.recordResult(21, new BattleResultDTO(11, null));
+
+    assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+    actor.reload().get(5, TimeUnit.SECONDS);
+    assertFalse(actor.getSnapshot().battles().get(0).getCompleted());
+    assertEquals(70, actor.getSnapshot().startups().get(0).getCurrentScore());
+  }
+
+  @Test
+  void recordResult_ForFinal_ShouldCrownChampionAndStop() throws Exception {
+
+    actor.recordResult(21, new BattleResultDTO(11, null)).get(5, TimeUnit.SECONDS);
+    actor.recordResult(22, new BattleResultDTO(14, null)).get(5, TimeUnit.SECONDS);
+
+    BattleDTO finalBattle = actor.recordResult(23, new BattleResultDTO(14, null)).get(5, TimeUnit.SECONDS);
+
+    assertEquals(14, finalBattle.getWinner());
+    ArgumentCaptor<TournamentStateStore.Changes> changes = ArgumentCaptor.forClass(TournamentStateStore.Changes.class);
+    verify(stateStore, atLeastOnce()).write(eq(TOURNAMENT_ID), changes.capture());
+    assertEquals(104, changes.getValue().championStartupId);
+    assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+      while (!actor.isStopped()) {
+        Thread.onSpinWait();
+      }
+    });
+    assertSame(actor, stoppedActor.get());
+  }
+}
@@ -0,0 +1,128 @@
+package com.lkm.it_academy_22.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.TournamentDTO;
+import com.lkm.it_academy_22.repos.BattleEventRepository;
+import com.lkm.it_academy_22.repos.BattleRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import com.lkm.it_academy_22.service.TournamentArchiveService.ArchivedView;
+import com.lkm.it_academy_22.service.TournamentArchiveService.View;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TournamentArchiveServiceTest {
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+
+  @Mock
+  private BattleRepository battleRepository;
+
+  @Mock
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Mock
+  private BattleEventRepository battleEventRepository;
+
+  private final TournamentVersions tournamentVersions = new TournamentVersions(2);
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @Test
+  void get_CompletedTournament_ShouldSerializeOnce() {
+
+    TournamentArchiveService archiveService = archiveService(1 << 20);
+    when(tournamentRepository.findDTOById(1)).thenReturn(Optional.of(completed(1)));
+    when(battleRepository.findDTOsByTournamentId(1)).thenReturn(List.of(battle(1)));
+
+    ArchivedView first = archiveService.get(1, View.BRACKET);
+    ArchivedView second = archiveService.get(1, View.BRACKET);
+
+    assertSame(first, second);
+    assertTrue(new String(first.json(), StandardCharsets.UTF_8).startsWith("[{\"id\":1,"));
+    assertEquals(tournamentVersions.getVersion(1), first.version());
+    verify(battleRepository, times(1)).findDTOsByTournamentId(1);
+  }
+
+  @Test
+  void get_AfterEdit_ShouldRebuild() {
+
+    TournamentArchiveService archiveService = archiveService(1 << 20);
+    when(tournamentRepository.findDTOById(1)).thenReturn(Optional.of(completed(1)));
+
+    ArchivedView before = archiveService.get(1, View.TOURNAMENT);
+    tournamentVersions.onTournamentChanged(new DomainEvents.TournamentChanged(2));
+    assertSame(before, archiveService.get(1, View.TOURNAMENT));
+    tournamentVersions.onTournamentChanged(new DomainEvents.TournamentChanged(1));
+    ArchivedView after = archiveService.get(1, View.TOURNAMENT);
+
+    assertNotSame(before, after);
+    assertTrue(after.version() > before.version());
+    assertEquals(1, archiveService.getSize());
+    assertEquals(after.size(), archiveService.getTotalBytes());
+    verify(tournamentRepository, times(2)).findDTOById(1);
+  }
+
+  @Test
+  void get_OngoingTournament_ShouldThrowNotFoundException() {
+
+    TournamentArchiveService archiveService = archiveService(1 << 20);
+    TournamentDTO ongoing = completed(1);
+    ongoing.setStatus("IN_PROGRESS");
+    when(tournamentRepository.findDTOById(1)).thenReturn(Optional.of(ongoing));
+
+    assertThrows(NotFoundException.class, () -> archiveService.get(1, View.TOURNAMENT));
+    assertEquals(0, archiveService.getSize());
+  }
+
+  @Test
+  void get_BeyondMaxBytes_ShouldEvictLeastRecentlyUsed() {
+
+    when(tournamentRepository.findDTOById(anyInt())).thenAnswer(invocation -> Optional.of(completed(invocation.getArgument(0))));
+    int entrySize = archiveService(1 << 20).get(1, View.TOURNAMENT).size();
+    TournamentArchiveService archiveService = archiveService(entrySize * 5L / 2);
+
+    archiveService.get(1, View.TOURNAMENT);
+    archiveService.get(2, View.TOURNAMENT);
+    archiveService.get(1, View.TOURNAMENT);
+    archiveService.get(3, View.TOURNAMENT);
+    archiveService.get(1, View.TOURNAMENT);
+    archiveService.get(2, View.TOURNAMENT);
+
+    assertEquals(2, archiveService.getSize());
+    assertTrue(archiveService.getTotalBytes() <= entrySize * 5L / 2);
+    verify(tournamentRepository, times(2)).findDTOById(1);
+    verify(tournamentRepository, times(2)).findDTOById(2);
+  }
+
+  private TournamentArchiveService archiveService(final long maxBytes) {
+    return new TournamentArchiveService(tournamentRepository, battleRepository, tournamentStartupRepository,
+        battleEventRepository, tournamentVersions, objectMapper, maxBytes);
+  }
+
+  private static TournamentDTO completed(final Integer id) {
+    return new TournamentDTO(id, "Tournament " + id, null, TournamentArchiveService.COMPLETED, 101);
+  }
+
+  private static BattleDTO battle(final Integer id) {
+    BattleDTO battleDTO = new BattleDTO();
+    battleDTO.setId(id);
+    battleDTO.setBattleNumber(1);
+    battleDTO.setRoundNumber(1);
+    battleDTO.setCompleted(true);
+    battleDTO.setTournament(1);
+    return battleDTO;
+  }
+}
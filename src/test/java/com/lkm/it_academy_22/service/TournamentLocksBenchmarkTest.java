@@ -0,0 +1,126 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.domain.Startup;
+import com.lkm.it_academy_22.domain.Tournament;
+import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.repos.BattleRepository;
+import com.lkm.it_academy_22.repos.StartupRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Resolves both first-round battles of hundreds of four-startup tournaments at the same time through the full
+ * update path. Sibling battles race for the same parent battle, so without per-tournament locking and column-level
+ * updates one winner would regularly overwrite the other.
+ */
+@DataJpaTest
+@Import({BattleService.class, TournamentService.class, BracketIndex.class, TournamentLocks.class, TournamentActorService.class, TournamentStateStore.class,
+    LeaderboardService.class, StartupStandingsService.class, LiveEventService.class, TournamentVersions.class,
+    JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TournamentLocksBenchmarkTest {
+
+  private static final int TOURNAMENTS = 200;
+  private static final int THREADS = 16;
+
+  @Autowired
+  private BattleService battleService;
+
+  @Autowired
+  private TournamentService tournamentService;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private StartupRepository startupRepository;
+
+  @Autowired
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Autowired
+  private BattleRepository battleRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private final List<List<BattleDTO>> brackets = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    for (int t = 0; t < TOURNAMENTS; t++) {
+      Integer tournamentId = new TransactionTemplate(transactionManager).execute(status -> {
+        Tournament tournament = new Tournament();
+        tournament.setName("Contention Tournament");
+        tournamentRepository.save(tournament);
+        for (int i = 0; i < 4; i++) {
+          Startup startup = new Startup();
+          startup.setName("Startup " + i);
+          startupRepository.save(startup);
+
+          TournamentStartup tournamentStartup = new TournamentStartup();
+          tournamentStartup.setTournament(tournament);
+          tournamentStartup.setStartup(startup);
+          tournamentStartup.setCurrentScore(70);
+          tournamentStartupRepository.save(tournamentStartup);
+        }
+        return tournament.getId();
+      });
+      brackets.add(tournamentService.generateBracket(tournamentId, null));
+    }
+  }
+
+  @Test
+  void concurrentSiblingResults_ShouldNeverLoseParentSlot() throws Exception {
+
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (List<BattleDTO> bracket : brackets) {
+      tasks.add(resolve(bracket.get(0)));
+      tasks.add(resolve(bracket.get(1)));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      for (Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    for (List<BattleDTO> bracket : brackets) {
+      BattleDTO finalBattle = battleRepository.findDTOById(bracket.get(2).getId()).orElseThrow();
+      assertEquals(bracket.get(0).getStartup1(), finalBattle.getStartup1());
+      assertEquals(bracket.get(1).getStartup1(), finalBattle.getStartup2());
+    }
+  }
+
+  private Callable<Void> resolve(final BattleDTO battle) {
+    return () -> {
+      BattleDTO battleDTO = new BattleDTO(battle.getId(), battle.getBattleNumber(), battle.getRoundNumber(), false,
+          true, null, battle.getTournament(), battle.getStartup1(), battle.getStartup2(), battle.getStartup1());
+      battleService.update(battle.getId(), battleDTO);
+      return null;
+    };
+  }
+}
@@ -0,0 +1,96 @@
+package com.lkm.it_academy_22.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentLocksTest {
+
+  private final TournamentLocks tournamentLocks = new TournamentLocks(64);
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void constructor_ShouldRoundStripesUpToPowerOfTwo() {
+
+    assertEquals(64, tournamentLocks.getStripeCount());
+    assertEquals(1, new TournamentLocks(1).getStripeCount());
+    assertEquals(128, new TournamentLocks(100).getStripeCount());
+    assertThrows(IllegalArgumentException.class, () -> new TournamentLocks(0));
+  }
+
+  @Test
+  void lockUntilCompletion_WithoutTransaction_ShouldThrowIllegalStateException() {
+
+    assertThrows(IllegalStateException.class, () -> tournamentLocks.lockUntilCompletion(1));
+  }
+
+  @Test
+  void lockUntilCompletion_ShouldBlockSameTournamentUntilCompletion() throws Exception {
+
+    TransactionSynchronizationManager.initSynchronization();
+    tournamentLocks.lockUntilCompletion(1);
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    CompletableFuture<Void> competitor = CompletableFuture.runAsync(() -> inTransaction(1, acquired));
+
+    assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    assertTrue(acquired.await(5, TimeUnit.SECONDS));
+    competitor.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void lockUntilCompletion_ShouldNotBlockOtherStripes() throws Exception {
+
+    TransactionSynchronizationManager.initSynchronization();
+    tournamentLocks.lockUntilCompletion(1);
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    CompletableFuture.runAsync(() -> inTransaction(2, acquired)).get(5, TimeUnit.SECONDS);
+
+    assertEquals(0, acquired.getCount());
+  }
+
+  @Test
+  void lockAllUntilCompletion_ShouldBlockEveryTournamentAndSkipNulls() throws Exception {
+
+    TransactionSynchronizationManager.initSynchronization();
+    tournamentLocks.lockAllUntilCompletion(Arrays.asList(1, null, 2, 1));
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    CompletableFuture<Void> competitor = CompletableFuture.runAsync(() -> inTransaction(2, acquired));
+
+    assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    assertTrue(acquired.await(5, TimeUnit.SECONDS));
+    competitor.get(5, TimeUnit.SECONDS);
+  }
+
+  private void inTransaction(final Integer tournamentId, final CountDownLatch acquired) {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      tournamentLocks.lockUntilCompletion(tournamentId);
+      acquired.countDown();
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+}
@@ -0,0 +1,480 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.domain.Battle;
+import com.lkm.it_academy_22.domain.Startup;
+import com.lkm.it_academy_22.domain.Tournament;
+import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BattleEventSummaryDTO;
+import com.lkm.it_academy_22.model.BracketDTO;
+import com.lkm.it_academy_22.model.EntityReference;
+import com.lkm.it_academy_22.model.TournamentDTO;
+import com.lkm.it_academy_22.model.TournamentFullDTO;
+import com.lkm.it_academy_22.model.TournamentParticipantDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import com.lkm.it_academy_22.repos.BattleEventRepository;
+import com.lkm.it_academy_22.repos.BattleRepository;
+import com.lkm.it_academy_22.repos.StartupRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import com.lkm.it_academy_22.util.ReferencedWarning;
+import com.lkm.it_academy_22.util.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TournamentServiceTest {
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+
+  @Mock
+  private StartupRepository startupRepository;
+
+  @Mock
+  private BattleRepository battleRepository;
+
+  @Mock
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Mock
+  private TournamentActorService tournamentActorService;
+
+  @Mock
+  private StartupStandingsService startupStandingsService;
+
+  @Mock
+  private BattleEventRepository battleEventRepository;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @InjectMocks
+  private TournamentService tournamentService;
+
+  private Tournament tournament;
+  private TournamentDTO tournamentDTO;
+  private Startup startup;
+  private Battle battle;
+
+  @BeforeEach
+  void setUp() {
+    startup = new Startup();
+    startup.setId(1);
+    startup.setName("Test Startup");
+
+    tournament = new Tournament();
+    tournament.setId(1);
+    tournament.setName("Test Tournament");
+    tournament.setStatus("ACTIVE");
+    tournament.setChampion(startup);
+    tournament.setCreatedAt(OffsetDateTime.now());
+
+    tournamentDTO = new TournamentDTO();
+    tournamentDTO.setName("Test Tournament");
+    tournamentDTO.setStatus("ACTIVE");
+    tournamentDTO.setChampion(1);
+
+    battle = new Battle();
+    battle.setId(1);
+    battle.setTournament(tournament);
+    battle.setBattleNumber(1);
+
+    Set<Battle> battles = new HashSet<>();
+    battles.add(battle);
+    tournament.setTournamentBattles(battles);
+  }
+
+  @Test
+  void findAll_ShouldReturnAllTournaments() {
+
+    when(tournamentRepository.findDTOPage(Integer.MIN_VALUE, Limit.of(101))).thenReturn(Arrays.asList(new TournamentDTO(1, "Test Tournament", tournament.getCreatedAt(), "ACTIVE", 1)));
+
+    List<TournamentDTO> result = tournamentService.findAll(null, 100).getItems();
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+    assertEquals("Test Tournament", result.get(0).getName());
+    assertEquals("ACTIVE", result.get(0).getStatus());
+    verify(tournamentRepository).findDTOPage(Integer.MIN_VALUE, Limit.of(101));
+  }
+
+  @Test
+  void get_WithValidId_ShouldReturnTournament() {
+
+    when(tournamentRepository.findDTOById(1)).thenReturn(Optional.of(new TournamentDTO(1, "Test Tournament", tournament.getCreatedAt(), "ACTIVE", 1)));
+
+    TournamentDTO result = tournamentService.get(1);
+
+    assertNotNull(result);
+    assertEquals("Test Tournament", result.getName());
+    assertEquals("ACTIVE", result.getStatus());
+    assertEquals(1, result.getChampion());
+    verify(tournamentRepository).findDTOById(1);
+  }
+
+  @Test
+  void get_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(tournamentRepository.findDTOById(99)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> tournamentService.get(99));
+    verify(tournamentRepository).findDTOById(99);
+  }
+
+  @Test
+  void getFull_WithValidId_ShouldAssembleEverySection() {
+
+    TournamentDTO tournamentDTO = new TournamentDTO(1, "Test Tournament", null, "ACTIVE", null);
+    TournamentParticipantDTO participant = new TournamentParticipantDTO(11, 1, "Test Startup", 70, false);
+    BattleDTO battleDTO = new BattleDTO(1, 1, 1, false, false, null, 1, 11, 12, null);
+    BattleEventSummaryDTO summary = new BattleEventSummaryDTO(1, 11, 1, "Pitch", 2L, 12L);
+    when(tournamentRepository.findDTOById(1)).thenReturn(Optional.of(tournamentDTO));
+    when(tournamentStartupRepository.findParticipantsByTournamentId(1)).thenReturn(List.of(participant));
+    when(battleRepository.findDTOsByTournamentId(1)).thenReturn(List.of(battleDTO));
+    when(battleEventRepository.findSummariesByTournamentId(1)).thenReturn(List.of(summary));
+
+    TournamentFullDTO result = tournamentService.getFull(1);
+
+    assertSame(tournamentDTO, result.getTournament());
+    assertEquals(List.of(participant), result.getParticipants());
+    assertEquals(List.of(battleDTO), result.getBracket());
+    assertEquals(List.of(summary), result.getEventSummaries());
+  }
+
+  @Test
+  void getFull_WhileBeingPlayed_ShouldTakeBracketFromActor() {
+
+    TournamentDTO tournamentDTO = new TournamentDTO(1, "Test Tournament", null, "ACTIVE", null);
+    BattleDTO battleDTO = new BattleDTO(1, 1, 1, false, true, null, 1, 11, 12, 11);
+    when(tournamentRepository.findDTOById(1)).thenReturn(Optional.of(tournamentDTO));
+    when(tournamentActorService.findSnapshot(1))
+        .thenReturn(Optional.of(new TournamentSnapshot(3L, List.of(), List.of(battleDTO))));
+
+    TournamentFullDTO result = tournamentService.getFull(1);
+
+    assertEquals(List.of(battleDTO), result.getBracket());
+    verify(battleRepository, never()).findDTOsByTournamentId(any());
+  }
+
+  @Test
+  void getFull_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(tournamentRepository.findDTOById(99)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> tournamentService.getFull(99));
+    verify(battleRepository, never()).findDTOsByTournamentId(any());
+  }
+
+  @Test
+  void getBattlesByTournamentId_WithValidId_ShouldReturnBattles() {
+
+    BattleDTO battleDTO = new BattleDTO(1, 1, 1, false, false, null, 1, null, null, null);
+    when(battleRepository.findDTOsByTournamentId(1)).thenReturn(List.of(battleDTO));
+
+    List<BattleDTO> result = tournamentService.getBattlesByTournamentId(1);
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+    assertEquals(1, result.get(0).getId());
+    assertEquals(1, result.get(0).getBattleNumber());
+    verify(battleRepository).findDTOsByTournamentId(1);
+    verify(tournamentRepository, never()).existsById(any());
+    verify(tournamentRepository, never()).findById(any());
+  }
+
+  @Test
+  void getBattlesByTournamentId_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(battleRepository.findDTOsByTournamentId(99)).thenReturn(List.of());
+    when(tournamentRepository.existsById(99)).thenReturn(false);
+
+    assertThrows(NotFoundException.class, () -> tournamentService.getBattlesByTournamentId(99));
+    verify(tournamentRepository).existsById(99);
+  }
+
+  @Test
+  void generateBracket_ShouldPairEntrantsAndCreateEveryRound() {
+
+    stubEntrants(11, 12, 13, 14);
+
+    List<BattleDTO> result = tournamentService.generateBracket(1, null);
+
+    assertEquals(List.of(1, 2, 3), result.stream().map(BattleDTO::getBattleNumber).toList());
+    assertEquals(List.of(1, 1, 2), result.stream().map(BattleDTO::getRoundNumber).toList());
+    assertEquals(11, result.get(0).getStartup1());
+    assertEquals(12, result.get(0).getStartup2());
+    assertEquals(13, result.get(1).getStartup1());
+    assertEquals(14, result.get(1).getStartup2());
+    assertNull(result.get(2).getStartup1());
+    verify(tournamentStartupRepository).findDTOsByTournamentId(1);
+    verify(battleRepository).saveAll(anyList());
+    verify(battleRepository, never()).save(any(Battle.class));
+  }
+
+  @Test
+  void generateBracket_WithSeeds_ShouldKeepTopSeedsApart() {
+
+    stubEntrants(11, 12, 13, 14);
+
+    List<BattleDTO> result = tournamentService.generateBracket(1, new BracketDTO(false, null, List.of(14, 13)));
+
+    assertEquals(14, result.get(0).getStartup1());
+    assertEquals(12, result.get(0).getStartup2());
+    assertEquals(13, result.get(1).getStartup1());
+    assertEquals(11, result.get(1).getStartup2());
+  }
+
+  @Test
+  void generateBracket_WithRandomSeed_ShouldShuffleReproducibly() {
+
+    stubEntrants(11, 12, 13, 14, 15, 16, 17, 18);
+    List<BattleDTO> first = tournamentService.generateBracket(1, new BracketDTO(true, 42L, null));
+
+    stubEntrants(11, 12, 13, 14, 15, 16, 17, 18);
+    List<BattleDTO> second = tournamentService.generateBracket(1, new BracketDTO(true, 42L, null));
+
+    assertEquals(first.stream().map(BattleDTO::getStartup1).toList(),
+        second.stream().map(BattleDTO::getStartup1).toList());
+    assertEquals(first.stream().map(BattleDTO::getStartup2).toList(),
+        second.stream().map(BattleDTO::getStartup2).toList());
+  }
+
+  @Test
+  void generateBracket_WithThreeEntrants_ShouldResolveByeIntoParentBattle() {
+
+    stubEntrants(11, 12, 13);
+
+    List<BattleDTO> result = tournamentService.generateBracket(1, null);
+
+    assertEquals(3, result.size());
+    assertEquals(11, result.get(0).getStartup1());
+    assertNull(result.get(0).getStartup2());
+    assertEquals(11, result.get(0).getWinner());
+    assertTrue(result.get(0).getCompleted());
+    assertEquals(12, result.get(1).getStartup1());
+    assertEquals(13, result.get(1).getStartup2());
+    assertFalse(result.get(1).getCompleted());
+    assertEquals(11, result.get(2).getStartup1());
+    assertNull(result.get(2).getStartup2());
+    verify(tournamentStartupRepository, never()).incrementCurrentScore(any(), anyInt());
+  }
+
+  @Test
+  void generateBracket_WithFiveEntrants_ShouldGiveByesToTopRanks() {
+
+    stubEntrants(11, 12, 13, 14, 15);
+
+    List<BattleDTO> result = tournamentService.generateBracket(1, null);
+
+    assertEquals(7, result.size());
+    assertEquals(3, result.stream().filter(BattleDTO::getCompleted).count());
+    assertEquals(14, result.get(1).getStartup1());
+    assertEquals(15, result.get(1).getStartup2());
+    assertEquals(11, result.get(4).getStartup1());
+    assertNull(result.get(4).getStartup2());
+    assertEquals(12, result.get(5).getStartup1());
+    assertEquals(13, result.get(5).getStartup2());
+    assertNull(result.get(6).getStartup1());
+  }
+
+  @Test
+  void generateBracket_WithSingleEntrant_ShouldThrowIllegalArgumentException() {
+
+    stubEntrants(11);
+
+    assertThrows(IllegalArgumentException.class, () -> tournamentService.generateBracket(1, null));
+    verify(battleRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void generateBracket_WithExistingBattles_ShouldThrowIllegalStateException() {
+
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(battleRepository.existsByTournamentId(1)).thenReturn(true);
+
+    assertThrows(IllegalStateException.class, () -> tournamentService.generateBracket(1, null));
+    InOrder inOrder = inOrder(tournamentActorService, battleRepository);
+    inOrder.verify(tournamentActorService).lockUnowned(1);
+    inOrder.verify(battleRepository).existsByTournamentId(1);
+    verify(battleRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void generateBracket_WithUnknownSeed_ShouldThrowIllegalArgumentException() {
+
+    stubEntrants(11, 12);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> tournamentService.generateBracket(1, new BracketDTO(false, null, List.of(99))));
+    verify(battleRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void generateBracket_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(tournamentRepository.findById(99)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> tournamentService.generateBracket(99, null));
+  }
+
+  @Test
+  void existsById_WithExistingId_ShouldReturnTrue() {
+
+    when(tournamentRepository.existsById(1)).thenReturn(true);
+
+    boolean result = tournamentService.existsById(1);
+
+    assertTrue(result);
+    verify(tournamentRepository).existsById(1);
+  }
+
+  @Test
+  void existsById_WithNonExistingId_ShouldReturnFalse() {
+
+    when(tournamentRepository.existsById(99)).thenReturn(false);
+
+    boolean result = tournamentService.existsById(99);
+
+    assertFalse(result);
+    verify(tournamentRepository).existsById(99);
+  }
+
+  @Test
+  void create_ShouldSaveAndReturnId() {
+
+    when(startupRepository.findById(1)).thenReturn(Optional.of(startup));
+    when(tournamentRepository.save(any(Tournament.class))).thenReturn(tournament);
+
+    Integer result = tournamentService.create(tournamentDTO);
+
+    assertEquals(1, result);
+    verify(startupRepository).findById(1);
+    verify(tournamentRepository).save(any(Tournament.class));
+  }
+
+  @Test
+  void update_WithValidId_ShouldUpdateTournament() {
+
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(startupRepository.findById(1)).thenReturn(Optional.of(startup));
+    when(tournamentRepository.save(any(Tournament.class))).thenReturn(tournament);
+
+    tournamentDTO.setName("Updated Name");
+
+    tournamentService.update(1, tournamentDTO);
+
+    assertEquals("Updated Name", tournament.getName());
+    verify(tournamentRepository).findById(1);
+    verify(startupRepository).findById(1);
+    verify(tournamentRepository).save(tournament);
+  }
+
+  @Test
+  void update_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(tournamentRepository.findById(99)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> tournamentService.update(99, tournamentDTO));
+    verify(tournamentRepository).findById(99);
+    verify(tournamentRepository, never()).save(any(Tournament.class));
+  }
+
+  @Test
+  void delete_ShouldCallRepository() {
+
+    tournamentService.delete(1);
+
+    verify(tournamentRepository).deleteById(1);
+    verify(eventPublisher).publishEvent(new DomainEvents.TournamentDeleted(1));
+  }
+
+  @Test
+  void getReferencedWarning_WithTournamentStartupReference_ShouldReturnWarning() {
+
+    when(tournamentRepository.findReference(1))
+        .thenReturn(Optional.of(reference("tournament.tournamentStartup.tournament.referenced", 2)));
+
+    ReferencedWarning result = tournamentService.getReferencedWarning(1);
+
+    assertNotNull(result);
+    assertEquals("tournament.tournamentStartup.tournament.referenced", result.getKey());
+    assertEquals(2, result.getParams().get(0));
+    verify(tournamentRepository).findReference(1);
+  }
+
+  @Test
+  void getReferencedWarning_WithBattleReference_ShouldReturnWarning() {
+
+    when(tournamentRepository.findReference(1))
+        .thenReturn(Optional.of(reference("tournament.battle.tournament.referenced", 3)));
+
+    ReferencedWarning result = tournamentService.getReferencedWarning(1);
+
+    assertNotNull(result);
+    assertEquals("tournament.battle.tournament.referenced", result.getKey());
+    assertEquals(3, result.getParams().get(0));
+    verify(tournamentRepository).findReference(1);
+  }
+
+  @Test
+  void getReferencedWarning_WithNoReferences_ShouldReturnNull() {
+
+    when(tournamentRepository.findReference(1)).thenReturn(Optional.of(reference(null, 1)));
+
+    ReferencedWarning result = tournamentService.getReferencedWarning(1);
+
+    assertNull(result);
+    verify(tournamentRepository).findReference(1);
+  }
+
+  @Test
+  void getReferencedWarning_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(tournamentRepository.findReference(999)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> tournamentService.getReferencedWarning(999));
+  }
+
+  private void stubEntrants(final Integer... ids) {
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(battleRepository.existsByTournamentId(1)).thenReturn(false);
+    when(tournamentStartupRepository.findDTOsByTournamentId(1)).thenReturn(Arrays.stream(ids)
+        .map(id -> new TournamentStartupDTO(id, 70, false, 1, id, null))
+        .toList());
+    lenient().when(tournamentStartupRepository.getReferenceById(any())).thenAnswer(invocation -> {
+      TournamentStartup tournamentStartup = new TournamentStartup();
+      tournamentStartup.setId(invocation.getArgument(0));
+      return tournamentStartup;
+    });
+  }
+
+  private static EntityReference reference(final String key, final Integer id) {
+    return new EntityReference() {
+
+      @Override
+      public String getReferenceKey() {
+        return key;
+      }
+
+      @Override
+      public Integer getReferenceId() {
+        return id;
+      }
+    };
+  }
+}
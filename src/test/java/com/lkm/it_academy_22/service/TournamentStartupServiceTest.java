@@ -1,6 +1,7 @@
 package com.lkm.it_academy_22.service;
 
 import com.lkm.it_academy_22.domain.*;
+import com.lkm.it_academy_22.model.EntityReference;
 import com.lkm.it_academy_22.model.TournamentStartupDTO;
 import com.lkm.it_academy_22.repos.*;
 import com.lkm.it_academy_22.util.ReferencedWarning;
@@ -11,7 +12,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.OffsetDateTime;
 import java.util.*;
@@ -33,10 +35,13 @@ public class TournamentStartupServiceTest {
   private StartupRepository startupRepository;
 
   @Mock
-  private BattleRepository battleRepository;
+  private TournamentActorService tournamentActorService;
 
   @Mock
-  private BattleEventRepository battleEventRepository;
+  private StartupStandingsService startupStandingsService;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
 
   @InjectMocks
   private TournamentStartupService tournamentStartupService;
@@ -78,9 +83,9 @@ public class TournamentStartupServiceTest {
   @Test
   void findAll_ShouldReturnAllTournamentStartups() {
 
-    when(tournamentStartupRepository.findAll(any(Sort.class))).thenReturn(Arrays.asList(tournamentStartup));
+    when(tournamentStartupRepository.findDTOPage(Integer.MIN_VALUE, Limit.of(101))).thenReturn(Arrays.asList(new TournamentStartupDTO(1, 70, false, 1, 1, tournamentStartup.getCreatedAt())));
 
-    List<TournamentStartupDTO> result = tournamentStartupService.findAll();
+    List<TournamentStartupDTO> result = tournamentStartupService.findAll(null, 100).getItems();
 
     assertNotNull(result);
     assertEquals(1, result.size());
@@ -88,13 +93,13 @@ public class TournamentStartupServiceTest {
     assertFalse(result.get(0).getEliminated());
     assertEquals(1, result.get(0).getTournament());
     assertEquals(1, result.get(0).getStartup());
-    verify(tournamentStartupRepository).findAll(any(Sort.class));
+    verify(tournamentStartupRepository).findDTOPage(Integer.MIN_VALUE, Limit.of(101));
   }
 
   @Test
   void get_WithValidId_ShouldReturnTournamentStartup() {
 
-    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(tournamentStartup));
+    when(tournamentStartupRepository.findDTOById(1)).thenReturn(Optional.of(new TournamentStartupDTO(1, 70, false, 1, 1, tournamentStartup.getCreatedAt())));
 
     TournamentStartupDTO result = tournamentStartupService.get(1);
 
@@ -103,22 +108,23 @@ public class TournamentStartupServiceTest {
     assertFalse(result.getEliminated());
     assertEquals(1, result.getTournament());
     assertEquals(1, result.getStartup());
-    verify(tournamentStartupRepository).findById(1);
+    verify(tournamentStartupRepository).findDTOById(1);
   }
 
   @Test
   void get_WithInvalidId_ShouldThrowNotFoundException() {
 
-    when(tournamentStartupRepository.findById(99)).thenReturn(Optional.empty());
+    when(tournamentStartupRepository.findDTOById(99)).thenReturn(Optional.empty());
 
     assertThrows(NotFoundException.class, () -> tournamentStartupService.get(99));
-    verify(tournamentStartupRepository).findById(99);
+    verify(tournamentStartupRepository).findDTOById(99);
   }
 
   @Test
   void getTournamentStartupsByTournamentId_ShouldReturnStartups() {
 
-    when(tournamentRepository.findById(1)).thenReturn(Optional.of(tournament));
+    when(tournamentStartupRepository.findDTOsByTournamentId(1))
+        .thenReturn(List.of(new TournamentStartupDTO(1, 70, false, 1, 1, null)));
 
     List<TournamentStartupDTO> result = tournamentStartupService.getTournamentStartupsByTournamentId(1);
 
@@ -126,16 +132,18 @@ public class TournamentStartupServiceTest {
     assertEquals(1, result.size());
     assertEquals(70, result.get(0).getCurrentScore());
     assertFalse(result.get(0).getEliminated());
-    verify(tournamentRepository).findById(1);
+    verify(tournamentStartupRepository).findDTOsByTournamentId(1);
+    verify(tournamentRepository, never()).findById(any());
   }
 
   @Test
   void getTournamentStartupsByTournamentId_WithInvalidId_ShouldThrowNotFoundException() {
 
-    when(tournamentRepository.findById(99)).thenReturn(Optional.empty());
+    when(tournamentStartupRepository.findDTOsByTournamentId(99)).thenReturn(List.of());
+    when(tournamentRepository.existsById(99)).thenReturn(false);
 
     assertThrows(NotFoundException.class, () -> tournamentStartupService.getTournamentStartupsByTournamentId(99));
-    verify(tournamentRepository).findById(99);
+    verify(tournamentRepository).existsById(99);
   }
 
   @Test
@@ -151,6 +159,8 @@ public class TournamentStartupServiceTest {
     verify(tournamentRepository).findById(1);
     verify(startupRepository).findById(1);
     verify(tournamentStartupRepository).save(any(TournamentStartup.class));
+    verify(tournamentActorService).lockUnowned(1);
+    verify(eventPublisher).publishEvent(new DomainEvents.EntrantsChanged(1));
   }
 
   @Test
@@ -172,6 +182,35 @@ public class TournamentStartupServiceTest {
     verify(tournamentRepository).findById(1);
     verify(startupRepository).findById(1);
     verify(tournamentStartupRepository).save(tournamentStartup);
+    verify(eventPublisher).publishEvent(new DomainEvents.EntrantsChanged(1));
+  }
+
+  @Test
+  void update_WithNewTournament_ShouldChangeBothTournaments() {
+
+    Tournament otherTournament = new Tournament();
+    otherTournament.setId(2);
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(tournamentStartup));
+    when(tournamentRepository.findById(2)).thenReturn(Optional.of(otherTournament));
+    when(startupRepository.findById(1)).thenReturn(Optional.of(startup));
+
+    tournamentStartupDTO.setTournament(2);
+
+    tournamentStartupService.update(1, tournamentStartupDTO);
+
+    assertEquals(otherTournament, tournamentStartup.getTournament());
+    verify(tournamentActorService).lockUnowned(1, 2);
+    verify(eventPublisher).publishEvent(new DomainEvents.EntrantsChanged(1));
+    verify(eventPublisher).publishEvent(new DomainEvents.EntrantsChanged(2));
+  }
+
+  @Test
+  void create_WhenTournamentOwnedByActor_ShouldThrowIllegalStateException() {
+
+    doThrow(new IllegalStateException("Tournament is being played")).when(tournamentActorService).lockUnowned(1);
+
+    assertThrows(IllegalStateException.class, () -> tournamentStartupService.create(tournamentStartupDTO));
+    verify(tournamentStartupRepository, never()).save(any(TournamentStartup.class));
   }
 
   @Test
@@ -187,111 +226,101 @@ public class TournamentStartupServiceTest {
   @Test
   void delete_ShouldCallRepository() {
 
+    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(tournamentStartup));
+
     tournamentStartupService.delete(1);
 
-    verify(tournamentStartupRepository).deleteById(1);
+    verify(tournamentStartupRepository).delete(tournamentStartup);
+    verify(eventPublisher).publishEvent(new DomainEvents.EntrantsChanged(1));
   }
 
   @Test
   void getReferencedWarning_WithBattleStartup1Reference_ShouldReturnWarning() {
 
-    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(tournamentStartup));
-
-    Battle battle = new Battle();
-    battle.setId(1);
-    when(battleRepository.findFirstByStartup1(tournamentStartup)).thenReturn(battle);
+    when(tournamentStartupRepository.findReference(1))
+        .thenReturn(Optional.of(reference("tournamentStartup.battle.startup1.referenced", 2)));
 
     ReferencedWarning result = tournamentStartupService.getReferencedWarning(1);
 
     assertNotNull(result);
     assertEquals("tournamentStartup.battle.startup1.referenced", result.getKey());
-    assertEquals(1, result.getParams().get(0));
-    verify(tournamentStartupRepository).findById(1);
-    verify(battleRepository).findFirstByStartup1(tournamentStartup);
+    assertEquals(2, result.getParams().get(0));
+    verify(tournamentStartupRepository).findReference(1);
   }
 
   @Test
   void getReferencedWarning_WithBattleStartup2Reference_ShouldReturnWarning() {
 
-    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(tournamentStartup));
-    when(battleRepository.findFirstByStartup1(tournamentStartup)).thenReturn(null);
-
-    Battle battle = new Battle();
-    battle.setId(1);
-    when(battleRepository.findFirstByStartup2(tournamentStartup)).thenReturn(battle);
+    when(tournamentStartupRepository.findReference(1))
+        .thenReturn(Optional.of(reference("tournamentStartup.battle.startup2.referenced", 3)));
 
     ReferencedWarning result = tournamentStartupService.getReferencedWarning(1);
 
     assertNotNull(result);
     assertEquals("tournamentStartup.battle.startup2.referenced", result.getKey());
-    assertEquals(1, result.getParams().get(0));
-    verify(tournamentStartupRepository).findById(1);
-    verify(battleRepository).findFirstByStartup1(tournamentStartup);
-    verify(battleRepository).findFirstByStartup2(tournamentStartup);
+    assertEquals(3, result.getParams().get(0));
+    verify(tournamentStartupRepository).findReference(1);
   }
 
   @Test
   void getReferencedWarning_WithBattleWinnerReference_ShouldReturnWarning() {
 
-    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(tournamentStartup));
-    when(battleRepository.findFirstByStartup1(tournamentStartup)).thenReturn(null);
-    when(battleRepository.findFirstByStartup2(tournamentStartup)).thenReturn(null);
-
-    Battle battle = new Battle();
-    battle.setId(1);
-    when(battleRepository.findFirstByWinner(tournamentStartup)).thenReturn(battle);
+    when(tournamentStartupRepository.findReference(1))
+        .thenReturn(Optional.of(reference("tournamentStartup.battle.winner.referenced", 4)));
 
     ReferencedWarning result = tournamentStartupService.getReferencedWarning(1);
 
     assertNotNull(result);
     assertEquals("tournamentStartup.battle.winner.referenced", result.getKey());
-    assertEquals(1, result.getParams().get(0));
-    verify(tournamentStartupRepository).findById(1);
-    verify(battleRepository).findFirstByStartup1(tournamentStartup);
-    verify(battleRepository).findFirstByStartup2(tournamentStartup);
-    verify(battleRepository).findFirstByWinner(tournamentStartup);
+    assertEquals(4, result.getParams().get(0));
+    verify(tournamentStartupRepository).findReference(1);
   }
 
   @Test
   void getReferencedWarning_WithBattleEventReference_ShouldReturnWarning() {
 
-    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(tournamentStartup));
-    when(battleRepository.findFirstByStartup1(tournamentStartup)).thenReturn(null);
-    when(battleRepository.findFirstByStartup2(tournamentStartup)).thenReturn(null);
-    when(battleRepository.findFirstByWinner(tournamentStartup)).thenReturn(null);
-
-    BattleEvent battleEvent = new BattleEvent();
-    battleEvent.setId(1);
-    when(battleEventRepository.findFirstByStartup(tournamentStartup)).thenReturn(battleEvent);
+    when(tournamentStartupRepository.findReference(1))
+        .thenReturn(Optional.of(reference("tournamentStartup.battleEvent.startup.referenced", 5)));
 
     ReferencedWarning result = tournamentStartupService.getReferencedWarning(1);
 
     assertNotNull(result);
     assertEquals("tournamentStartup.battleEvent.startup.referenced", result.getKey());
-    assertEquals(1, result.getParams().get(0));
-    verify(tournamentStartupRepository).findById(1);
-    verify(battleRepository).findFirstByStartup1(tournamentStartup);
-    verify(battleRepository).findFirstByStartup2(tournamentStartup);
-    verify(battleRepository).findFirstByWinner(tournamentStartup);
-    verify(battleEventRepository).findFirstByStartup(tournamentStartup);
+    assertEquals(5, result.getParams().get(0));
+    verify(tournamentStartupRepository).findReference(1);
   }
 
   @Test
   void getReferencedWarning_WithNoReferences_ShouldReturnNull() {
 
-    when(tournamentStartupRepository.findById(1)).thenReturn(Optional.of(tournamentStartup));
-    when(battleRepository.findFirstByStartup1(tournamentStartup)).thenReturn(null);
-    when(battleRepository.findFirstByStartup2(tournamentStartup)).thenReturn(null);
-    when(battleRepository.findFirstByWinner(tournamentStartup)).thenReturn(null);
-    when(battleEventRepository.findFirstByStartup(tournamentStartup)).thenReturn(null);
+    when(tournamentStartupRepository.findReference(1)).thenReturn(Optional.of(reference(null, 1)));
 
     ReferencedWarning result = tournamentStartupService.getReferencedWarning(1);
 
     assertNull(result);
-    verify(tournamentStartupRepository).findById(1);
-    verify(battleRepository).findFirstByStartup1(tournamentStartup);
-    verify(battleRepository).findFirstByStartup2(tournamentStartup);
-    verify(battleRepository).findFirstByWinner(tournamentStartup);
-    verify(battleEventRepository).findFirstByStartup(tournamentStartup);
+    verify(tournamentStartupRepository).findReference(1);
+  }
+
+  @Test
+  void getReferencedWarning_WithInvalidId_ShouldThrowNotFoundException() {
+
+    when(tournamentStartupRepository.findReference(999)).thenReturn(Optional.empty());
+
+    assertThrows(NotFoundException.class, () -> tournamentStartupService.getReferencedWarning(999));
+  }
+
+  private static EntityReference reference(final String key, final Integer id) {
+    return new EntityReference() {
+
+      @Override
+      public String getReferenceKey() {
+        return key;
+      }
+
+      @Override
+      public Integer getReferenceId() {
+        return id;
+      }
+    };
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+package com.lkm.it_academy_22.service;
+
+import com.lkm.it_academy_22.domain.Battle;
+import com.lkm.it_academy_22.domain.BattleEvent;
+import com.lkm.it_academy_22.domain.EventType;
+import com.lkm.it_academy_22.domain.Startup;
+import com.lkm.it_academy_22.domain.Tournament;
+import com.lkm.it_academy_22.domain.TournamentStartup;
+import com.lkm.it_academy_22.model.BattleDTO;
+import com.lkm.it_academy_22.model.BattleEventSummaryDTO;
+import com.lkm.it_academy_22.model.TournamentFullDTO;
+import com.lkm.it_academy_22.model.TournamentParticipantDTO;
+import com.lkm.it_academy_22.model.TournamentStartupDTO;
+import com.lkm.it_academy_22.repos.BattleEventRepository;
+import com.lkm.it_academy_22.repos.BattleRepository;
+import com.lkm.it_academy_22.repos.StartupRepository;
+import com.lkm.it_academy_22.repos.TournamentRepository;
+import com.lkm.it_academy_22.repos.TournamentStartupRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TournamentService.class, TournamentLocks.class, TournamentStartupService.class, BracketIndex.class, TournamentActorService.class, TournamentStateStore.class,
+    LeaderboardService.class, StartupStandingsService.class, LiveEventService.class, TournamentVersions.class,
+    JacksonAutoConfiguration.class})
+public class TournamentSubResourceQueryCountTest {
+
+  @Autowired
+  private TournamentService tournamentService;
+
+  @Autowired
+  private TournamentStartupService tournamentStartupService;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private StartupRepository startupRepository;
+
+  @Autowired
+  private TournamentStartupRepository tournamentStartupRepository;
+
+  @Autowired
+  private BattleRepository battleRepository;
+
+  @Autowired
+  private BattleEventRepository battleEventRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private Statistics statistics;
+  private Integer tournamentId;
+
+  @BeforeEach
+  void setUp() {
+    Tournament tournament = new Tournament();
+    tournament.setName("Query Count Tournament");
+    tournamentRepository.save(tournament);
+    tournamentId = tournament.getId();
+
+    TournamentStartup[] entrants = new TournamentStartup[4];
+    for (int i = 0; i < entrants.length; i++) {
+      Startup startup = new Startup();
+      startup.setName("Startup " + i);
+      startupRepository.save(startup);
+
+      entrants[i] = new TournamentStartup();
+      entrants[i].setTournament(tournament);
+      entrants[i].setStartup(startup);
+      tournamentStartupRepository.save(entrants[i]);
+    }
+
+    // saved out of order to prove the query sorts by round and battle number
+    battleRepository.save(battle(tournament, 3, 2, null, null));
+    battleRepository.save(battle(tournament, 2, 1, entrants[2], entrants[3]));
+    Battle first = battleRepository.save(battle(tournament, 1, 1, entrants[0], entrants[1]));
+
+    // two events of the same type collapse into one summary
+    battleEventRepository.save(battleEvent(first, entrants[0], 1));
+    battleEventRepository.save(battleEvent(first, entrants[0], 1));
+    battleEventRepository.save(battleEvent(first, entrants[1], 3));
+
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void getBattlesByTournamentId_ShouldUseSingleOrderedStatement() {
+
+    List<BattleDTO> result = tournamentService.getBattlesByTournamentId(tournamentId);
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertEquals(List.of(1, 2, 3), result.stream().map(BattleDTO::getBattleNumber).toList());
+    assertNull(result.get(2).getStartup1());
+  }
+
+  @Test
+  void getTournamentStartupsByTournamentId_ShouldUseSingleStatement() {
+
+    List<TournamentStartupDTO> result = tournamentStartupService.getTournamentStartupsByTournamentId(tournamentId);
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertEquals(4, result.size());
+  }
+
+  @Test
+  void getFull_ShouldUseFixedNumberOfStatements() {
+
+    TournamentFullDTO result = tournamentService.getFull(tournamentId);
+
+    assertEquals(4, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertEquals("Query Count Tournament", result.getTournament().getName());
+    assertEquals(List.of("Startup 0", "Startup 1", "Startup 2", "Startup 3"),
+        result.getParticipants().stream().map(TournamentParticipantDTO::getName).toList());
+    assertEquals(List.of(1, 2, 3), result.getBracket().stream().map(BattleDTO::getBattleNumber).toList());
+    assertEquals(2, result.getEventSummaries().size());
+    BattleEventSummaryDTO pitches = result.getEventSummaries().get(0);
+    assertEquals(result.getParticipants().get(0).getTournamentStartup(), pitches.getStartup());
+    assertEquals(2L, pitches.getCount());
+    assertEquals(12L, pitches.getScore());
+    assertEquals(-4L, result.getEventSummaries().get(1).getScore());
+  }
+
+  private BattleEvent battleEvent(final Battle battle, final TournamentStartup startup, final int eventTypeId) {
+    BattleEvent battleEvent = new BattleEvent();
+    battleEvent.setBattle(battle);
+    battleEvent.setStartup(startup);
+    battleEvent.setEventType(entityManager.getReference(EventType.class, eventTypeId));
+    return battleEvent;
+  }
+
+  private Battle battle(final Tournament tournament, final int battleNumber, final int roundNumber,
+      final TournamentStartup startup1, final TournamentStartup startup2) {
+    Battle battle = new Battle();
+    battle.setTournament(tournament);
+    battle.setBattleNumber(battleNumber);
+    battle.setRoundNumber(roundNumber);
+    battle.setStartup1(startup1);
+    battle.setStartup2(startup2);
+    return battle;
+  }
+}
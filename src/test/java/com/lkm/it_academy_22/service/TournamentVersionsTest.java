@@ -0,0 +1,93 @@
+package com.lkm.it_academy_22.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentVersionsTest {
+
+  private final TournamentVersions tournamentVersions = new TournamentVersions(2);
+
+  @Test
+  void onTournamentChanged_ShouldBumpOnlyThatTournament() {
+
+    long initial = tournamentVersions.getVersion(1);
+
+    tournamentVersions.onTournamentChanged(new DomainEvents.TournamentChanged(1));
+
+    assertTrue(tournamentVersions.getVersion(1) > initial);
+    assertEquals(initial, tournamentVersions.getVersion(2));
+  }
+
+  @Test
+  void onScoresChanged_ShouldBumpEachTournamentOnce() {
+
+    long initial = tournamentVersions.getVersion(1);
+    ScoreDeltas scoreDeltas = new ScoreDeltas();
+    scoreDeltas.add(1, 11, 5);
+    scoreDeltas.add(1, 12, 5);
+    scoreDeltas.add(2, 21, 5);
+
+    tournamentVersions.onScoresChanged(new DomainEvents.ScoresChanged(null, scoreDeltas, false));
+
+    assertEquals(Set.of(initial + 1, initial + 2),
+        Set.of(tournamentVersions.getVersion(1), tournamentVersions.getVersion(2)));
+  }
+
+  @Test
+  void onTournamentChanged_BeyondMaxTournaments_ShouldNeverLowerAVersion() {
+
+    long untracked = tournamentVersions.getVersion(9);
+    for (int i = 0; i < 3; i++) {
+      tournamentVersions.onTournamentChanged(new DomainEvents.TournamentChanged(1));
+    }
+    long evicted = tournamentVersions.getVersion(1);
+
+    tournamentVersions.onTournamentChanged(new DomainEvents.TournamentChanged(2));
+    tournamentVersions.onTournamentChanged(new DomainEvents.TournamentChanged(3));
+
+    assertEquals(2, tournamentVersions.getSize());
+    assertEquals(evicted, tournamentVersions.getVersion(1));
+    assertTrue(tournamentVersions.getVersion(9) > untracked);
+    tournamentVersions.onTournamentChanged(new DomainEvents.TournamentChanged(1));
+    assertTrue(tournamentVersions.getVersion(1) > evicted);
+    assertTrue(tournamentVersions.getVersion(1) > tournamentVersions.getVersion(3));
+  }
+
+  @Test
+  void track_WithCurrentVersion_ShouldTrackTournament() {
+
+    long version = tournamentVersions.getVersion(1);
+
+    tournamentVersions.track(1, version);
+
+    assertTrue(tournamentVersions.isTracked(1));
+    assertEquals(version, tournamentVersions.getVersion(1));
+  }
+
+  @Test
+  void track_AfterDelete_ShouldNotTrackTournament() {
+
+    long version = tournamentVersions.getVersion(1);
+
+    tournamentVersions.onTournamentDeleted(new DomainEvents.TournamentDeleted(1));
+    tournamentVersions.track(1, version);
+
+    assertFalse(tournamentVersions.isTracked(1));
+    assertTrue(tournamentVersions.getVersion(1) > version);
+  }
+
+  @Test
+  void onTournamentDeleted_ShouldStopTrackingAndMovePastItsVersion() {
+
+    tournamentVersions.onTournamentChanged(new DomainEvents.TournamentChanged(1));
+    long version = tournamentVersions.getVersion(1);
+
+    tournamentVersions.onTournamentDeleted(new DomainEvents.TournamentDeleted(1));
+
+    assertFalse(tournamentVersions.isTracked(1));
+    assertTrue(tournamentVersions.getVersion(1) > version);
+  }
+}